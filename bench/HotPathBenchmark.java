@@ -0,0 +1,281 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Throughput and allocation of the game's simulation and persistence hot paths, measured
+ * with {@link Microbench}.
+ * <p>
+ * Covered are {@link Command#update(Pet)} for one pet, for a list of pets and through
+ * {@link PetStore#updateAll()}; a day of {@link SimulationEngine} ticks on a
+ * {@link VirtualClock}; the feed, gift, play and exercise commands; saving and
+ * loading a {@link Player}; building an {@link Inventory} from a file and adding and
+ * removing items at several sizes; building a {@link Shop} and purchasing from it; and
+ * {@link awayCalculator#generateStories(Player)}. Commands that would stop doing work once
+ * the pet is full, happy or on cooldown reset the pet first, and that reset is part of the
+ * measured operation.
+ * </p>
+ * <p>
+ * Saves are written to a {@code benchmark} slot under {@code src/model/saveFiles}, which is
+ * deleted afterwards. Run from the repository root after compiling {@code src/} and this
+ * directory to the same output directory:
+ * {@code java -cp out HotPathBenchmark [filter regex] [iterations] [iteration ms]}.
+ * </p>
+ */
+public class HotPathBenchmark {
+    private static final String SLOT = "benchmark";
+    private static final String SAVE_ROOT = "src/model/saveFiles/";
+    private static final int[] PET_COUNTS = {100, 10_000};
+    private static final int[] INVENTORY_SIZES = {10, 100, 1_000};
+
+    private final List<String> names = new ArrayList<>();
+    private final List<Microbench.Fixture> fixtures = new ArrayList<>();
+
+    /**
+     * Runs the benchmarks whose names match the filter.
+     *
+     * @param args optionally, a filter regex (default all), the number of measured iterations
+     *             (default 5) and the length of an iteration in milliseconds (default 1000)
+     */
+    public static void main(String[] args) throws Exception {
+        Pattern filter = Pattern.compile(args.length > 0 ? args[0] : ".*");
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long iterationMillis = args.length > 2 ? Long.parseLong(args[2]) : 1_000;
+        Microbench bench = new Microbench(2 * iterationMillis, iterations, iterationMillis);
+
+        HotPathBenchmark benchmarks = new HotPathBenchmark();
+        benchmarks.register();
+
+        PrintStream out = System.out;
+        PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+        out.printf("%d iterations of %d ms after %d ms of warmup%n", iterations, iterationMillis, 2 * iterationMillis);
+        Microbench.printHeader();
+        try {
+            for (int i = 0; i < benchmarks.names.size(); i++) {
+                String name = benchmarks.names.get(i);
+                if (!filter.matcher(name).find()) {
+                    continue;
+                }
+                System.setOut(quiet); // Saving and loading log to the console, which would dominate the timings
+                Microbench.Result result;
+                try {
+                    result = bench.run(name, benchmarks.fixtures.get(i));
+                } finally {
+                    System.setOut(out);
+                }
+                Microbench.print(result);
+            }
+        } finally {
+            deleteSlot();
+        }
+    }
+
+    /**
+     * Adds a benchmark.
+     */
+    private void add(String name, Microbench.Fixture fixture) {
+        names.add(name);
+        fixtures.add(fixture);
+    }
+
+    /**
+     * Registers every benchmark, in the order they are run.
+     */
+    private void register() {
+        add("command.update", () -> {
+            Pet pet = new Pet("duck", "Bench");
+            long full = pet.getStats();
+            int[] ticks = {0};
+            return () -> {
+                if (++ticks[0] % 64 == 0) {
+                    pet.updateStats(stats -> full); // Keep the pet alive so every tick drains
+                }
+                return Command.update(pet);
+            };
+        });
+        for (int count : PET_COUNTS) {
+            add("command.update.pets:" + count, () -> {
+                List<Pet> pets = new ArrayList<>();
+                for (int i = 0; i < count; i++) {
+                    pets.add(new Pet(i % 2 == 0 ? "duck" : "goose", "Bench" + i));
+                }
+                long[] full = new long[count];
+                for (int i = 0; i < count; i++) {
+                    full[i] = pets.get(i).getStats();
+                }
+                int[] sweeps = {0};
+                return () -> {
+                    boolean reset = ++sweeps[0] % 64 == 0;
+                    for (int i = 0; i < count; i++) {
+                        Pet pet = pets.get(i);
+                        if (reset) {
+                            long stats = full[i];
+                            pet.updateStats(s -> stats);
+                        }
+                        Command.update(pet);
+                    }
+                    return pets;
+                };
+            });
+            add("petStore.updateAll:" + count, () -> {
+                PetStore store = new PetStore(count);
+                for (int i = 0; i < count; i++) {
+                    store.add(i % 2 == 0 ? "duck" : "goose", "Bench" + i);
+                }
+                long[] full = new long[count];
+                for (int i = 0; i < count; i++) {
+                    full[i] = store.view(i).getStats();
+                }
+                int[] sweeps = {0};
+                return () -> {
+                    if (++sweeps[0] % 64 == 0) {
+                        for (int i = 0; i < count; i++) {
+                            long stats = full[i];
+                            store.view(i).updateStats(s -> stats);
+                        }
+                    }
+                    store.updateAll();
+                    return store;
+                };
+            });
+        }
+
+        add("simulation.virtualDay", () -> {
+            // One operation is a day of gameplay on a virtual clock, checked every minute
+            return () -> {
+                VirtualClock clock = new VirtualClock();
+                SimulationEngine engine = new SimulationEngine(1, clock);
+                Pet pet = new Pet("duck", "Bench");
+                engine.register("bench", pet);
+                for (int minute = 0; minute < 24 * 60; minute++) {
+                    clock.advance(1, TimeUnit.MINUTES);
+                    engine.advance();
+                }
+                return pet;
+            };
+        });
+
+        add("command.feed", () -> {
+            Pet pet = new Pet("duck", "Bench");
+            InventoryObject food = new InventoryObject("Bread", "Food", 1, 4, 35);
+            return () -> {
+                pet.setFullness(40);
+                return Command.feed(pet, food);
+            };
+        });
+        add("command.gift", () -> {
+            Pet pet = new Pet("duck", "Bench");
+            InventoryObject gift = new InventoryObject("Hat", "Gift", 1, 4, 35);
+            return () -> {
+                pet.setHappiness(40);
+                pet.setLove(40);
+                return Command.gift(pet, gift);
+            };
+        });
+        add("command.play", () -> {
+            Pet pet = new Pet("duck", "Bench");
+            int play = CooldownManager.commandOrdinal("play");
+            return () -> {
+                pet.setHappiness(40);
+                pet.setLove(40);
+                CooldownManager.getShared().set(pet.getId(), play, 0, TimeUnit.NANOSECONDS); // Ends the cooldown
+                return Command.play(pet);
+            };
+        });
+        add("command.exercise", () -> {
+            Pet pet = new Pet("duck", "Bench");
+            return () -> {
+                pet.setHealth(40);
+                pet.setState(PetState.NORMAL);
+                return Command.exercise(pet);
+            };
+        });
+
+        add("player.saveGame", () -> {
+            Player player = benchPlayer(0);
+            return () -> {
+                player.saveGame(SLOT).join();
+                return player;
+            };
+        });
+        add("player.loadGame", () -> {
+            benchPlayer(0).saveGame(SLOT).join();
+            return () -> new Player(SLOT);
+        });
+
+        for (int size : INVENTORY_SIZES) {
+            add("inventory.load:" + size, () -> {
+                File file = File.createTempFile("inventory", ".csv");
+                file.deleteOnExit();
+                fill(new Inventory(), size).saveInventory(file.getPath());
+                return () -> new Inventory(file.getPath());
+            });
+            add("inventory.addRemove:" + size, () -> {
+                Inventory inventory = fill(new Inventory(), size);
+                List<InventoryObject> items = new ArrayList<>(inventory.getItems());
+                int[] next = {0};
+                return () -> {
+                    InventoryObject item = items.get(next[0]++ % size);
+                    inventory.addItem(item, 1);
+                    inventory.removeItem(item.getName());
+                    return inventory;
+                };
+            });
+        }
+
+        add("shop.new", () -> {
+            Player player = benchPlayer(0);
+            return () -> new Shop(player);
+        });
+        add("shop.purchaseItem", () -> {
+            Shop shop = new Shop(benchPlayer(Integer.MAX_VALUE / 2));
+            String name = shop.getCatalog().get(0).getName();
+            return () -> shop.purchaseItem(name, 1);
+        });
+
+        add("away.generateStories", () -> {
+            Player player = benchPlayer(0);
+            return () -> awayCalculator.generateStories(player);
+        });
+    }
+
+    /**
+     * Returns a player of the benchmark slot, last saved three hours ago so a return from
+     * being away generates stories.
+     */
+    private static Player benchPlayer(int score) {
+        String lastSaved = LocalTime.now().minusHours(3).format(DateTimeFormatter.ofPattern("HH:mm"));
+        return new Player(SLOT, new Pet("duck", "Bench"), fill(new Inventory(), 10), score, lastSaved);
+    }
+
+    /**
+     * Adds distinct items to an inventory.
+     */
+    private static Inventory fill(Inventory inventory, int size) {
+        for (int i = 0; i < size; i++) {
+            inventory.addItem(new InventoryObject("Item " + i, i % 2 == 0 ? "Food" : "Gift", 0, 5, 20), 3);
+        }
+        return inventory;
+    }
+
+    /**
+     * Deletes the benchmark slot once its journal has been written out.
+     */
+    private static void deleteSlot() throws IOException {
+        SaveJournal.forSlot(SLOT).flush();
+        File dir = new File(SAVE_ROOT + SLOT);
+        File[] files = dir.listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            Files.deleteIfExists(file.toPath());
+        }
+        Files.deleteIfExists(dir.toPath());
+    }
+}
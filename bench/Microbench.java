@@ -0,0 +1,178 @@
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * A small harness for the benchmarks in this directory, measuring throughput and
+ * allocation the way a JMH run with {@code -prof gc} reports them.
+ * <p>
+ * Each benchmark is warmed up, then run for a number of timed iterations. The harness
+ * reports the mean operations per second with the spread across iterations, and from the
+ * thread's allocation counter the bytes allocated per operation and the allocation rate,
+ * together with the collections that ran during the measurement. Results are written to a
+ * volatile sink so the measured work cannot be optimized away.
+ * </p>
+ */
+public final class Microbench {
+    private static volatile Object sink;
+
+    private final long warmupMillis;
+    private final int iterations;
+    private final long iterationMillis;
+
+    /**
+     * One invocation of the code being measured.
+     */
+    @FunctionalInterface
+    public interface Operation {
+        /**
+         * Runs the code once.
+         *
+         * @return a value derived from the work, consumed by the harness
+         */
+        Object run() throws Exception;
+    }
+
+    /**
+     * Prepares the state a benchmark works on, once per benchmark.
+     */
+    @FunctionalInterface
+    public interface Fixture {
+        /**
+         * Builds the state and returns the operation to measure on it.
+         *
+         * @return the operation
+         */
+        Operation setUp() throws Exception;
+    }
+
+    /**
+     * The measurement of one benchmark.
+     *
+     * @param name             the name of the benchmark
+     * @param opsPerSecond     the mean throughput
+     * @param error            the standard deviation of the throughput across iterations
+     * @param bytesPerOp       the bytes allocated per operation
+     * @param allocMbPerSecond the allocation rate in MB per second
+     * @param gcCount          the number of collections during the measurement
+     * @param gcMillis         the time spent in those collections
+     */
+    public record Result(String name, double opsPerSecond, double error, double bytesPerOp, double allocMbPerSecond,
+                         long gcCount, long gcMillis) {
+    }
+
+    /**
+     * Constructs a harness.
+     *
+     * @param warmupMillis    how long each benchmark runs before it is measured
+     * @param iterations      the number of measured iterations
+     * @param iterationMillis how long each measured iteration runs
+     */
+    public Microbench(long warmupMillis, int iterations, long iterationMillis) {
+        this.warmupMillis = warmupMillis;
+        this.iterations = iterations;
+        this.iterationMillis = iterationMillis;
+    }
+
+    /**
+     * Warms up and measures one benchmark.
+     *
+     * @param name    the name of the benchmark
+     * @param fixture builds the benchmark's state and operation
+     * @return the measurement
+     */
+    public Result run(String name, Fixture fixture) throws Exception {
+        Operation operation = fixture.setUp();
+
+        // Warm up, and size batches so the clock is read about every 20 microseconds
+        long ops = runFor(operation, 1, warmupMillis);
+        int batch = (int) Math.max(1, Math.min(100_000, ops / Math.max(1, warmupMillis) / 50));
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long gcCount = gcCount();
+        long gcMillis = gcMillis();
+        long allocated = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+
+        double[] rates = new double[iterations];
+        long totalOps = 0;
+        for (int i = 0; i < iterations; i++) {
+            long iterationStart = System.nanoTime();
+            long done = runFor(operation, batch, iterationMillis);
+            rates[i] = done * 1e9 / (System.nanoTime() - iterationStart);
+            totalOps += done;
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        allocated = threads.getThreadAllocatedBytes(thread) - allocated;
+        double mean = 0;
+        for (double rate : rates) {
+            mean += rate / iterations;
+        }
+        double variance = 0;
+        for (double rate : rates) {
+            variance += (rate - mean) * (rate - mean) / Math.max(1, iterations - 1);
+        }
+        return new Result(name, mean, Math.sqrt(variance), (double) allocated / totalOps,
+            allocated / seconds / (1024 * 1024), gcCount() - gcCount, gcMillis() - gcMillis);
+    }
+
+    /**
+     * Prints the column headings for {@link #print(Result)}.
+     */
+    public static void printHeader() {
+        System.out.printf(Locale.ROOT, "%-36s %16s %12s %14s %12s %8s %8s%n", "Benchmark", "ops/s", "+/- error",
+            "alloc B/op", "alloc MB/s", "gc.count", "gc.ms");
+    }
+
+    /**
+     * Prints a measurement as one row.
+     *
+     * @param result the measurement
+     */
+    public static void print(Result result) {
+        System.out.printf(Locale.ROOT, "%-36s %16.1f %12.1f %14.1f %12.1f %8d %8d%n", result.name(),
+            result.opsPerSecond(), result.error(), result.bytesPerOp(), result.allocMbPerSecond(), result.gcCount(),
+            result.gcMillis());
+    }
+
+    /**
+     * Runs the operation in batches until the time is up.
+     *
+     * @return the number of operations run
+     */
+    private static long runFor(Operation operation, int batch, long millis) throws Exception {
+        long end = System.nanoTime() + millis * 1_000_000;
+        long ops = 0;
+        do {
+            for (int i = 0; i < batch; i++) {
+                sink = operation.run();
+            }
+            ops += batch;
+        } while (System.nanoTime() - end < 0);
+        return ops;
+    }
+
+    /**
+     * Returns the number of collections so far, over every collector.
+     */
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    /**
+     * Returns the milliseconds spent collecting so far, over every collector.
+     */
+    private static long gcMillis() {
+        long millis = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            millis += Math.max(0, gc.getCollectionTime());
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,164 @@
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+
+/**
+ * Compares the legacy save loader with {@link SaveSnapshot} across every slot under
+ * {@code src/model/saveFiles}.
+ * <p>
+ * The legacy path is reproduced as it was before SaveSnapshot: {@code new Pet(slot)},
+ * {@code new Inventory(path)} and a second {@link Scanner} pass over the pet file for the
+ * score and time. For each path the benchmark reports file opens and bytes read per load
+ * (counted from the files each path touches), the average time, and the bytes allocated
+ * by the loading thread.
+ * </p>
+ * <p>
+ * Run from the repository root after compiling {@code src/} and this file to the same
+ * output directory: {@code java -cp out SaveLoadBenchmark [iterations]}.
+ * </p>
+ */
+public class SaveLoadBenchmark {
+    private static final String SAVE_ROOT = "src/model/saveFiles/";
+    private static final int WARMUP = 2_000;
+
+    /**
+     * Runs the comparison.
+     *
+     * @param args optionally, the number of measured loads per slot (default 20000)
+     */
+    public static void main(String[] args) throws IOException {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        List<String> slots = findSlots();
+        if (slots.isEmpty()) {
+            System.err.println("No save slots found under " + SAVE_ROOT);
+            return;
+        }
+
+        long petBytes = 0;
+        long inventoryBytes = 0;
+        for (String slot : slots) {
+            petBytes += new File(petPath(slot)).length();
+            inventoryBytes += new File(inventoryPath(slot)).length();
+        }
+
+        PrintStream out = System.out;
+        PrintStream err = System.err;
+        PrintStream quiet = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(quiet); // The loaders log to the console, which would dominate the timings
+        System.setErr(quiet);
+
+        for (String slot : slots) { // Warm up both paths before measuring either
+            for (int i = 0; i < WARMUP; i++) {
+                legacyLoad(slot);
+                snapshotLoad(slot);
+            }
+        }
+
+        long[] legacy = measure(slots, iterations, true);
+        long[] snapshot = measure(slots, iterations, false);
+        System.setOut(out);
+        System.setErr(err);
+
+        System.out.printf("%d slots, %d loads per slot%n", slots.size(), iterations);
+        System.out.printf("%-10s %12s %16s %12s %18s%n", "loader", "opens/load", "bytes read/load", "ns/load", "alloc bytes/load");
+        System.out.printf("%-10s %12d %16d %12d %18d%n", "legacy", 3, (2 * petBytes + inventoryBytes) / slots.size(),
+            legacy[0], legacy[1]);
+        System.out.printf("%-10s %12d %16d %12d %18d%n", "snapshot", 2, (petBytes + inventoryBytes) / slots.size(),
+            snapshot[0], snapshot[1]);
+    }
+
+    /**
+     * Measures one loader.
+     *
+     * @return the nanoseconds and allocated bytes per load
+     */
+    private static long[] measure(List<String> slots, int iterations, boolean legacy) throws IOException {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int sink = 0;
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (String slot : slots) {
+                sink += legacy ? legacyLoad(slot) : snapshotLoad(slot);
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        long loads = (long) iterations * slots.size();
+        if (sink == 42) {
+            System.out.println(); // Keeps the loads from being optimized away
+        }
+        return new long[] {elapsed / loads, allocated / loads};
+    }
+
+    /**
+     * The loader as it was before SaveSnapshot.
+     */
+    private static int legacyLoad(String slot) throws IOException {
+        Pet pet = new Pet(slot);
+        Inventory inventory = new Inventory(inventoryPath(slot));
+        int score = 0;
+        String time = null;
+        try (Scanner sc = new Scanner(new File(petPath(slot)))) {
+            if (sc.hasNext(AtomicSaveFile.FORMAT_MARKER)) // Saves written since the format marker; older saves have none
+                sc.nextLine();
+            if (sc.hasNextLine())
+                sc.nextLine();
+            if (sc.hasNextLine()) {
+                String[] data = sc.nextLine().split(",");
+                score = Integer.parseInt(data[8]);
+                time = data[9];
+            }
+        }
+        return pet.getHealth() + inventory.getItems().size() + score + (time == null ? 0 : time.length());
+    }
+
+    /**
+     * The loader used by Player now.
+     */
+    private static int snapshotLoad(String slot) throws IOException {
+        SaveSnapshot snapshot = SaveSnapshot.load(slot);
+        Pet pet = snapshot.toPet();
+        Inventory inventory = snapshot.toInventory();
+        return pet.getHealth() + inventory.getItems().size() + snapshot.score() + snapshot.currentTime().length();
+    }
+
+    /**
+     * Lists the slots that have a loadable pet file.
+     */
+    private static List<String> findSlots() {
+        List<String> slots = new ArrayList<>();
+        File[] dirs = new File(SAVE_ROOT).listFiles(File::isDirectory);
+        for (File dir : dirs == null ? new File[0] : dirs) {
+            try {
+                SaveSnapshot.load(dir.getName());
+                slots.add(dir.getName());
+            } catch (IOException e) {
+                // Empty or missing slots are not part of the comparison
+            }
+        }
+        return slots;
+    }
+
+    /**
+     * Returns the pet file of a slot.
+     */
+    private static String petPath(String slot) {
+        return SAVE_ROOT + slot + "/" + slot + "_pet.csv";
+    }
+
+    /**
+     * Returns the inventory file of a slot.
+     */
+    private static String inventoryPath(String slot) {
+        return SAVE_ROOT + slot + "/" + slot + "_inventory.csv";
+    }
+}
@@ -0,0 +1,167 @@
+import java.awt.Image;
+import java.awt.Toolkit;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * A process-wide cache of decoded images, keyed by file path.
+ * <p>
+ * Each file is read from disk and decoded once; later lookups return the same shared
+ * {@link ImageIcon} or {@link BufferedImage}. Entries are held through
+ * {@link SoftReference}s, so the garbage collector can reclaim them under memory pressure,
+ * in which case the next lookup simply decodes the file again.
+ * </p>
+ * <p>
+ * Icons of still images wrap the same decoded image that {@link #getImage(String)} returns.
+ * Animated GIFs are created as a single Toolkit image from the file's bytes, so every label
+ * that shows the icon shares one animation and its frames are never read from disk again.
+ * {@link AssetPreloader} fills the cache in the background at startup. Decode times are
+ * recorded in {@link GameMetrics}.
+ * </p>
+ */
+public final class AssetCache {
+    private static final Map<String, SoftReference<ImageIcon>> icons = new ConcurrentHashMap<>();
+    private static final Map<String, SoftReference<BufferedImage>> images = new ConcurrentHashMap<>();
+    private static final AtomicLong loads = new AtomicLong();
+
+    /**
+     * Not instantiable; all methods are static.
+     */
+    private AssetCache() {
+    }
+
+    /**
+     * Returns the shared icon for an image file, loading it on first use. A missing file gives
+     * an empty icon, as {@code new ImageIcon(path)} does.
+     *
+     * @param path the path to a PNG or GIF file
+     * @return the shared icon
+     */
+    public static ImageIcon getIcon(String path) {
+        return lookup(icons, path, AssetCache::loadIcon);
+    }
+
+    /**
+     * Returns the shared decoded image for a file, loading it on first use. Callers must not
+     * draw into the returned image.
+     *
+     * @param path the path to an image file
+     * @return the shared image, or null if the file is missing or cannot be decoded
+     */
+    public static BufferedImage getImage(String path) {
+        return lookup(images, path, AssetCache::loadImage);
+    }
+
+    /**
+     * Returns the shared sprite for a pet type in a given state.
+     *
+     * @param petType the type of pet (e.g., "duck", "goose", "baby duck")
+     * @param state   the state to show (e.g., "default", "hungry", "sleep")
+     * @return the shared icon, or null if the state has no sprite
+     */
+    public static ImageIcon getPetIcon(String petType, String state) {
+        String path = petSpritePath(petType, state);
+        return path == null ? null : getIcon(path);
+    }
+
+    /**
+     * Returns the path of a pet type's sprite for a state.
+     *
+     * @param petType the type of pet (e.g., "duck", "goose", "baby duck")
+     * @param state   the state to show (e.g., "default", "hungry", "sleep")
+     * @return the sprite's path, or null if the state has no sprite
+     */
+    public static String petSpritePath(String petType, String state) {
+        String petPath = switch (petType) {
+            case "baby duck" -> "src/view/Pets/pet1/pet1_";
+            case "duck" -> "src/view/Pets/pet2/pet2_";
+            case "goose" -> "src/view/Pets/pet3/pet3_";
+            default -> "src/view/Pets/default.png";
+        };
+        return switch (state) {
+            case "default" -> petPath + "default.GIF";
+            case "hungry" -> petPath + "hungry.GIF";
+            case "angry" -> petPath + "angry.GIF";
+            case "exercise" -> petPath + "exercise.GIF";
+            case "dead" -> petPath + "dead.png";
+            case "sleep" -> petPath + "sleep.png";
+            default -> null;
+        };
+    }
+
+    /**
+     * Returns how many files have been read and decoded, for diagnostics and tests.
+     *
+     * @return the number of loads since startup
+     */
+    public static long getLoadCount() {
+        return loads.get();
+    }
+
+    /**
+     * Returns the cached value for a path, loading it if it was never loaded or has been
+     * reclaimed.
+     */
+    private static <T> T lookup(Map<String, SoftReference<T>> cache, String path, Function<String, T> loader) {
+        SoftReference<T> ref = cache.get(path);
+        T value = ref == null ? null : ref.get();
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(path);
+        if (value != null) {
+            cache.put(path, new SoftReference<>(value));
+        }
+        return value;
+    }
+
+    /**
+     * Creates the icon for a file. GIFs are read once into a Toolkit image so they keep
+     * animating; other formats share the decoded {@link #getImage(String)} image.
+     */
+    private static ImageIcon loadIcon(String path) {
+        File file = new File(path);
+        if (!file.isFile()) {
+            return new ImageIcon(path); // Same empty icon as before
+        }
+        if (!path.toLowerCase().endsWith(".gif")) {
+            BufferedImage image = getImage(path);
+            return image != null ? new ImageIcon(image) : new ImageIcon(path);
+        }
+        loads.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            Image image = Toolkit.getDefaultToolkit().createImage(Files.readAllBytes(file.toPath()));
+            return new ImageIcon(image); // Waits for the image to load, like ImageIcon(String)
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ImageIcon(path);
+        } finally {
+            GameMetrics.recordSince(GameMetrics.Metric.ASSET_DECODE, start);
+        }
+    }
+
+    /**
+     * Reads and decodes a file once.
+     */
+    private static BufferedImage loadImage(String path) {
+        loads.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return ImageIO.read(new File(path));
+        } catch (IOException e) {
+            return null;
+        } finally {
+            GameMetrics.recordSince(GameMetrics.Metric.ASSET_DECODE, start);
+        }
+    }
+}
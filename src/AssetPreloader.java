@@ -0,0 +1,131 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Decodes the game's images into the {@link AssetCache} on background threads at startup,
+ * so screens build from memory instead of reading files on the Event Dispatch Thread.
+ * <p>
+ * Every image under the asset directories is decoded in parallel on a small pool of daemon
+ * threads, which is shut down once the preload is done. A screen that needs an image
+ * before it has been preloaded simply loads it through the cache itself.
+ * </p>
+ */
+public final class AssetPreloader {
+    /** The directories that are preloaded */
+    public static final String[] ASSET_DIRECTORIES = {"assets", "src/view/gameAssets", "src/view/Pets"};
+
+    /**
+     * Receives progress updates while assets are preloaded. Updates arrive on the preloader
+     * threads, so listeners that touch Swing components must hand off to the Event Dispatch
+     * Thread.
+     */
+    @FunctionalInterface
+    public interface ProgressListener {
+        /**
+         * Called after each asset has been decoded.
+         *
+         * @param loaded the number of assets decoded so far
+         * @param total  the number of assets being preloaded
+         * @param path   the asset that was just decoded
+         */
+        void onProgress(int loaded, int total, String path);
+    }
+
+    /**
+     * Not instantiable; all methods are static.
+     */
+    private AssetPreloader() {
+    }
+
+    /**
+     * Starts preloading every image under {@link #ASSET_DIRECTORIES}.
+     *
+     * @param listener receives progress updates, or null
+     * @return a future completed with the number of preloaded assets
+     */
+    public static CompletableFuture<Integer> start(ProgressListener listener) {
+        return start(listener, ASSET_DIRECTORIES);
+    }
+
+    /**
+     * Starts preloading every image under the given directories.
+     *
+     * @param listener    receives progress updates, or null
+     * @param directories the directories to walk
+     * @return a future completed with the number of preloaded assets
+     */
+    public static CompletableFuture<Integer> start(ProgressListener listener, String... directories) {
+        int threads = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "asset-preloader-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY); // Leave the EDT and the first screen ahead of us
+            return thread;
+        });
+
+        // Walk the directories in parallel, then decode every file found
+        List<CompletableFuture<List<String>>> walks = new ArrayList<>();
+        for (String directory : directories) {
+            walks.add(CompletableFuture.supplyAsync(() -> findImages(directory), pool));
+        }
+        CompletableFuture<Integer> done = CompletableFuture.allOf(walks.toArray(new CompletableFuture<?>[0]))
+            .thenCompose(ignored -> {
+                List<String> paths = new ArrayList<>();
+                for (CompletableFuture<List<String>> walk : walks) {
+                    paths.addAll(walk.join());
+                }
+                AtomicInteger loaded = new AtomicInteger();
+                List<CompletableFuture<Void>> decodes = new ArrayList<>();
+                for (String path : paths) {
+                    decodes.add(CompletableFuture.runAsync(() -> {
+                        AssetCache.getIcon(path);
+                        int count = loaded.incrementAndGet();
+                        if (listener != null) {
+                            listener.onProgress(count, paths.size(), path);
+                        }
+                    }, pool));
+                }
+                return CompletableFuture.allOf(decodes.toArray(new CompletableFuture<?>[0])).thenApply(v -> paths.size());
+            });
+        done.whenComplete((count, error) -> pool.shutdown());
+        return done;
+    }
+
+    /**
+     * Lists the image files under a directory, using the same relative paths the screens use.
+     */
+    private static List<String> findImages(String directory) {
+        Path root = Paths.get(directory);
+        if (!Files.isDirectory(root)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            return files.filter(Files::isRegularFile)
+                .map(path -> path.toString().replace('\\', '/'))
+                .filter(AssetPreloader::isImage)
+                .collect(Collectors.toList());
+        } catch (IOException e) {
+            e.printStackTrace();
+            return List.of();
+        }
+    }
+
+    /**
+     * Used to check whether a file is an image the screens load.
+     */
+    private static boolean isImage(String path) {
+        String lower = path.toLowerCase();
+        return lower.endsWith(".png") || lower.endsWith(".gif") || lower.endsWith(".jpg") || lower.endsWith(".jpeg");
+    }
+}
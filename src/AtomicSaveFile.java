@@ -0,0 +1,221 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Crash-safe reading and writing of the CSV save files.
+ * <p>
+ * {@link #write(String, String)} never writes over a live save. The new contents go to a
+ * sibling {@code .tmp} file, which is fsynced and then atomically renamed over the
+ * original, so a crash leaves either the old file or the new one but never a truncated
+ * mix. Before the rename, the current file is kept as {@code .bak} if it is intact, so
+ * the last good generation is always on disk.
+ * </p>
+ * <p>
+ * Every written file starts with a {@code #save-format=2} marker line and ends with a
+ * {@code #crc32=} trailer line. {@link #readLines(String)} checks the trailer and falls back
+ * to the {@code .bak} generation when it does not match, or when a marked file has lost its
+ * trailer. Only unmarked files without a trailer (saves from older versions and hand-written
+ * files) are read as-is.
+ * </p>
+ */
+public final class AtomicSaveFile {
+    /** Prefix of the checksum line that ends every written save file */
+    static final String TRAILER_PREFIX = "#crc32=";
+    /** First line of every written save file, so a file cut before its trailer is not taken for a legacy one */
+    static final String FORMAT_MARKER = "#save-format=2";
+
+    /**
+     * Not instantiable; all methods are static.
+     */
+    private AtomicSaveFile() {
+    }
+
+    /**
+     * Atomically replaces the file at the given path with the format marker, the given
+     * contents and a checksum trailer.
+     *
+     * @param path     the save file to write
+     * @param contents the CSV contents, without a trailer
+     * @throws IOException if the new generation could not be written
+     */
+    public static void write(String path, String contents) throws IOException {
+        Path target = Paths.get(path);
+        if (!contents.isEmpty() && !contents.endsWith("\n")) {
+            contents += "\n";
+        }
+        byte[] body = (FORMAT_MARKER + "\n" + contents).getBytes(StandardCharsets.UTF_8);
+        byte[] trailer = (TRAILER_PREFIX + checksum(body, body.length) + "\n").getBytes(StandardCharsets.UTF_8);
+
+        if (Files.exists(target) && parse(Files.readAllBytes(target)) != null) {
+            Path backup = sibling(target, ".bak");
+            Path backupTemp = sibling(target, ".bak.tmp");
+            Files.copy(target, backupTemp, StandardCopyOption.REPLACE_EXISTING);
+            moveIntoPlace(backupTemp, backup);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(body.length + trailer.length);
+        buffer.put(body).put(trailer).flip();
+        replace(target, buffer);
+    }
+
+    /**
+     * Atomically replaces a file with the remaining bytes of a buffer: they are written to a
+     * sibling {@code .tmp} file, fsynced and renamed over the target. No backup is kept and
+     * no trailer is added, so callers with their own format (such as
+     * {@link BinarySaveCodec}) can use it directly.
+     *
+     * @param target   the file to replace
+     * @param contents the new contents of the file
+     * @throws IOException if the new contents could not be written
+     */
+    static void replace(Path target, ByteBuffer contents) throws IOException {
+        Path temp = sibling(target, ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (contents.hasRemaining()) {
+                channel.write(contents);
+            }
+            channel.force(true);
+        }
+        moveIntoPlace(temp, target);
+        syncDirectory(target.toAbsolutePath().getParent());
+    }
+
+    /**
+     * Reads the lines of a save file, without its checksum trailer. If the checksum does not
+     * match, the lines of the last good generation are returned instead.
+     *
+     * @param path the save file to read
+     * @return the lines of the file, or of its backup if the file is corrupted
+     * @throws IOException if the file is missing, or it and its backup are both unreadable
+     */
+    public static List<String> readLines(String path) throws IOException {
+        Path target = Paths.get(path);
+        List<String> lines = parse(Files.readAllBytes(target));
+        if (lines != null) {
+            return lines;
+        }
+
+        Path backup = sibling(target, ".bak");
+        if (Files.exists(backup)) {
+            lines = parse(Files.readAllBytes(backup));
+            if (lines != null) {
+                System.err.println("Save file " + path + " is corrupted, loading the previous generation.");
+                return lines;
+            }
+        }
+        throw new IOException("Save file " + path + " is corrupted and has no intact backup");
+    }
+
+    /**
+     * Deletes a save file together with its backup and any leftover temporary file.
+     *
+     * @param path the save file to delete
+     */
+    public static void delete(String path) {
+        Path target = Paths.get(path);
+        for (Path file : new Path[] {target, sibling(target, ".bak"), sibling(target, ".tmp"), sibling(target, ".bak.tmp")}) {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Splits the file into lines, verifies the trailer and drops the format marker.
+     *
+     * @return the lines between the marker and the trailer, all lines of an unmarked file
+     *         without a trailer, or null if the checksum does not match or a marked file has
+     *         no trailer
+     */
+    private static List<String> parse(byte[] bytes) {
+        byte[] marker = (FORMAT_MARKER + "\n").getBytes(StandardCharsets.UTF_8);
+        boolean marked = bytes.length >= marker.length
+            && Arrays.equals(bytes, 0, marker.length, marker, 0, marker.length);
+
+        int end = bytes.length;
+        while (end > 0 && (bytes[end - 1] == '\n' || bytes[end - 1] == '\r')) {
+            end--;
+        }
+        int lastLine = end;
+        while (lastLine > 0 && bytes[lastLine - 1] != '\n') {
+            lastLine--;
+        }
+
+        String last = new String(bytes, lastLine, end - lastLine, StandardCharsets.UTF_8);
+        int bodyLength = bytes.length;
+        if (last.startsWith(TRAILER_PREFIX)) {
+            if (!last.substring(TRAILER_PREFIX.length()).equals(checksum(bytes, lastLine))) {
+                return null;
+            }
+            bodyLength = lastLine;
+        } else if (marked) {
+            return null; // Written by this class but cut before its trailer
+        }
+
+        int bodyStart = marked ? marker.length : 0;
+        List<String> lines = new ArrayList<>();
+        for (String line : new String(bytes, bodyStart, bodyLength - bodyStart, StandardCharsets.UTF_8).split("\n")) {
+            lines.add(line.endsWith("\r") ? line.substring(0, line.length() - 1) : line);
+        }
+        if (bodyLength == bodyStart) {
+            lines.clear();
+        }
+        return lines;
+    }
+
+    /**
+     * Computes the checksum of the first {@code length} bytes as a hex string.
+     */
+    private static String checksum(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return Long.toHexString(crc.getValue());
+    }
+
+    /**
+     * Renames a file over another, atomically where the file system allows it.
+     */
+    private static void moveIntoPlace(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Flushes the directory entry of the rename to disk. Not every platform allows opening a
+     * directory, in which case the rename is left to the operating system.
+     */
+    private static void syncDirectory(Path directory) {
+        if (directory == null) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // Directories cannot be opened on some platforms (e.g. Windows)
+        }
+    }
+
+    /**
+     * Returns the path next to the given file with a suffix appended to its name.
+     */
+    private static Path sibling(Path target, String suffix) {
+        return target.resolveSibling(target.getFileName() + suffix);
+    }
+}
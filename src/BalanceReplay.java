@@ -0,0 +1,506 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A headless replay of a command script against many pets at once, for tuning the species in
+ * {@link PetTypeRegistry} in seconds instead of hours of play.
+ * <p>
+ * The script is a CSV file of {@code second,command,item} rows: feed and gift name an item of
+ * the {@link CatalogRepository}, while play, vet, sleep and exercise take none. A
+ * {@code repeat} row starts the script over at its second. Every pet runs the real
+ * {@link Command} rules on a {@link VirtualClock}: scripted commands at their second, sleep and
+ * exercise as the loops {@link PetGUI} runs for them, a drain tick every
+ * {@link SimulationEngine#TICK_MILLIS} and the automatic sleep {@link StatDrainer} triggers.
+ * Each scripted command is missed with a seeded probability per pet, so pets of one species
+ * spread out into a distribution, and the same seed always gives the same result.
+ * </p>
+ * <p>
+ * All pets advance in lockstep, one second at a time, split across a fork/join pool. The
+ * replay installs its clock with {@link GameClock#use(GameClock)} while it runs, so it is a
+ * tool for the command line and not for a running game. The results are the mean statistics
+ * of the living pets of each species over time and the time-to-death distribution of each
+ * species, both written as CSV.
+ * </p>
+ */
+public final class BalanceReplay {
+    /** The example script: a ten-minute routine that repeats */
+    public static final String DEFAULT_SCRIPT = "src/model/saveFiles/Balance_Script.csv";
+
+    /** The number of pets a fork/join task steps before it is split no further */
+    private static final int PETS_PER_TASK = 512;
+    private static final long ALIVE = -1;
+    private static final int EXERCISE_STEPS = 3;
+    private static final String[] COMMANDS = { "feed", "gift", "play", "vet", "sleep", "exercise" };
+
+    private final PetTypeRegistry registry;
+    private final Action[][] bySecond; // The actions of each second of the script
+    private final long period;
+    private final double missRate;
+    private final long seed;
+    private final ForkJoinPool pool;
+
+    /**
+     * One scripted command.
+     *
+     * @param second  the second of the script it runs at
+     * @param command the name of the command (e.g., "feed")
+     * @param item    the item fed or gifted, or null for other commands
+     */
+    public record Action(long second, String command, InventoryObject item) {
+    }
+
+    /**
+     * The mean statistics of the living pets of a species at one point of the replay.
+     *
+     * @param species the species
+     * @param second  the replay time in seconds
+     * @param alive   the number of pets still alive
+     * @param means   the mean health, fullness, sleep, happiness and love of the living pets
+     */
+    public record Sample(String species, long second, int alive, double[] means) {
+    }
+
+    /**
+     * Constructs a replay.
+     *
+     * @param registry the species the pets are built from
+     * @param script   the scripted commands, as read by {@link #parseScript(List, CatalogRepository)}
+     * @param missRate the probability of a pet missing any one scripted command, from 0 to 1
+     * @param seed     the seed the misses are derived from
+     * @param pool     the pool the pets are stepped on
+     */
+    public BalanceReplay(PetTypeRegistry registry, List<Action> script, double missRate, long seed, ForkJoinPool pool) {
+        this.registry = registry;
+        this.missRate = missRate;
+        this.seed = seed;
+        this.pool = pool;
+
+        long end = 0;
+        long repeat = 0;
+        for (Action action : script) {
+            if (action.command().equals("repeat")) {
+                repeat = repeat == 0 ? action.second() : Math.min(repeat, action.second());
+            } else {
+                end = Math.max(end, action.second() + 1);
+            }
+        }
+        this.period = repeat;
+        this.bySecond = new Action[(int) (repeat > 0 ? repeat : end)][];
+        for (Action action : script) {
+            if (!action.command().equals("repeat") && action.second() < bySecond.length) {
+                int s = (int) action.second();
+                Action[] due = bySecond[s] == null ? new Action[0] : bySecond[s];
+                due = Arrays.copyOf(due, due.length + 1);
+                due[due.length - 1] = action;
+                bySecond[s] = due;
+            }
+        }
+    }
+
+    /**
+     * Runs the replay from the command line and writes {@code balance_trajectories.csv} and
+     * {@code balance_deaths.csv}.
+     *
+     * @param args optionally, the script (default {@link #DEFAULT_SCRIPT}), the pets per
+     *             species (default 1000), the hours to replay (default 24), the output directory
+     *             (default the current one), the miss rate (default 0.2) and the species file
+     *             (default {@link PetTypeRegistry#DEFAULT_PATH})
+     */
+    public static void main(String[] args) throws IOException {
+        String script = args.length > 0 ? args[0] : DEFAULT_SCRIPT;
+        int petsPerSpecies = args.length > 1 ? Integer.parseInt(args[1]) : 1_000;
+        double hours = args.length > 2 ? Double.parseDouble(args[2]) : 24;
+        Path out = Paths.get(args.length > 3 ? args[3] : ".");
+        double missRate = args.length > 4 ? Double.parseDouble(args[4]) : 0.2;
+        PetTypeRegistry registry = args.length > 5 ? new PetTypeRegistry(args[5]) : PetTypeRegistry.getShared();
+
+        List<Action> actions = parseScript(AtomicSaveFile.readLines(script), CatalogRepository.getShared());
+        BalanceReplay replay = new BalanceReplay(registry, actions, missRate, 1L, ForkJoinPool.commonPool());
+        List<String> species = new ArrayList<>(registry.getTypes());
+
+        long start = System.nanoTime();
+        Report report = replay.run(species, petsPerSpecies, (long) (hours * 3600), 60);
+        long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Files.createDirectories(out);
+        Files.write(out.resolve("balance_trajectories.csv"), report.trajectoryLines());
+        Files.write(out.resolve("balance_deaths.csv"), report.deathLines());
+        System.out.printf(Locale.ROOT, "Replayed %.1f h of %d pets in %d ms%n", hours,
+            petsPerSpecies * species.size(), millis);
+        for (String line : report.deathLines()) {
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * Reads the actions of a script. Rows with an unknown command or item, or a second that
+     * is not a number, are skipped with a message.
+     *
+     * @param lines   the lines of the script, starting with a header
+     * @param catalog the catalog the fed and gifted items are looked up in
+     * @return the actions, in the order of the script
+     */
+    public static List<Action> parseScript(List<String> lines, CatalogRepository catalog) {
+        List<Action> actions = new ArrayList<>();
+        for (int i = 1; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (line.isEmpty()) {
+                continue;
+            }
+            String[] data = line.split(",");
+            try {
+                long second = Long.parseLong(data[0].trim());
+                String command = data.length > 1 ? data[1].trim().toLowerCase(Locale.ROOT) : "";
+                InventoryObject item = null;
+                if (command.equals("feed") || command.equals("gift")) {
+                    item = data.length > 2 ? catalog.getItem(data[2].trim()) : null;
+                    if (item == null) {
+                        throw new IllegalArgumentException("unknown item");
+                    }
+                } else if (!command.equals("repeat") && !Arrays.asList(COMMANDS).contains(command)) {
+                    throw new IllegalArgumentException("unknown command");
+                }
+                if (second < 0) {
+                    throw new IllegalArgumentException("negative second");
+                }
+                actions.add(new Action(second, command, item));
+            } catch (IllegalArgumentException e) {
+                System.err.println("Skipping malformed line: " + line);
+            }
+        }
+        return actions;
+    }
+
+    /**
+     * Replays the script against a number of new pets of each species.
+     *
+     * @param species        the species to replay
+     * @param petsPerSpecies the number of pets of each species
+     * @param seconds        the length of the replay; it ends early once every pet has died
+     * @param sampleSeconds  how often the mean statistics are sampled
+     * @return the trajectories and deaths
+     */
+    public Report run(List<String> species, int petsPerSpecies, long seconds, long sampleSeconds) {
+        VirtualClock clock = new VirtualClock();
+        GameClock previous = GameClock.use(clock);
+        try {
+            Run run = new Run(species, petsPerSpecies);
+            List<Sample> samples = new ArrayList<>();
+            run.sample(0, samples);
+            long tickSeconds = TimeUnit.MILLISECONDS.toSeconds(SimulationEngine.TICK_MILLIS);
+            long second = 0;
+            while (second < seconds && run.alive > 0) {
+                long offset = period > 0 ? second % period : second;
+                run.second = second;
+                run.cycle = period > 0 ? second / period : 0;
+                run.due = offset < bySecond.length ? bySecond[(int) offset] : null;
+                run.tick = (second + 1) % tickSeconds == 0;
+                pool.invoke(new Sweep(run, 0, run.pets.length));
+                run.countDeaths();
+
+                clock.advance(1, TimeUnit.SECONDS);
+                second++;
+                if (second % sampleSeconds == 0 || run.alive == 0) {
+                    run.sample(second, samples);
+                }
+            }
+            return new Report(species, petsPerSpecies, samples, run.deaths);
+        } finally {
+            GameClock.use(previous);
+        }
+    }
+
+    /**
+     * Decides from the seed alone whether a pet misses a scripted command, so the result does
+     * not depend on which thread steps the pet.
+     */
+    private boolean missed(int pet, long cycle, long second, int index) {
+        if (missRate <= 0) {
+            return false;
+        }
+        long h = mix(seed ^ mix(pet * 0x9E3779B97F4A7C15L ^ mix(cycle * 0xC2B2AE3D27D4EB4FL ^ second) + index));
+        return (h >>> 11) * 0x1.0p-53 < missRate;
+    }
+
+    /**
+     * The finalizer of SplitMix64: scrambles the bits of a value.
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * The pets of one replay and the state of the GUI loops running on them.
+     */
+    private final class Run {
+        private final List<String> species;
+        private final int petsPerSpecies;
+        private final Pet[] pets;
+        private final boolean[] sleeping;
+        private final int[] exercising; // Steps of the exercise loop done, or -1 if none runs
+        private final long[] deaths;
+        private int alive;
+
+        // The second being stepped, set before each sweep
+        private long second;
+        private long cycle;
+        private Action[] due;
+        private boolean tick;
+
+        private Run(List<String> species, int petsPerSpecies) {
+            this.species = species;
+            this.petsPerSpecies = petsPerSpecies;
+            int count = species.size() * petsPerSpecies;
+            pets = new Pet[count];
+            sleeping = new boolean[count];
+            exercising = new int[count];
+            deaths = new long[count];
+            for (int i = 0; i < count; i++) {
+                String type = species.get(i / petsPerSpecies);
+                pets[i] = new Pet(registry.get(type), type + " " + (i % petsPerSpecies));
+            }
+            Arrays.fill(exercising, -1);
+            Arrays.fill(deaths, ALIVE);
+            alive = count;
+        }
+
+        /**
+         * Steps one pet through the current second.
+         */
+        private void step(int i) {
+            Pet pet = pets[i];
+            if (deaths[i] != ALIVE) {
+                return;
+            }
+            if (due != null) {
+                for (int a = 0; a < due.length; a++) {
+                    if (!missed(i, cycle, due[a].second(), a)) {
+                        apply(i, due[a]);
+                    }
+                }
+            }
+
+            // The loops PetGUI runs once a second for sleep and exercise
+            if (sleeping[i]) {
+                if (pet.getSleep() < pet.getType().getMaxSleep()) {
+                    Command.sleep(pet);
+                } else {
+                    pet.setState(PetState.DEFAULT);
+                    sleeping[i] = false;
+                }
+            }
+            if (exercising[i] >= 0) {
+                if (exercising[i] < EXERCISE_STEPS) {
+                    Command.exercise(pet);
+                    exercising[i]++;
+                } else {
+                    pet.setState(PetState.DEFAULT);
+                    exercising[i] = -1;
+                }
+            }
+
+            if (tick) {
+                Command.update(pet);
+                if (pet.getSleep() <= 0 && !pet.isSleeping() && !pet.isDead()) {
+                    startSleep(i); // As StatDrainer's auto sleep
+                }
+            }
+            if (pet.isDead()) {
+                deaths[i] = second + 1;
+            }
+        }
+
+        /**
+         * Runs one scripted command on a pet, as the matching PetGUI action does.
+         */
+        private void apply(int i, Action action) {
+            Pet pet = pets[i];
+            switch (action.command()) {
+                case "feed" -> Command.feed(pet, action.item());
+                case "gift" -> Command.gift(pet, action.item());
+                case "play" -> Command.play(pet);
+                case "vet" -> Command.vet(pet);
+                case "sleep" -> startSleep(i);
+                case "exercise" -> {
+                    if (!pet.isDead() && !pet.isSleeping() && !pet.isHungry() && !pet.isHealthy()) {
+                        exercising[i] = 0;
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+
+        /**
+         * Puts a pet to sleep and starts its sleep loop.
+         */
+        private void startSleep(int i) {
+            pets[i].setState(PetState.SLEEP);
+            sleeping[i] = true;
+        }
+
+        /**
+         * Counts the pets still alive after a sweep.
+         */
+        private void countDeaths() {
+            int count = 0;
+            for (long death : deaths) {
+                if (death == ALIVE) {
+                    count++;
+                }
+            }
+            alive = count;
+        }
+
+        /**
+         * Adds the mean statistics of each species' living pets to the samples.
+         */
+        private void sample(long at, List<Sample> samples) {
+            Pet.Stat[] order = { Pet.Stat.HEALTH, Pet.Stat.FULLNESS, Pet.Stat.SLEEP, Pet.Stat.HAPPINESS, Pet.Stat.LOVE };
+            for (int s = 0; s < species.size(); s++) {
+                double[] means = new double[order.length];
+                int living = 0;
+                for (int i = s * petsPerSpecies; i < (s + 1) * petsPerSpecies; i++) {
+                    if (deaths[i] == ALIVE) {
+                        long stats = pets[i].getStats();
+                        for (int k = 0; k < order.length; k++) {
+                            means[k] += Pet.stat(stats, order[k]);
+                        }
+                        living++;
+                    }
+                }
+                for (int k = 0; k < order.length && living > 0; k++) {
+                    means[k] /= living;
+                }
+                samples.add(new Sample(species.get(s), at, living, means));
+            }
+        }
+    }
+
+    /**
+     * Steps a range of pets through the current second, splitting large ranges.
+     */
+    private static final class Sweep extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Run run;
+        private final int from;
+        private final int to;
+
+        private Sweep(Run run, int from, int to) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PETS_PER_TASK) {
+                for (int i = from; i < to; i++) {
+                    run.step(i);
+                }
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Sweep(run, from, middle), new Sweep(run, middle, to));
+        }
+    }
+
+    /**
+     * The result of a replay.
+     */
+    public static final class Report {
+        private final List<String> species;
+        private final int petsPerSpecies;
+        private final List<Sample> samples;
+        private final long[] deaths;
+
+        private Report(List<String> species, int petsPerSpecies, List<Sample> samples, long[] deaths) {
+            this.species = species;
+            this.petsPerSpecies = petsPerSpecies;
+            this.samples = samples;
+            this.deaths = deaths;
+        }
+
+        /**
+         * Returns the mean statistics sampled over the replay.
+         *
+         * @return the samples, in time order and then in the order of the species
+         */
+        public List<Sample> getSamples() {
+            return samples;
+        }
+
+        /**
+         * Returns when the pets of a species died.
+         *
+         * @param type the species
+         * @return the seconds at which the pets that died did so, in ascending order
+         */
+        public long[] getDeathSeconds(String type) {
+            int s = species.indexOf(type);
+            if (s < 0) {
+                return new long[0];
+            }
+            return Arrays.stream(deaths, s * petsPerSpecies, (s + 1) * petsPerSpecies)
+                .filter(death -> death != ALIVE).sorted().toArray();
+        }
+
+        /**
+         * Formats the samples as CSV, one row per species and sample.
+         *
+         * @return the lines, starting with a header
+         */
+        public List<String> trajectoryLines() {
+            List<String> lines = new ArrayList<>(samples.size() + 1);
+            lines.add("species,second,alive,health,fullness,sleep,happiness,love");
+            for (Sample sample : samples) {
+                double[] m = sample.means();
+                lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f", sample.species(),
+                    sample.second(), sample.alive(), m[0], m[1], m[2], m[3], m[4]));
+            }
+            return lines;
+        }
+
+        /**
+         * Formats the time-to-death distribution of each species as CSV. The statistics
+         * cover the pets that died; they are empty when none did.
+         *
+         * @return the lines, starting with a header
+         */
+        public List<String> deathLines() {
+            List<String> lines = new ArrayList<>(species.size() + 1);
+            lines.add("species,pets,died,mean,min,p10,p50,p90,max");
+            for (String type : species) {
+                long[] died = getDeathSeconds(type);
+                if (died.length == 0) {
+                    lines.add(type + "," + petsPerSpecies + ",0,,,,,,");
+                    continue;
+                }
+                lines.add(String.format(Locale.ROOT, "%s,%d,%d,%.1f,%d,%d,%d,%d,%d", type, petsPerSpecies,
+                    died.length, Arrays.stream(died).average().orElse(0), died[0], percentile(died, 0.1),
+                    percentile(died, 0.5), percentile(died, 0.9), died[died.length - 1]));
+            }
+            return lines;
+        }
+
+        /**
+         * Returns the nearest-rank percentile of sorted values.
+         */
+        private static long percentile(long[] sorted, double quantile) {
+            int rank = (int) Math.ceil(quantile * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+}
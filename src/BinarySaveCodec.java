@@ -0,0 +1,262 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A compact, versioned binary save format that stores a whole slot (pet, score, time and
+ * inventory) in a single {@code <save>.ddgsave} file next to the CSV files.
+ * <p>
+ * A file is read with one {@link FileChannel} read into a {@link ByteBuffer} and decoded
+ * without any text parsing, which makes cold loads of many slots cheap for batch tools.
+ * The CSV files remain the format the game itself saves to; {@link #convertSlot(String)}
+ * (and {@link #main(String[])} for several slots at once) produces the binary copy.
+ * </p>
+ * <p>
+ * Layout (big-endian): magic {@code "DDGS"}, format version, pet name, type and state,
+ * fullness, sleep, health, love, happiness, score, time, item count, then name, type,
+ * quantity, price and stats for every item, and finally a CRC32 of everything before it.
+ * Strings are a 2-byte length followed by UTF-8 bytes.
+ * </p>
+ */
+public final class BinarySaveCodec {
+    /** The first four bytes of every binary save, "DDGS" */
+    public static final int MAGIC = 0x44444753;
+    /** The format version written by this codec */
+    public static final short VERSION = 1;
+    /** File extension of binary saves */
+    public static final String EXTENSION = ".ddgsave";
+
+    private static final String SAVE_ROOT = "src/model/saveFiles/";
+
+    /**
+     * Not instantiable; all methods are static.
+     */
+    private BinarySaveCodec() {
+    }
+
+    /**
+     * Returns the path of the binary save for a slot.
+     *
+     * @param saveFile the name of the save slot
+     * @return the path of {@code <save>.ddgsave} in the slot's directory
+     */
+    public static Path pathFor(String saveFile) {
+        return Paths.get(SAVE_ROOT + saveFile, saveFile + EXTENSION);
+    }
+
+    /**
+     * Encodes a player's game state.
+     *
+     * @param player the player to encode
+     * @return a buffer holding the encoded save, ready to be written
+     */
+    public static ByteBuffer encode(Player player) {
+        Pet pet = player.getPet();
+        List<byte[]> strings = new ArrayList<>();
+        strings.add(utf8(pet.getName()));
+        strings.add(utf8(pet.getTypeString()));
+        strings.add(utf8(pet.getState()));
+        strings.add(utf8(player.getCurrentTime()));
+        List<InventoryObject> items = player.getInventory().getItems();
+        for (InventoryObject item : items) {
+            strings.add(utf8(item.getName()));
+            strings.add(utf8(item.getType()));
+        }
+
+        int size = 4 + 2 + 6 * 4 + 4 + items.size() * 3 * 4 + 4;
+        for (byte[] string : strings) {
+            size += 2 + string.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC).putShort(VERSION);
+        putString(buffer, strings.get(0));
+        putString(buffer, strings.get(1));
+        putString(buffer, strings.get(2));
+        buffer.putInt(pet.getFullness()).putInt(pet.getSleep()).putInt(pet.getHealth())
+            .putInt(pet.getLove()).putInt(pet.getHappiness());
+        buffer.putInt(player.getScore());
+        putString(buffer, strings.get(3));
+        buffer.putInt(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            InventoryObject item = items.get(i);
+            putString(buffer, strings.get(4 + 2 * i));
+            putString(buffer, strings.get(5 + 2 * i));
+            buffer.putInt(item.getAmount()).putInt(item.getPrice()).putInt(item.getStats());
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        return buffer.flip();
+    }
+
+    /**
+     * Decodes a binary save.
+     *
+     * @param saveFile the name of the save slot the player belongs to
+     * @param buffer   the encoded save, from its position to its limit
+     * @return the decoded player
+     * @throws IOException if the buffer is not a binary save, has an unsupported version
+     *                     or fails its checksum
+     */
+    public static Player decode(String saveFile, ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 4 + 2 + 4 || buffer.getInt(buffer.position()) != MAGIC) {
+            throw new IOException("Not a binary save file");
+        }
+        CRC32 crc = new CRC32();
+        ByteBuffer body = buffer.duplicate();
+        body.limit(buffer.limit() - 4);
+        crc.update(body);
+        if ((int) crc.getValue() != buffer.getInt(buffer.limit() - 4)) {
+            throw new IOException("Binary save file is corrupted");
+        }
+
+        try {
+            buffer.getInt(); // Magic, already checked
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported binary save version " + version);
+            }
+            String name = getString(buffer);
+            String type = getString(buffer);
+            String state = getString(buffer);
+            Pet pet = new Pet(name, type, state, buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                buffer.getInt(), buffer.getInt());
+            int score = buffer.getInt();
+            String time = getString(buffer);
+
+            Inventory inventory = new Inventory();
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String itemName = getString(buffer);
+                String itemType = getString(buffer);
+                int quantity = buffer.getInt();
+                inventory.addItem(new InventoryObject(itemName, itemType, quantity, buffer.getInt(), buffer.getInt()), quantity);
+            }
+            return new Player(saveFile, pet, inventory, score, time);
+        } catch (RuntimeException e) {
+            throw new IOException("Binary save file is malformed", e); // Lengths that run past the end
+        }
+    }
+
+    /**
+     * Atomically writes a player's game state to a binary save file.
+     *
+     * @param player the player to save
+     * @param path   the file to write
+     * @throws IOException if the file could not be written
+     */
+    public static void write(Player player, Path path) throws IOException {
+        AtomicSaveFile.replace(path, encode(player));
+    }
+
+    /**
+     * Reads a binary save file with a single channel read.
+     *
+     * @param saveFile the name of the save slot the player belongs to
+     * @param path     the file to read
+     * @return the decoded player
+     * @throws IOException if the file is missing or is not a valid binary save
+     */
+    public static Player read(String saveFile, Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Binary save file is too large");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // Keep reading until the buffer is full
+            }
+            return decode(saveFile, buffer.flip());
+        }
+    }
+
+    /**
+     * Reads the binary save of a slot.
+     *
+     * @param saveFile the name of the save slot
+     * @return the decoded player
+     * @throws IOException if the slot has no valid binary save
+     */
+    public static Player readSlot(String saveFile) throws IOException {
+        return read(saveFile, pathFor(saveFile));
+    }
+
+    /**
+     * Converts a slot's CSV files into its binary save. The slot is loaded through
+     * {@link Player}, so journaled changes that are not in the CSV files yet are included.
+     *
+     * @param saveFile the name of the save slot
+     * @return the path of the written binary save
+     * @throws IOException if the slot has no pet file or the binary save could not be written
+     */
+    public static Path convertSlot(String saveFile) throws IOException {
+        File petFile = new File(SAVE_ROOT + saveFile + "/" + saveFile + "_pet.csv");
+        if (!petFile.exists()) {
+            throw new IOException("No CSV save found for " + saveFile); // Player would create a default one
+        }
+        Path path = pathFor(saveFile);
+        write(new Player(saveFile), path);
+        return path;
+    }
+
+    /**
+     * Converts the given slots, or every slot under the save directory if none are given.
+     *
+     * @param args the names of the save slots to convert
+     */
+    public static void main(String[] args) {
+        List<String> slots = new ArrayList<>(List.of(args));
+        if (slots.isEmpty()) {
+            File[] dirs = new File(SAVE_ROOT).listFiles(File::isDirectory);
+            for (File dir : dirs == null ? new File[0] : dirs) {
+                if (new File(dir, dir.getName() + "_pet.csv").exists()) {
+                    slots.add(dir.getName());
+                }
+            }
+        }
+        for (String slot : slots) {
+            try {
+                System.out.println("Converted " + slot + " to " + convertSlot(slot));
+            } catch (IOException e) {
+                System.err.println("Could not convert " + slot + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Encodes a string as UTF-8, treating null as empty.
+     */
+    private static byte[] utf8(String value) {
+        return (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes a length-prefixed string.
+     */
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("String too long for a binary save");
+        }
+        buffer.putShort((short) bytes.length).put(bytes);
+    }
+
+    /**
+     * Reads a length-prefixed string.
+     */
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
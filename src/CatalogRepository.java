@@ -0,0 +1,168 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A process-wide cache of the shop catalog.
+ * <p>
+ * The catalog CSV is parsed once into an unmodifiable list and a name index of read-only
+ * items, shared by every {@link Shop}. The file's modification time is compared with the
+ * cached one at most once per {@link #CHECK_INTERVAL_MILLIS} (or on {@link #refresh()}),
+ * and the file is parsed again only when it has changed.
+ * </p>
+ */
+public class CatalogRepository {
+    /** The catalog file used by the game */
+    public static final String DEFAULT_PATH = "src/model/saveFiles/Inventory_Catalog.csv";
+
+    /** How long the cached catalog is used before the file's modification time is checked again */
+    public static final long CHECK_INTERVAL_MILLIS = 1000;
+
+    private static final CatalogRepository shared = new CatalogRepository(DEFAULT_PATH);
+
+    private final Path path;
+    private volatile Catalog catalog = new Catalog(-1, List.of(), Map.of());
+    private volatile long checkedAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(CHECK_INTERVAL_MILLIS);
+
+    /**
+     * Constructs a repository for a catalog file. Use {@link #getShared()} for the game's
+     * catalog.
+     *
+     * @param path the path to the catalog CSV file
+     */
+    public CatalogRepository(String path) {
+        this.path = Paths.get(path);
+    }
+
+    /**
+     * Returns the repository of the game's catalog, shared by the whole process.
+     *
+     * @return the shared repository
+     */
+    public static CatalogRepository getShared() {
+        return shared;
+    }
+
+    /**
+     * Returns every catalog item in file order.
+     *
+     * @return an unmodifiable list of read-only items
+     */
+    public List<InventoryObject> getItems() {
+        return current().items;
+    }
+
+    /**
+     * Looks up a catalog item by name.
+     *
+     * @param name the name of the item
+     * @return the read-only item, or null if the catalog has no such item
+     */
+    public InventoryObject getItem(String name) {
+        return current().byName.get(name);
+    }
+
+    /**
+     * Checks the file's modification time now, parsing it again if it changed, instead of
+     * waiting for the check interval to pass.
+     */
+    public void refresh() {
+        check();
+    }
+
+    /**
+     * Returns the cached catalog, checking the file only if the last check is older than
+     * the check interval.
+     */
+    private Catalog current() {
+        if (System.nanoTime() - checkedAt < TimeUnit.MILLISECONDS.toNanos(CHECK_INTERVAL_MILLIS)) {
+            return catalog;
+        }
+        return check();
+    }
+
+    /**
+     * Returns the cached catalog, parsing the file again if its modification time changed.
+     */
+    private Catalog check() {
+        Catalog cached = catalog;
+        long modified = modifiedTime();
+        checkedAt = System.nanoTime();
+        if (modified == cached.modified) {
+            return cached;
+        }
+        synchronized (this) {
+            if (modified != catalog.modified) {
+                catalog = load(modified);
+            }
+            return catalog;
+        }
+    }
+
+    /**
+     * Parses the catalog file.
+     */
+    private Catalog load(long modified) {
+        List<InventoryObject> items = new ArrayList<>();
+        Map<String, InventoryObject> byName = new LinkedHashMap<>();
+        try {
+            for (SaveSnapshot.Item line : SaveSnapshot.readItems(path.toString())) { // Same layout as an inventory
+                CatalogItem item = new CatalogItem(line);
+                items.add(item);
+                byName.putIfAbsent(item.getName(), item);
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+        return new Catalog(modified, Collections.unmodifiableList(items), Collections.unmodifiableMap(byName));
+    }
+
+    /**
+     * Returns the file's modification time, or -2 if it cannot be read (so a missing file is
+     * cached as an empty catalog until it appears).
+     */
+    private long modifiedTime() {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return -2;
+        }
+    }
+
+    /**
+     * One parsed generation of the catalog file.
+     */
+    private static final class Catalog {
+        private final long modified;
+        private final List<InventoryObject> items;
+        private final Map<String, InventoryObject> byName;
+
+        private Catalog(long modified, List<InventoryObject> items, Map<String, InventoryObject> byName) {
+            this.modified = modified;
+            this.items = items;
+            this.byName = byName;
+        }
+    }
+
+    /**
+     * A catalog item. It is shared by every shop, so its quantity cannot be changed;
+     * purchases copy it into the player's inventory instead.
+     */
+    private static final class CatalogItem extends InventoryObject {
+        private CatalogItem(SaveSnapshot.Item item) {
+            super(item.name(), item.type(), item.quantity(), item.price(), item.stats());
+        }
+
+        @Override
+        public void setQty(int qty) {
+            throw new UnsupportedOperationException("Catalog items are shared and read-only");
+        }
+    }
+}
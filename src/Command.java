@@ -4,6 +4,11 @@
  * Command contains a set of static methods used to update the statistics and
  * status of
  * the pet object in a controlled manner
+ * <p>
+ * Every change to the statistics is a single atomic step on the pet (see
+ * {@link Pet#addStat(Pet.Stat, int, int, int)} and {@link Pet#updateStats}), including
+ * the caps and floors, so commands and the stat drain can run on different threads.
+ * </p>
  *
  * @author Samuel Joseph Humphrey (shumph3)
  */
@@ -17,15 +22,15 @@ public class Command {
    */
   public static Pet updateStatus(Pet pet) {
     if (pet.isNormal())
-      pet.setState("default");
+      pet.setState(PetState.DEFAULT);
     if (pet.isAngry())
-      pet.setState("angry");
+      pet.setState(PetState.ANGRY);
     if (pet.isHungry())
-      pet.setState("hungry");
+      pet.setState(PetState.HUNGRY);
     if (pet.isSleeping())
-      pet.setState("sleep");
+      pet.setState(PetState.SLEEP);
     if (pet.isDead())
-      pet.setState("dead");
+      pet.setState(PetState.DEAD);
     return pet;
 
   }
@@ -52,7 +57,7 @@ public class Command {
       return pet;
     } else {
       pet.setRecentCommand(true);
-      pet.changeFullness(Math.min(pet.getType().getMaxFullness() - pet.getFullness(), food.getStats()));
+      pet.addStat(Pet.Stat.FULLNESS, food.getStats(), Pet.STAT_MIN, pet.getType().getMaxFullness());
       pet = updateStatus(pet);
       return pet;
     }
@@ -77,9 +82,8 @@ public class Command {
       return pet;
     } else {
       int amount = pet.getType().getSleepRate();
-      pet.changeSleep(amount);
-      pet.setSleep(Math.min(pet.getType().getMaxSleep(), pet.getSleep()));
-      pet.setState("sleep");
+      pet.addStat(Pet.Stat.SLEEP, amount, Pet.STAT_MIN, pet.getType().getMaxSleep());
+      pet.setState(PetState.SLEEP);
       return pet;
     }
 
@@ -104,8 +108,8 @@ public class Command {
       return pet;
     } else {
       pet.setRecentCommand(true);
-      pet.changeHappiness(Math.min(pet.getType().getMaxHappiness() - pet.getHappiness(), gift.getStats()));
-      pet.changeLove(Math.min(pet.getType().getMaxLove() - pet.getLove(), gift.getStats()));
+      pet.addStat(Pet.Stat.HAPPINESS, gift.getStats(), Pet.STAT_MIN, pet.getType().getMaxHappiness());
+      pet.addStat(Pet.Stat.LOVE, gift.getStats(), Pet.STAT_MIN, pet.getType().getMaxLove());
       pet = updateStatus(pet);
       return pet;
     }
@@ -131,8 +135,7 @@ public class Command {
         pet.setRecentCommand(false);
         return pet; // Command handling outside this method should inform the user.
       }
-      int amount = pet.getType().getMaxHealth() - pet.getHealth();
-      pet.changeHealth(amount);
+      pet.setHealth(pet.getType().getMaxHealth());
 
       // Set vet command cooldown to 45 seconds.
       pet.setCooldown("vet", 45);
@@ -170,8 +173,8 @@ public class Command {
         pet.setRecentCommand(false);
         return pet; // Command handling outside this method should inform the user.
       }
-      pet.changeHappiness(Math.min(pet.getType().getMaxHappiness() - pet.getHappiness(), 25));
-      pet.changeLove(Math.min(pet.getType().getMaxLove() - pet.getLove(), 25));
+      pet.addStat(Pet.Stat.HAPPINESS, 25, Pet.STAT_MIN, pet.getType().getMaxHappiness());
+      pet.addStat(Pet.Stat.LOVE, 25, Pet.STAT_MIN, pet.getType().getMaxLove());
 
       // Set play command cooldown to 15 seconds.
       pet.setCooldown("play", 10);
@@ -202,12 +205,13 @@ public class Command {
       return pet;
     } else {
       pet.setRecentCommand(true);
-      pet.changeHealth(Math.min(pet.getType().getMaxHealth() - pet.getHealth(), 7));
-      pet.changeSleep(-5);
-      pet.setSleep(Math.max(0, pet.getSleep()));
-      pet.changeFullness(-5);
-      pet.setFullness(Math.max(0, pet.getFullness()));
-      pet.setState("exercising");
+      int maxHealth = pet.getType().getMaxHealth();
+      pet.updateStats(stats -> {
+        stats = Pet.withStat(stats, Pet.Stat.HEALTH, Math.min(maxHealth, Pet.stat(stats, Pet.Stat.HEALTH) + 7));
+        stats = Pet.withStat(stats, Pet.Stat.SLEEP, Math.max(0, Pet.stat(stats, Pet.Stat.SLEEP) - 5));
+        return Pet.withStat(stats, Pet.Stat.FULLNESS, Math.max(0, Pet.stat(stats, Pet.Stat.FULLNESS) - 5));
+      });
+      pet.setState(PetState.EXERCISING);
       return pet;
     }
 
@@ -225,20 +229,17 @@ public class Command {
     if (pet.isDead())
       return pet;
 
-    boolean isActiveState = pet.getState().equals("sleep") || pet.getState().equals("exercising");
+    PetState state = pet.getPetState();
+    boolean isActiveState = state.isActive();
 
-        // Only drain stats if the pet is not sleeping
-    if (!"sleep".equals(pet.getState())) {
-      pet.changeFullness(-pet.getType().getFullnessRate());
-      pet.changeHappiness(-pet.getType().getHappinessRate());
-      pet.changeLove(-pet.getType().getLoveRate());
-      pet.changeSleep(-pet.getType().getSleepRate());
-    }
-
-    pet.setFullness(Math.max(0, pet.getFullness()));
-    pet.setHappiness(Math.max(0, pet.getHappiness()));
-    pet.setSleep(Math.max(0, pet.getSleep()));
-    pet.setLove(Math.max(0, pet.getLove()));
+    // The pet type's drain table already skips resting states; the drain and the floor at 0 are one step
+    long drain = pet.getType().getTickDrain(state);
+    pet.updateStats(stats -> {
+      stats = drainTo0(stats, Pet.Stat.FULLNESS, Pet.stat(drain, Pet.Stat.FULLNESS));
+      stats = drainTo0(stats, Pet.Stat.HAPPINESS, Pet.stat(drain, Pet.Stat.HAPPINESS));
+      stats = drainTo0(stats, Pet.Stat.LOVE, Pet.stat(drain, Pet.Stat.LOVE));
+      return drainTo0(stats, Pet.Stat.SLEEP, Pet.stat(drain, Pet.Stat.SLEEP));
+    });
 
     handleHungryState(pet, isActiveState);
     handleAngryState(pet, isActiveState);
@@ -247,6 +248,13 @@ public class Command {
     return pet;
   }
 
+  /**
+   * Used to lower one packed statistic by an amount without going below 0
+   */
+  private static long drainTo0(long stats, Pet.Stat stat, int amount) {
+    return Pet.withStat(stats, stat, Math.max(0, Pet.stat(stats, stat) - amount));
+  }
+
   /**
    * Used to handle hunger penalties to health and happiness
    * 
@@ -254,13 +262,16 @@ public class Command {
    * @param isActiveState the boolean indicating if hunger is the current state
    */
   private static void handleHungryState(Pet pet, boolean isActiveState) {
-    if (pet.getFullness() == 0 && !"hungry".equals(pet.getState()) && !pet.isSleeping()) {
-      pet.setState("hungry");
+    if (pet.getFullness() == 0 && pet.getPetState() != PetState.HUNGRY && !pet.isSleeping()) {
+      pet.setState(PetState.HUNGRY);
     }
     // Apply hunger penalties only when not active (e.g., not sleeping/exercising)
-    if ("hungry".equals(pet.getState()) && !isActiveState) {
-      pet.changeHappiness(-pet.getType().getHungerHappinessDrain());
-      pet.changeHealth(-pet.getType().getHungerHealthPenalty());
+    if (pet.getPetState() == PetState.HUNGRY && !isActiveState) {
+      int happinessDrain = pet.getType().getHungerHappinessDrain();
+      int healthPenalty = pet.getType().getHungerHealthPenalty();
+      pet.updateStats(stats -> Pet.withStat(
+          Pet.withStat(stats, Pet.Stat.HAPPINESS, Pet.stat(stats, Pet.Stat.HAPPINESS) - happinessDrain),
+          Pet.Stat.HEALTH, Pet.stat(stats, Pet.Stat.HEALTH) - healthPenalty));
     }
   }
 
@@ -271,10 +282,10 @@ public class Command {
    * @param isActiveState the boolean indicating if anger is the current state
    */
   private static void handleAngryState(Pet pet, boolean isActiveState) {
-    if (pet.getHappiness() == 0 && !"angry".equals(pet.getState()) && !pet.isSleeping()) {
-      pet.setState("angry");
-    } else if ("angry".equals(pet.getState()) && pet.getHappiness() >= pet.getType().getMaxHappiness() / 2) {
-      pet.setState("default");
+    if (pet.getHappiness() == 0 && pet.getPetState() != PetState.ANGRY && !pet.isSleeping()) {
+      pet.setState(PetState.ANGRY);
+    } else if (pet.getPetState() == PetState.ANGRY && pet.getHappiness() >= pet.getType().getCalmThreshold()) {
+      pet.setState(PetState.DEFAULT);
     }
     // Optionally, you can also conditionally apply anger penalties if needed.
   }
@@ -287,12 +298,8 @@ public class Command {
    */
   public static Pet revive(Pet pet) {
     if (pet.isDead()) {
-      pet.setState("alive"); // Set the pet's state to "alive"
-      pet.setHealth(100); // Reset health to maximum
-      pet.setFullness(100); // Reset fullness to maximum
-      pet.setSleep(100); // Reset sleep to maximum
-      pet.setHappiness(100); // Reset happiness to maximum
-      pet.setLove(100); // Reset love to maximum
+      pet.setState(PetState.ALIVE); // Set the pet's state to "alive"
+      pet.updateStats(stats -> Pet.pack(100, 100, 100, 100, 100)); // Reset every statistic to maximum at once
     }
     return pet; // Return the revived pet
   }
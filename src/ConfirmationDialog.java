@@ -15,7 +15,7 @@ public class ConfirmationDialog extends JDialog {
 
         // Background panel
         JPanel bgPanel = new JPanel() {
-            Image bg = new ImageIcon("assets/popupBG.png").getImage();
+            Image bg = AssetCache.getIcon("assets/popupBG.png").getImage();
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
@@ -27,7 +27,7 @@ public class ConfirmationDialog extends JDialog {
 
         // Title Label
         JLabel titleLabel = new JLabel(title);
-        titleLabel.setFont(customFont.deriveFont(Font.BOLD, 22f));
+        titleLabel.setFont(FontRegistry.derive(customFont, Font.BOLD, 22f));
         titleLabel.setBounds(50, 20, 250, 30);
         titleLabel.setForeground(Color.BLACK);
         titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
@@ -35,7 +35,7 @@ public class ConfirmationDialog extends JDialog {
 
         // Message Label
         JLabel msgLabel = new JLabel("<html><div style='text-align:center;'>" + message + "</div></html>");
-        msgLabel.setFont(customFont.deriveFont(14f));
+        msgLabel.setFont(FontRegistry.derive(customFont, 14f));
         msgLabel.setBounds(50, 60, 250, 60);
         msgLabel.setForeground(Color.BLACK);
         msgLabel.setHorizontalAlignment(SwingConstants.CENTER);
@@ -44,7 +44,7 @@ public class ConfirmationDialog extends JDialog {
     // Check if a cancel icon was provided.
     if (cancelIconPath != null && !cancelIconPath.isEmpty()) {
         // Confirm Button
-        JButton confirmBtn = new JButton(new ImageIcon(new ImageIcon(confirmIconPath).getImage().getScaledInstance(50, 50, Image.SCALE_SMOOTH)));
+        JButton confirmBtn = new JButton(new ImageIcon(AssetCache.getIcon(confirmIconPath).getImage().getScaledInstance(50, 50, Image.SCALE_SMOOTH)));
         confirmBtn.setBounds(85, 140, 50, 50);
         confirmBtn.setContentAreaFilled(false);
         confirmBtn.setBorderPainted(false);
@@ -56,7 +56,7 @@ public class ConfirmationDialog extends JDialog {
         bgPanel.add(confirmBtn);
 
         // Cancel Button
-        JButton cancelBtn = new JButton(new ImageIcon(new ImageIcon(cancelIconPath).getImage().getScaledInstance(50, 50, Image.SCALE_SMOOTH)));
+        JButton cancelBtn = new JButton(new ImageIcon(AssetCache.getIcon(cancelIconPath).getImage().getScaledInstance(50, 50, Image.SCALE_SMOOTH)));
         cancelBtn.setBounds(215, 140, 50, 50);
         cancelBtn.setContentAreaFilled(false);
         cancelBtn.setBorderPainted(false);
@@ -69,7 +69,7 @@ public class ConfirmationDialog extends JDialog {
     } else {
         
         // Only one button - center it horizontally.
-        JButton confirmBtn = new JButton(new ImageIcon(new ImageIcon(confirmIconPath).getImage().getScaledInstance(50, 50, Image.SCALE_SMOOTH)));
+        JButton confirmBtn = new JButton(new ImageIcon(AssetCache.getIcon(confirmIconPath).getImage().getScaledInstance(50, 50, Image.SCALE_SMOOTH)));
         // Center: (350 - 50) / 2 = 150
         confirmBtn.setBounds(150, 140, 50, 50);
         confirmBtn.setContentAreaFilled(false);
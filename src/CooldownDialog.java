@@ -5,9 +5,13 @@ import java.awt.*;
  * A dialog window to inform the player that a command is on cooldown.
  * The dialog displays the command name and the remaining time until the command is available.
  * It uses similar styling to the RemoveItemDialog in InventoryGUI.
+ * When opened for a pet's command, the dialog is told by the {@link CooldownManager}
+ * when the cooldown ends and then shows that the action is ready again.
  * @author Jasmine Kumar (jkumar43)
  */
 public class CooldownDialog extends JDialog {
+    private final JLabel msgLabel;
+
     /**
      * Constructs a {@code CooldownDialog} to inform the user that an action is on cooldown.
      *
@@ -24,7 +28,7 @@ public class CooldownDialog extends JDialog {
 
         // Background panel using an image asset.
         JPanel bgPanel = new JPanel() {
-            Image bg = new ImageIcon("assets/popupBG.png").getImage();
+            Image bg = AssetCache.getIcon("assets/popupBG.png").getImage();
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
@@ -35,15 +39,15 @@ public class CooldownDialog extends JDialog {
         bgPanel.setOpaque(false);
 
         // Message label indicating the command is on cooldown.
-        JLabel msgLabel = new JLabel("<html><center>" + actionName + " is on cooldown!<br/>Wait " + secondsRemaining + " seconds.</center></html>");
-        msgLabel.setFont(customFont.deriveFont(16f));
+        msgLabel = new JLabel("<html><center>" + actionName + " is on cooldown!<br/>Wait " + secondsRemaining + " seconds.</center></html>");
+        msgLabel.setFont(FontRegistry.derive(customFont, 16f));
         msgLabel.setBounds(40, 40, 270, 60);
         msgLabel.setHorizontalAlignment(SwingConstants.CENTER);
         msgLabel.setForeground(Color.BLACK);
         bgPanel.add(msgLabel);
 
         // Confirmation button with a checkmark image (no cancel/x button).
-        ImageIcon checkIcon = new ImageIcon(new ImageIcon("assets/confirm.png").getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH));
+        ImageIcon checkIcon = new ImageIcon(AssetCache.getIcon("assets/confirm.png").getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH));
         JButton okBtn = new JButton(checkIcon);
         okBtn.setBounds(155, 110, 40, 40);
         okBtn.setContentAreaFilled(false);
@@ -53,4 +57,23 @@ public class CooldownDialog extends JDialog {
 
         setContentPane(bgPanel);
     }
+
+    /**
+     * Constructs a {@code CooldownDialog} for a pet's command. The message changes to say
+     * the action is ready as soon as the cooldown ends, without the dialog polling for it.
+     *
+     * @param parent     The parent frame that opened this dialog.
+     * @param actionName The name of the action (e.g., "Vet", "Play") that is currently on cooldown.
+     * @param pet        The pet whose command is on cooldown.
+     * @param command    The name of the command (e.g., "vet", "play").
+     * @param customFont A custom font to be used for the label text.
+     */
+    public CooldownDialog(JFrame parent, String actionName, Pet pet, String command, Font customFont) {
+        this(parent, actionName, pet.getRemainingCooldown(command), customFont);
+        pet.onCooldownEnd(command, () -> SwingUtilities.invokeLater(() -> {
+            if (isDisplayable()) {
+                msgLabel.setText("<html><center>" + actionName + " is ready!</center></html>");
+            }
+        }));
+    }
 }
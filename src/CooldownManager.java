@@ -0,0 +1,384 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One cooldown service for every pet's commands, kept on a hashed timer wheel.
+ * <p>
+ * A cooldown is keyed by the pet's id and the command's ordinal (see
+ * {@link #commandOrdinal(String)}) and stores its end as a deadline on the monotonic
+ * {@link GameClock#nanoTime()}, so it is unaffected by wall-clock changes and midnight.
+ * Setting, checking and reading the remaining time of a cooldown are a lookup in an
+ * open-addressing table of primitive keys and do not allocate.
+ * </p>
+ * <p>
+ * Every cooldown also sits in the wheel slot of the tick it ends in. While any cooldown is
+ * running, a task on the {@link GameScheduler} advances the wheel once per tick, removes
+ * the cooldowns that have ended and runs their expiry callbacks, so screens such as
+ * {@link CooldownDialog} can react to the end of a cooldown instead of polling for it.
+ * Callbacks run on the scheduler thread.
+ * </p>
+ */
+public final class CooldownManager {
+    /** Length of one wheel tick in milliseconds */
+    public static final long TICK_MILLIS = 50;
+    /** Number of slots in the wheel; one turn covers {@code TICK_MILLIS * WHEEL_SIZE} */
+    public static final int WHEEL_SIZE = 512;
+
+    private static volatile CooldownManager shared;
+
+    private static final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+
+    private final GameClock clock;
+    private final long tickNanos;
+    private final long origin;
+    private final Entry[] wheel;
+    private final GameScheduler scheduler;
+
+    // Open-addressing table from key to entry, with linear probing
+    private long[] keys = new long[64];
+    private Entry[] entries = new Entry[64];
+    private int size;
+
+    private long processedTick;
+    private GameScheduler.Handle ticker;
+
+    /**
+     * Constructs a cooldown manager. Use {@link #getShared()} in the game.
+     *
+     * @param clock     the clock the deadlines are read from
+     * @param tickNanos the length of a wheel tick in nanoseconds
+     * @param wheelSize the number of wheel slots, a power of two
+     * @param scheduler the scheduler that advances the wheel, or null to advance it only
+     *                  through {@link #advance()}
+     */
+    public CooldownManager(GameClock clock, long tickNanos, int wheelSize, GameScheduler scheduler) {
+        if (wheelSize <= 0 || Integer.bitCount(wheelSize) != 1) {
+            throw new IllegalArgumentException("The wheel size must be a power of two: " + wheelSize);
+        }
+        this.clock = clock;
+        this.tickNanos = tickNanos;
+        this.origin = clock.nanoTime();
+        this.wheel = new Entry[wheelSize];
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * Returns the cooldown manager shared by the whole application, on the
+     * {@link GameClock#current()} clock. Installing another clock starts a new manager
+     * without cooldowns. Only the manager on {@link GameClock#SYSTEM} advances its wheel
+     * on the scheduler; a virtual clock does not move on its own, so callbacks on its
+     * manager run when {@link #advance()} is called.
+     *
+     * @return the shared manager
+     */
+    public static CooldownManager getShared() {
+        CooldownManager manager = shared;
+        GameClock clock = GameClock.current();
+        if (manager != null && manager.clock == clock) {
+            return manager;
+        }
+        synchronized (CooldownManager.class) {
+            if (shared == null || shared.clock != clock) {
+                shared = new CooldownManager(clock, TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS), WHEEL_SIZE,
+                    clock == GameClock.SYSTEM ? GameScheduler.getShared() : null);
+            }
+            return shared;
+        }
+    }
+
+    /**
+     * Returns the ordinal of a command, giving the command a new one the first time it is
+     * seen.
+     *
+     * @param command the name of the command (e.g., "play")
+     * @return the command's ordinal
+     */
+    public static int commandOrdinal(String command) {
+        Integer ordinal = ordinals.get(command);
+        if (ordinal != null) {
+            return ordinal;
+        }
+        synchronized (ordinals) {
+            return ordinals.computeIfAbsent(command, name -> ordinals.size());
+        }
+    }
+
+    /**
+     * Starts or restarts a cooldown. Expiry callbacks already registered for it are kept
+     * and run when the new cooldown ends.
+     *
+     * @param petId    the id of the pet
+     * @param command  the ordinal of the command
+     * @param duration the length of the cooldown
+     * @param unit     the unit of the duration
+     */
+    public synchronized void set(int petId, int command, long duration, TimeUnit unit) {
+        long deadline = clock.nanoTime() + unit.toNanos(duration);
+        long key = key(petId, command);
+        Entry entry = find(key);
+        if (entry == null) {
+            entry = new Entry(key);
+            put(entry);
+        } else {
+            unlink(entry);
+        }
+        entry.deadline = deadline;
+        link(entry);
+        startTicker();
+    }
+
+    /**
+     * Used to check whether a cooldown is running.
+     *
+     * @param petId   the id of the pet
+     * @param command the ordinal of the command
+     * @return true if the cooldown has been set and has not ended yet
+     */
+    public synchronized boolean isActive(int petId, int command) {
+        Entry entry = find(key(petId, command));
+        return entry != null && entry.deadline - clock.nanoTime() > 0;
+    }
+
+    /**
+     * Returns the time left on a cooldown.
+     *
+     * @param petId   the id of the pet
+     * @param command the ordinal of the command
+     * @return the remaining nanoseconds, or 0 if the cooldown is not running
+     */
+    public synchronized long remainingNanos(int petId, int command) {
+        Entry entry = find(key(petId, command));
+        return entry == null ? 0 : Math.max(0, entry.deadline - clock.nanoTime());
+    }
+
+    /**
+     * Registers a callback to run once when a cooldown ends. If the cooldown is not
+     * running the callback runs at once, on the calling thread.
+     *
+     * @param petId    the id of the pet
+     * @param command  the ordinal of the command
+     * @param callback the action to run
+     */
+    public void onExpiry(int petId, int command, Runnable callback) {
+        synchronized (this) {
+            Entry entry = find(key(petId, command));
+            if (entry != null && entry.deadline - clock.nanoTime() > 0) {
+                if (entry.callbacks == null) {
+                    entry.callbacks = new ArrayList<>(1);
+                }
+                entry.callbacks.add(callback);
+                return;
+            }
+        }
+        callback.run();
+    }
+
+    /**
+     * Returns the number of cooldowns that have not been expired by the wheel yet, for
+     * diagnostics and tests.
+     *
+     * @return the number of tracked cooldowns
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Advances the wheel to the current time, removing the cooldowns that have ended and
+     * running their expiry callbacks.
+     */
+    public void advance() {
+        List<Runnable> expired = new ArrayList<>();
+        synchronized (this) {
+            long now = clock.nanoTime();
+            long currentTick = Math.floorDiv(now - origin, tickNanos);
+            // A whole turn visits every slot, so never walk more ticks than the wheel has
+            long from = Math.max(processedTick + 1, currentTick - wheel.length + 1);
+            for (long tick = from; tick <= currentTick; tick++) {
+                Entry entry = wheel[slot(tick)];
+                while (entry != null) {
+                    Entry next = entry.next;
+                    if (entry.deadline - now <= 0) {
+                        unlink(entry);
+                        remove(entry.key);
+                        if (entry.callbacks != null) {
+                            expired.addAll(entry.callbacks);
+                        }
+                    }
+                    entry = next;
+                }
+            }
+            processedTick = Math.max(processedTick, currentTick);
+            if (size == 0 && ticker != null) {
+                ticker.cancel();
+                ticker = null;
+            }
+        }
+        for (Runnable callback : expired) {
+            try {
+                callback.run();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Starts advancing the wheel on the scheduler if it is not already running.
+     */
+    private void startTicker() {
+        if (ticker == null && scheduler != null) {
+            ticker = scheduler.scheduleAtFixedRate(this::advance, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Combines a pet id and a command ordinal into one key.
+     */
+    private static long key(int petId, int command) {
+        return ((long) petId << 32) | (command & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the wheel slot of a tick.
+     */
+    private int slot(long tick) {
+        return (int) (tick & (wheel.length - 1));
+    }
+
+    /**
+     * Puts an entry at the head of the slot of the tick its deadline falls in.
+     */
+    private void link(Entry entry) {
+        long tick = Math.max(processedTick + 1, ceilDiv(entry.deadline - origin, tickNanos));
+        int slot = slot(tick);
+        entry.slot = slot;
+        entry.prev = null;
+        entry.next = wheel[slot];
+        if (entry.next != null) {
+            entry.next.prev = entry;
+        }
+        wheel[slot] = entry;
+    }
+
+    /**
+     * Takes an entry out of its wheel slot.
+     */
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            wheel[entry.slot] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    /**
+     * Returns the smallest number of whole ticks that covers a duration.
+     */
+    private static long ceilDiv(long value, long divisor) {
+        return -Math.floorDiv(-value, divisor);
+    }
+
+    /**
+     * Returns the table index a key hashes to.
+     */
+    private static int hash(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Looks up the entry of a key in the table.
+     */
+    private Entry find(long key) {
+        int mask = entries.length - 1;
+        for (int i = hash(key, mask); entries[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return entries[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Adds an entry whose key is not in the table yet, growing the table past half full.
+     */
+    private void put(Entry entry) {
+        if ((size + 1) * 2 > entries.length) {
+            Entry[] old = entries;
+            keys = new long[old.length * 2];
+            entries = new Entry[old.length * 2];
+            for (Entry e : old) {
+                if (e != null) {
+                    insert(e);
+                }
+            }
+        }
+        insert(entry);
+        size++;
+    }
+
+    /**
+     * Places an entry in the first free index of its probe sequence.
+     */
+    private void insert(Entry entry) {
+        int mask = entries.length - 1;
+        int i = hash(entry.key, mask);
+        while (entries[i] != null) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = entry.key;
+        entries[i] = entry;
+    }
+
+    /**
+     * Removes a key from the table, shifting later entries of the probe run back so
+     * lookups never stop early at the hole.
+     */
+    private void remove(long key) {
+        int mask = entries.length - 1;
+        int i = hash(key, mask);
+        while (entries[i] != null && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (entries[i] == null) {
+            return;
+        }
+        entries[i] = null;
+        size--;
+        for (int j = (i + 1) & mask; entries[j] != null; j = (j + 1) & mask) {
+            int home = hash(keys[j], mask);
+            // Move the entry into the hole unless its home lies cyclically in (i, j]
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                entries[i] = entries[j];
+                entries[j] = null;
+                i = j;
+            }
+        }
+    }
+
+    /**
+     * A running cooldown and its place in the wheel.
+     */
+    private static final class Entry {
+        private final long key;
+        private long deadline;
+        private int slot;
+        private Entry prev;
+        private Entry next;
+        private List<Runnable> callbacks;
+
+        private Entry(long key) {
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+import java.awt.Font;
+import java.awt.FontFormatException;
+import java.awt.GraphicsEnvironment;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A process-wide registry of the game's fonts.
+ * <p>
+ * The "Irish Grover" TrueType file is parsed and registered with the graphics environment
+ * once, the first time a screen asks for it. Sizes and styles derived from it, or from a
+ * screen's fallback font, are memoized, so opening a screen again reuses the same
+ * {@link Font} instances instead of parsing the file and deriving every font anew.
+ * </p>
+ */
+public final class FontRegistry {
+    /** The game's custom font file */
+    public static final String FONT_PATH = "src/fonts/IrishGrover-Regular.ttf";
+
+    private static final Map<Key, Font> derived = new ConcurrentHashMap<>();
+
+    /**
+     * Not instantiable; all methods are static.
+     */
+    private FontRegistry() {
+    }
+
+    /**
+     * Holds the custom font, which is loaded the first time it is used.
+     */
+    private static final class Holder {
+        private static final Font BASE = load();
+    }
+
+    /**
+     * Returns the custom font at a size, in its plain style.
+     *
+     * @param size the point size
+     * @return the shared font, or null if the font file could not be loaded
+     */
+    public static Font getFont(float size) {
+        return getFont(Font.PLAIN, size);
+    }
+
+    /**
+     * Returns the custom font at a style and size.
+     *
+     * @param style the style, such as {@link Font#BOLD}
+     * @param size  the point size
+     * @return the shared font, or null if the font file could not be loaded
+     */
+    public static Font getFont(int style, float size) {
+        Font base = Holder.BASE;
+        return base == null ? null : derive(base, style, size);
+    }
+
+    /**
+     * Returns the custom font at a size, or a fallback if the font file could not be loaded.
+     *
+     * @param size     the point size
+     * @param fallback the font to use instead of the custom font
+     * @return the shared custom font, or the fallback
+     */
+    public static Font getFont(float size, Font fallback) {
+        Font font = getFont(size);
+        return font != null ? font : fallback;
+    }
+
+    /**
+     * Returns a font derived from another at a new size, keeping its style.
+     *
+     * @param base the font to derive from
+     * @param size the point size
+     * @return the shared derived font
+     */
+    public static Font derive(Font base, float size) {
+        return derive(base, base.getStyle(), size);
+    }
+
+    /**
+     * Returns a font derived from another at a new style and size.
+     *
+     * @param base  the font to derive from
+     * @param style the style, such as {@link Font#BOLD}
+     * @param size  the point size
+     * @return the shared derived font
+     */
+    public static Font derive(Font base, int style, float size) {
+        return derived.computeIfAbsent(new Key(base.getName(), base.getFontName(), style, size),
+            key -> base.deriveFont(style, size));
+    }
+
+    /**
+     * Reads and registers the custom font.
+     */
+    private static Font load() {
+        try {
+            Font font = Font.createFont(Font.TRUETYPE_FONT, new File(FONT_PATH));
+            GraphicsEnvironment.getLocalGraphicsEnvironment().registerFont(font);
+            return font;
+        } catch (IOException | FontFormatException e) {
+            e.printStackTrace();
+            return null;
+        }
+    }
+
+    /**
+     * Identifies a derived font by the font it comes from and its style and size.
+     */
+    private record Key(String name, String fontName, int style, float size) {
+    }
+}
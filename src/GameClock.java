@@ -0,0 +1,64 @@
+import java.time.LocalTime;
+
+/**
+ * The source of time for the simulation, cooldowns, temporary states and time away.
+ * <p>
+ * {@link #nanoTime()} is a monotonic reading for measuring durations and
+ * {@link #localTime()} is the time of day that saves record. The game runs on
+ * {@link #SYSTEM}; tests, benchmarks and replays install a {@link VirtualClock} with
+ * {@link #use(GameClock)} so they can move time forward by hours in an instant and get the
+ * same result on every run.
+ * </p>
+ */
+public abstract class GameClock {
+    /** The clock of the running game: {@link System#nanoTime()} and the local time of day */
+    public static final GameClock SYSTEM = new GameClock() {
+        @Override
+        public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public LocalTime localTime() {
+            return LocalTime.now();
+        }
+    };
+
+    private static volatile GameClock current = SYSTEM;
+
+    /**
+     * Returns the clock the game currently reads.
+     *
+     * @return the current clock, {@link #SYSTEM} unless another one was installed
+     */
+    public static GameClock current() {
+        return current;
+    }
+
+    /**
+     * Makes the game read another clock. Engines and managers created earlier keep the clock
+     * they were created with.
+     *
+     * @param clock the clock to install
+     * @return the clock that was installed before, to restore it afterwards
+     */
+    public static GameClock use(GameClock clock) {
+        GameClock previous = current;
+        current = clock;
+        return previous;
+    }
+
+    /**
+     * Returns a monotonic time. Only differences between readings are meaningful.
+     *
+     * @return the time in nanoseconds
+     */
+    public abstract long nanoTime();
+
+    /**
+     * Returns the time of day.
+     *
+     * @return the local time
+     */
+    public abstract LocalTime localTime();
+}
@@ -0,0 +1,146 @@
+/**
+ * The game session that is currently being played: the live {@link Player}, the save slot
+ * it belongs to and the pet screen showing it.
+ * <p>
+ * The pet, inventory and shop screens share this one in-memory player instead of saving
+ * and reloading the slot whenever the player moves between them. The pet screen is hidden
+ * while the inventory or shop is open and shown again afterwards, so its timers and stat
+ * drain keep running and the frame is not rebuilt. The session ends when the player leaves
+ * the pet screen for the save screen; only then is the game written to disk.
+ * </p>
+ */
+public final class GameContext {
+    private static GameContext current;
+
+    private final Player player;
+    private final String saveFile;
+    private PetGUI petScreen;
+
+    /**
+     * Constructs a session for a player. Use {@link #start(Player, String)} to make it the
+     * current one.
+     */
+    private GameContext(Player player, String saveFile) {
+        this.player = player;
+        this.saveFile = saveFile;
+    }
+
+    /**
+     * Starts a new session, ending the current one.
+     *
+     * @param player   the loaded player
+     * @param saveFile the save slot the player belongs to
+     * @return the new session
+     */
+    public static synchronized GameContext start(Player player, String saveFile) {
+        end();
+        current = new GameContext(player, saveFile);
+        return current;
+    }
+
+    /**
+     * Returns the current session.
+     *
+     * @return the session, or null if no game is being played
+     */
+    public static synchronized GameContext current() {
+        return current;
+    }
+
+    /**
+     * Returns the session of a player, starting one if the player is not the one being
+     * played (e.g., when a screen is opened on its own from its main method).
+     *
+     * @param player   the player
+     * @param saveFile the save slot the player belongs to
+     * @return the player's session
+     */
+    public static synchronized GameContext forPlayer(Player player, String saveFile) {
+        if (current != null && current.player == player) {
+            return current;
+        }
+        return start(player, saveFile);
+    }
+
+    /**
+     * Ends the current session and disposes its pet screen.
+     */
+    public static synchronized void end() {
+        if (current != null) {
+            PetGUI screen = current.petScreen;
+            current.petScreen = null;
+            current = null;
+            if (screen != null) {
+                screen.dispose();
+            }
+        }
+    }
+
+    /**
+     * Returns the live player of the session.
+     *
+     * @return the player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+
+    /**
+     * Returns the save slot of the session.
+     *
+     * @return the name of the save slot
+     */
+    public String getSaveFile() {
+        return saveFile;
+    }
+
+    /**
+     * Shows the pet screen, creating it the first time and otherwise bringing back the
+     * hidden one with its display refreshed from the player. Must be called on the Event
+     * Dispatch Thread.
+     */
+    public void showPetScreen() {
+        if (petScreen == null || !petScreen.isDisplayable()) {
+            new PetGUI(player, saveFile); // Shows itself and attaches to this session
+        } else {
+            petScreen.refresh();
+            petScreen.setVisible(true);
+        }
+    }
+
+    /**
+     * Makes a screen the pet screen of this session.
+     *
+     * @param screen the pet screen showing this session's player
+     */
+    void attachPetScreen(PetGUI screen) {
+        petScreen = screen;
+    }
+
+    /**
+     * Hides the pet screen and opens the inventory on the same player. Must be called on the
+     * Event Dispatch Thread.
+     */
+    public void openInventory() {
+        hidePetScreen();
+        new InventoryGUI(player, saveFile);
+    }
+
+    /**
+     * Hides the pet screen and opens the shop on the same player. Must be called on the
+     * Event Dispatch Thread.
+     */
+    public void openShop() {
+        hidePetScreen();
+        new ShopGUI(player, saveFile);
+    }
+
+    /**
+     * Hides the pet screen without disposing it.
+     */
+    private void hidePetScreen() {
+        if (petScreen != null) {
+            petScreen.setVisible(false);
+        }
+    }
+}
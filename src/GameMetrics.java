@@ -0,0 +1,378 @@
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.swing.SwingUtilities;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * Latency metrics of the running game: simulation ticks, saves, loads, the time tasks wait
+ * in the Event Dispatch Thread's queue and image decoding.
+ * <p>
+ * Each {@link Metric} has a lock-free {@link Histogram} of power-of-two buckets, so recording
+ * from the tick loop, the scheduler and the EDT at once never blocks. The histograms are
+ * published as JMX MXBeans under {@code DuckDuckGoose:type=Metrics}, and every recording is
+ * also emitted as a {@link TimingEvent} while a Flight Recorder recording has it enabled, so a
+ * session can be profiled with JConsole or {@code jcmd JFR.start} instead of a debugger.
+ * </p>
+ */
+public final class GameMetrics {
+    /** The JMX domain the histograms are registered under */
+    public static final String JMX_DOMAIN = "DuckDuckGoose";
+
+    private static final GameMetrics shared = new GameMetrics(true);
+    private static final EventType timingEventType = EventType.getEventType(TimingEvent.class);
+
+    private final Map<Metric, Histogram> histograms = new EnumMap<>(Metric.class);
+
+    /**
+     * The timings the game records.
+     */
+    public enum Metric {
+        /** One tick of the {@link SimulationEngine} over every registered pet */
+        TICK("tick"),
+        /** Writing a save slot in {@link Player#saveGame(String)} */
+        SAVE("save"),
+        /** Reading a save slot when a {@link Player} is loaded */
+        LOAD("load"),
+        /** The time a task waited in the Event Dispatch Thread's queue before it ran */
+        EDT_DELAY("edtDelay"),
+        /** Reading and decoding an image file in {@link AssetCache} */
+        ASSET_DECODE("assetDecode");
+
+        private final String id;
+
+        Metric(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Used to get the name the metric is published under
+         *
+         * @return the name (e.g., "edtDelay")
+         */
+        public String getId() {
+            return id;
+        }
+    }
+
+    /**
+     * Constructs a set of histograms, one per metric. Use {@link #getShared()} in the game.
+     *
+     * @param registerMBeans whether to publish the histograms on the platform MBean server
+     */
+    public GameMetrics(boolean registerMBeans) {
+        for (Metric metric : Metric.values()) {
+            histograms.put(metric, new Histogram());
+        }
+        if (registerMBeans) {
+            registerMBeans();
+        }
+    }
+
+    /**
+     * Returns the metrics shared by the whole application.
+     *
+     * @return the shared metrics
+     */
+    public static GameMetrics getShared() {
+        return shared;
+    }
+
+    /**
+     * Records a timing in the shared metrics that started at a given {@link System#nanoTime()}.
+     *
+     * @param metric     the metric
+     * @param startNanos the value of {@link System#nanoTime()} when the timed work started
+     */
+    public static void recordSince(Metric metric, long startNanos) {
+        shared.record(metric, System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Runs a task on the Event Dispatch Thread, like {@link SwingUtilities#invokeLater(Runnable)},
+     * and records how long it waited in the queue.
+     *
+     * @param task the task to run
+     */
+    public static void invokeLater(Runnable task) {
+        long queued = System.nanoTime();
+        SwingUtilities.invokeLater(() -> {
+            recordSince(Metric.EDT_DELAY, queued);
+            task.run();
+        });
+    }
+
+    /**
+     * Records a timing, and emits it as a {@link TimingEvent} if Flight Recorder is recording
+     * those events.
+     *
+     * @param metric the metric
+     * @param nanos  the duration in nanoseconds
+     */
+    public void record(Metric metric, long nanos) {
+        boolean onEdt = SwingUtilities.isEventDispatchThread();
+        histograms.get(metric).record(nanos, onEdt);
+        if (timingEventType.isEnabled()) {
+            TimingEvent event = new TimingEvent();
+            event.metric = metric.getId();
+            event.elapsed = nanos;
+            event.eventDispatchThread = onEdt;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the histogram of a metric.
+     *
+     * @param metric the metric
+     * @return the histogram
+     */
+    public Histogram get(Metric metric) {
+        return histograms.get(metric);
+    }
+
+    /**
+     * Publishes every histogram as an MXBean, skipping names that are already taken.
+     */
+    private void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (Map.Entry<Metric, Histogram> entry : histograms.entrySet()) {
+            try {
+                ObjectName name = objectName(entry.getKey());
+                if (!server.isRegistered(name)) {
+                    server.registerMBean(entry.getValue(), name);
+                }
+            } catch (JMException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Returns the JMX name a metric's histogram is published under.
+     *
+     * @param metric the metric
+     * @return the object name (e.g., {@code DuckDuckGoose:type=Metrics,name=tick})
+     * @throws JMException if the name is malformed
+     */
+    public static ObjectName objectName(Metric metric) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=Metrics,name=" + metric.getId());
+    }
+
+    /**
+     * The JMX view of a {@link Histogram}. Times are in milliseconds.
+     */
+    public interface HistogramMXBean {
+        /**
+         * Used to get the number of recorded timings
+         *
+         * @return the count
+         */
+        long getCount();
+
+        /**
+         * Used to get how many timings were recorded on the Event Dispatch Thread
+         *
+         * @return the count
+         */
+        long getEdtCount();
+
+        /**
+         * Used to get the mean recorded time
+         *
+         * @return the mean in milliseconds, or 0 if nothing was recorded
+         */
+        double getMeanMillis();
+
+        /**
+         * Used to get the longest recorded time
+         *
+         * @return the maximum in milliseconds
+         */
+        double getMaxMillis();
+
+        /**
+         * Used to get the median, to within a factor of two
+         *
+         * @return the upper bound of the median's bucket in milliseconds
+         */
+        double getP50Millis();
+
+        /**
+         * Used to get the 99th percentile, to within a factor of two
+         *
+         * @return the upper bound of the percentile's bucket in milliseconds
+         */
+        double getP99Millis();
+
+        /**
+         * Clears the histogram.
+         */
+        void reset();
+    }
+
+    /**
+     * A lock-free histogram of durations in power-of-two nanosecond buckets: bucket {@code i}
+     * counts durations below {@code 2^i} ns and at least {@code 2^(i-1)} ns. Recording is a
+     * few {@link LongAdder} increments, so concurrent threads do not contend.
+     */
+    public static final class Histogram implements HistogramMXBean {
+        private static final int BUCKETS = 64;
+
+        private final LongAdder[] buckets = new LongAdder[BUCKETS];
+        private final LongAdder count = new LongAdder();
+        private final LongAdder edtCount = new LongAdder();
+        private final LongAdder total = new LongAdder();
+        private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+        /**
+         * Constructs an empty histogram.
+         */
+        public Histogram() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets[i] = new LongAdder();
+            }
+        }
+
+        /**
+         * Records a duration.
+         *
+         * @param nanos the duration in nanoseconds; negative durations count as 0
+         * @param onEdt whether it was recorded on the Event Dispatch Thread
+         */
+        public void record(long nanos, boolean onEdt) {
+            long value = Math.max(0, nanos);
+            buckets[bucketOf(value)].increment();
+            count.increment();
+            total.add(value);
+            max.accumulate(value);
+            if (onEdt) {
+                edtCount.increment();
+            }
+        }
+
+        /**
+         * Returns the duration at or below which a fraction of the timings fall, rounded up to
+         * the bucket's upper bound.
+         *
+         * @param quantile the fraction, between 0 and 1
+         * @return the bound in nanoseconds, or 0 if nothing was recorded
+         */
+        public long percentileNanos(double quantile) {
+            long recorded = 0;
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets[i].sum();
+                recorded += counts[i];
+            }
+            if (recorded == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(quantile * recorded);
+            long seen = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += counts[i];
+                if (seen >= Math.max(1, rank)) {
+                    return Math.min(upperBound(i), max.get());
+                }
+            }
+            return max.get();
+        }
+
+        @Override
+        public long getCount() {
+            return count.sum();
+        }
+
+        @Override
+        public long getEdtCount() {
+            return edtCount.sum();
+        }
+
+        @Override
+        public double getMeanMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : toMillis(total.sum()) / n;
+        }
+
+        @Override
+        public double getMaxMillis() {
+            return toMillis(max.get());
+        }
+
+        @Override
+        public double getP50Millis() {
+            return toMillis(percentileNanos(0.5));
+        }
+
+        @Override
+        public double getP99Millis() {
+            return toMillis(percentileNanos(0.99));
+        }
+
+        @Override
+        public void reset() {
+            for (LongAdder bucket : buckets) {
+                bucket.reset();
+            }
+            count.reset();
+            edtCount.reset();
+            total.reset();
+            max.reset();
+        }
+
+        /**
+         * Returns the bucket of a duration: the number of bits it takes.
+         */
+        private static int bucketOf(long nanos) {
+            return Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos));
+        }
+
+        /**
+         * Returns the largest duration a bucket holds.
+         */
+        private static long upperBound(int bucket) {
+            return bucket >= 63 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        }
+
+        /**
+         * Converts nanoseconds to fractional milliseconds.
+         */
+        private static double toMillis(long nanos) {
+            return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+
+    /**
+     * A Flight Recorder event for one recorded timing. It is disabled unless a recording
+     * enables it, e.g. {@code jcmd <pid> JFR.start settings=profile} with
+     * {@code duckduckgoose.Timing#enabled=true}.
+     */
+    @Name("duckduckgoose.Timing")
+    @Label("Game Timing")
+    @Category("Duck Duck Goose")
+    @Description("A simulation tick, save, load, EDT queue delay or image decode")
+    static final class TimingEvent extends Event {
+        @Label("Metric")
+        String metric;
+
+        @Label("Elapsed")
+        @Timespan(Timespan.NANOSECONDS)
+        long elapsed;
+
+        @Label("On Event Dispatch Thread")
+        boolean eventDispatchThread;
+    }
+}
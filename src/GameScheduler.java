@@ -0,0 +1,302 @@
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * One application-wide scheduler for delayed and repeating game tasks (sleep and exercise
+ * animations, temporary pet states, background save work).
+ * <p>
+ * Tasks run on a small pool of daemon threads instead of a new executor per action. Every
+ * task is represented by a cancellable {@link Handle}. A {@link Scope} groups the handles
+ * of one screen: once bound to a window it cancels them, and runs any registered cleanup,
+ * when the window is disposed, so navigating between screens does not leave tasks or
+ * threads behind.
+ * </p>
+ */
+public final class GameScheduler {
+    /** Number of threads in the shared pool */
+    public static final int POOL_SIZE = 2;
+
+    private static final GameScheduler shared = new GameScheduler(POOL_SIZE);
+
+    private final ScheduledThreadPoolExecutor executor;
+
+    /**
+     * Constructs a scheduler with its own pool. Use {@link #getShared()} in the game.
+     *
+     * @param threads the number of pool threads
+     */
+    public GameScheduler(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        executor = new ScheduledThreadPoolExecutor(threads, runnable -> {
+            Thread thread = new Thread(runnable, "game-scheduler-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setRemoveOnCancelPolicy(true); // Cancelled repeating tasks do not linger in the queue
+    }
+
+    /**
+     * Returns the scheduler shared by the whole application.
+     *
+     * @return the shared scheduler
+     */
+    public static GameScheduler getShared() {
+        return shared;
+    }
+
+    /**
+     * Runs a task once after a delay.
+     *
+     * @param task  the task to run
+     * @param delay the delay before running it
+     * @param unit  the unit of the delay
+     * @return the handle of the task
+     */
+    public Handle schedule(Runnable task, long delay, TimeUnit unit) {
+        Handle handle = new Handle();
+        handle.attach(executor.schedule(guard(handle, h -> task.run()), delay, unit));
+        return handle;
+    }
+
+    /**
+     * Runs a task repeatedly at a fixed rate until its handle is cancelled.
+     *
+     * @param task         the task to run
+     * @param initialDelay the delay before the first run
+     * @param period       the time between runs
+     * @param unit         the unit of the delay and period
+     * @return the handle of the task
+     */
+    public Handle scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+        return scheduleAtFixedRate(h -> task.run(), initialDelay, period, unit);
+    }
+
+    /**
+     * Runs a task repeatedly at a fixed rate until its handle is cancelled. The task is given
+     * its own handle so it can stop itself.
+     *
+     * @param task         the task to run
+     * @param initialDelay the delay before the first run
+     * @param period       the time between runs
+     * @param unit         the unit of the delay and period
+     * @return the handle of the task
+     */
+    public Handle scheduleAtFixedRate(Consumer<Handle> task, long initialDelay, long period, TimeUnit unit) {
+        Handle handle = new Handle();
+        handle.attach(executor.scheduleAtFixedRate(guard(handle, task), initialDelay, period, unit));
+        return handle;
+    }
+
+    /**
+     * Creates a scope whose tasks are cancelled together.
+     *
+     * @return a new, open scope
+     */
+    public Scope newScope() {
+        return new Scope();
+    }
+
+    /**
+     * Creates a scope that is closed when the given window is disposed.
+     *
+     * @param window the window that owns the scope's tasks
+     * @return a new scope bound to the window
+     */
+    public Scope scopeFor(Window window) {
+        Scope scope = new Scope();
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent e) {
+                scope.close();
+            }
+        });
+        return scope;
+    }
+
+    /**
+     * Returns the number of tasks waiting to run, for diagnostics and tests.
+     *
+     * @return the number of queued tasks
+     */
+    public int getQueuedTaskCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Wraps a task so it is skipped once its handle is cancelled and an exception does not
+     * silently end a repeating task.
+     */
+    private static Runnable guard(Handle handle, Consumer<Handle> task) {
+        return () -> {
+            if (handle.isCancelled()) {
+                return;
+            }
+            try {
+                task.accept(handle);
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        };
+    }
+
+    /**
+     * A cancellable reference to a scheduled task.
+     */
+    public static final class Handle {
+        private volatile ScheduledFuture<?> future;
+        private volatile boolean cancelled;
+
+        private Handle() {
+        }
+
+        private void attach(ScheduledFuture<?> future) {
+            this.future = future;
+            if (cancelled) {
+                future.cancel(false); // Cancelled by the task itself before scheduling returned
+            }
+        }
+
+        /**
+         * Cancels the task. A run that is already in progress finishes, but no further runs
+         * start. Cancelling twice has no effect.
+         */
+        public void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> scheduled = future;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+
+        /**
+         * Used to check whether the task was cancelled.
+         *
+         * @return true if {@link #cancel()} was called
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Used to check whether the task will not run again.
+         *
+         * @return true if the task was cancelled or a one-shot task has run
+         */
+        public boolean isDone() {
+            ScheduledFuture<?> scheduled = future;
+            return cancelled || (scheduled != null && scheduled.isDone());
+        }
+    }
+
+    /**
+     * A group of tasks and cleanup actions that belong to one owner, typically a screen.
+     * Closing the scope cancels every task scheduled through it and runs the cleanup
+     * actions; tasks scheduled after it is closed are cancelled immediately.
+     */
+    public final class Scope {
+        private final Set<Handle> handles = ConcurrentHashMap.newKeySet();
+        private final Set<Runnable> cleanups = ConcurrentHashMap.newKeySet();
+        private volatile boolean closed;
+
+        private Scope() {
+        }
+
+        /**
+         * Runs a task once after a delay, unless the scope is closed first.
+         *
+         * @param task  the task to run
+         * @param delay the delay before running it
+         * @param unit  the unit of the delay
+         * @return the handle of the task
+         */
+        public Handle schedule(Runnable task, long delay, TimeUnit unit) {
+            return track(GameScheduler.this.schedule(task, delay, unit));
+        }
+
+        /**
+         * Runs a task repeatedly at a fixed rate until its handle or the scope is cancelled.
+         *
+         * @param task         the task to run
+         * @param initialDelay the delay before the first run
+         * @param period       the time between runs
+         * @param unit         the unit of the delay and period
+         * @return the handle of the task
+         */
+        public Handle scheduleAtFixedRate(Runnable task, long initialDelay, long period, TimeUnit unit) {
+            return track(GameScheduler.this.scheduleAtFixedRate(task, initialDelay, period, unit));
+        }
+
+        /**
+         * Runs a task repeatedly at a fixed rate until its handle or the scope is cancelled.
+         * The task is given its own handle so it can stop itself.
+         *
+         * @param task         the task to run
+         * @param initialDelay the delay before the first run
+         * @param period       the time between runs
+         * @param unit         the unit of the delay and period
+         * @return the handle of the task
+         */
+        public Handle scheduleAtFixedRate(Consumer<Handle> task, long initialDelay, long period, TimeUnit unit) {
+            return track(GameScheduler.this.scheduleAtFixedRate(task, initialDelay, period, unit));
+        }
+
+        /**
+         * Registers an action to run when the scope is closed, such as stopping a
+         * {@link StatDrainer}. If the scope is already closed the action runs immediately.
+         *
+         * @param cleanup the action to run
+         */
+        public void onClose(Runnable cleanup) {
+            cleanups.add(cleanup);
+            if (closed && cleanups.remove(cleanup)) {
+                cleanup.run();
+            }
+        }
+
+        /**
+         * Cancels every task of the scope and runs its cleanup actions.
+         */
+        public void close() {
+            closed = true;
+            for (Handle handle : handles) {
+                handle.cancel();
+            }
+            handles.clear();
+            for (Runnable cleanup : cleanups) {
+                if (cleanups.remove(cleanup)) {
+                    cleanup.run();
+                }
+            }
+        }
+
+        /**
+         * Used to check whether the scope has been closed.
+         *
+         * @return true if {@link #close()} was called
+         */
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Remembers a handle, forgetting handles that are already done so long-lived
+         * scopes do not grow.
+         */
+        private Handle track(Handle handle) {
+            handles.removeIf(Handle::isDone);
+            handles.add(handle);
+            if (closed) {
+                handle.cancel();
+            }
+            return handle;
+        }
+    }
+}
@@ -1,54 +1,39 @@
 /**
  * <p> Manages a player's inventory of items.
- * Loads item data from a CSV file, allows adding and removing items, and can save the inventory back to a file. </p>
+ * Loads item data from a CSV file, allows adding and removing items, and can save the inventory back to a file.
+ * Items are kept in insertion order for display and indexed by name, so lookups, additions and removals
+ * take constant time however many kinds of item there are. </p>
  * @author Chelsea Ye (cye68)
  */
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
-import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 public class Inventory {
-    private ArrayList<InventoryObject> items = new ArrayList<>();
+    private final ArrayList<InventoryObject> items = new ArrayList<>(); // Insertion order, for the GUI
+    private final List<InventoryObject> itemsView = Collections.unmodifiableList(items);
+    private final Map<String, InventoryObject> index = new HashMap<>(); // Name to the item in the list
 
     /**
-     * <p> Constructs an Inventory by loading items from the specified CSV file. </p>
+     * <p> Constructs an empty Inventory. </p>
+     */
+    public Inventory() {
+    }
+
+    /**
+     * <p> Constructs an Inventory by loading items from the specified CSV file.
+     * A corrupted file is replaced by its last good generation, see {@link AtomicSaveFile}. </p>
      *
      * @param filePath the path to the CSV file containing inventory data
      */
     public Inventory(String filePath) {
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-
-            // Read each line in the CSV
-            while ((line = br.readLine()) != null) {
-                // Skip empty or malformed lines
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-
-                // Split the line by commas
-                String[] parts = line.split(",");
-
-                if (parts.length < 5) {
-                    System.err.println("Skipping malformed line: " + line);
-                    continue;
-                }
-
-                // Parse the fields (adjust parsing logic for your CSV structure)
-                String name = parts[0].trim();
-                String type = parts[1].trim();
-                int quantity = Integer.parseInt(parts[2].trim());
-                int price = Integer.parseInt(parts[3].trim());
-                int stats = Integer.parseInt(parts[4].trim());
-
-                InventoryObject item = new InventoryObject(name, type, quantity, price, stats);
-                items.add(item);
-                
+        try {
+            for (SaveSnapshot.Item item : SaveSnapshot.readItems(filePath)) {
+                addItem(item.toInventoryObject(), item.quantity());
             }
         } catch (IOException e) {
             e.printStackTrace();
@@ -57,23 +42,22 @@ public class Inventory {
 
     /**
      * <p> Adds a quantity of the specified item to the inventory. 
-     * If the item already exists, increases its quantity. </p>
+     * If the item already exists, increases its quantity; otherwise the given item is stored
+     * with its quantity set to {@code qty}. </p>
      *
      * @param item the item to add
      * @param qty  the quantity to add
      */
     public void addItem(InventoryObject item, int qty) {
-        Iterator<InventoryObject> it = items.iterator();
-        while (it.hasNext()) {
-            InventoryObject current = it.next();
-            if (current.getName().equals(item.getName())) {
-                current.setQty(current.getAmount() + qty);
-                return;
-            }
+        InventoryObject current = index.get(item.getName());
+        if (current != null) {
+            current.setQty(current.getAmount() + qty);
+            return;
         }
 
         item.setQty(qty);
         items.add(item);
+        index.put(item.getName(), item);
     }
 
     /**
@@ -82,32 +66,51 @@ public class Inventory {
      * @param name the name of the item to remove
      */
     public void removeItem(String name) {
-        Iterator<InventoryObject> it = items.iterator();
-        while (it.hasNext()) {
-            InventoryObject item = it.next();
-            if (item.getName().equals(name)) {
-                int qty = item.getAmount();
-                item.setQty(qty-1);
-            }
+        InventoryObject item = index.get(name);
+        if (item != null) {
+            item.setQty(item.getAmount() - 1);
         }
     }
 
     /**
-     * <p> Returns the list of items currently in the inventory. </p>
+     * <p> Returns the item with the given name. </p>
      *
-     * @return an ArrayList of InventoryObject
+     * @param name the name of the item
+     * @return the item, or null if the inventory has never held it
      */
-    public ArrayList<InventoryObject> getItems() {
-        return items;
+    public InventoryObject getItem(String name) {
+        return index.get(name);
     }
 
     /**
-     * <p> Saves the current state of the inventory to a CSV file. </p>
+     * <p> Returns how many of the named item the inventory holds. </p>
+     *
+     * @param name the name of the item
+     * @return the quantity, or 0 if the inventory has never held it
+     */
+    public int getQuantity(String name) {
+        InventoryObject item = index.get(name);
+        return item == null ? 0 : item.getAmount();
+    }
+
+    /**
+     * <p> Returns the items currently in the inventory, in the order they were first added.
+     * Use {@link #addItem(InventoryObject, int)} and {@link #removeItem(String)} to change them. </p>
+     *
+     * @return an unmodifiable list of InventoryObject
+     */
+    public List<InventoryObject> getItems() {
+        return itemsView;
+    }
+
+    /**
+     * <p> Saves the current state of the inventory to a CSV file.
+     * The file is replaced atomically by {@link AtomicSaveFile}. </p>
      *
      * @param filePath the path to the file where the inventory should be saved
      */
     public void saveInventory(String filePath) {
-        try (BufferedWriter bw = new BufferedWriter(new FileWriter(filePath))) {
+        StringBuilder contents = new StringBuilder();
         for (InventoryObject item : items) {
             String line = String.format("%s,%s,%d,%d,%d",
                 item.getName(),
@@ -116,9 +119,10 @@ public class Inventory {
                 item.getPrice(),
                 item.getStats()
             );
-                bw.write(line);
-                bw.newLine();
-            }
+            contents.append(line).append('\n');
+        }
+        try {
+            AtomicSaveFile.write(filePath, contents.toString());
         } catch (IOException e) {
             e.printStackTrace();
         }
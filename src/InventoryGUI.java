@@ -1,7 +1,5 @@
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
 
 /**
  * <p>A GUI window that displays the player's inventory in a grid-based layout.
@@ -25,18 +23,23 @@ public class InventoryGUI extends JFrame {
      * @param saveFile the name of the save file to load data from
      */
     public InventoryGUI(String saveFile) {
+        this(new Player(saveFile), saveFile);
+    }
+
+    /**
+     * Constructs the Inventory GUI for a player that is already loaded. Using an item only
+     * changes the player in memory; the game is written to disk when it is saved.
+     * 
+     * @param player   the player whose inventory is shown
+     * @param saveFile the name of the save file the player belongs to
+     */
+    public InventoryGUI(Player player, String saveFile) {
 
-        this.player = new Player(saveFile);
+        this.player = player;
         Pet pet = player.getPet();
         this.inventory = player.getInventory();
 
-        try {
-            this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(16f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-        }
+        this.customFont = FontRegistry.getFont(16f);
 
 
             setTitle("Inventory");
@@ -54,13 +57,13 @@ public class InventoryGUI extends JFrame {
             setContentPane(layout.mainPanel);
 
             layout.homeButton.addActionListener(e -> {
-                new PetGUI(player, saveFile);
+                GameContext.forPlayer(player, saveFile).showPetScreen(); // Back to the hidden pet screen
                 dispose();
             });
 
             // Label
             JLabel label = new JLabel("Inventory");
-            label.setFont(customFont.deriveFont(60f));
+            label.setFont(FontRegistry.derive(customFont, 60f));
             label.setForeground(Color.WHITE); 
             label.setHorizontalAlignment(SwingConstants.CENTER); // centers text in label
 
@@ -91,15 +94,12 @@ public class InventoryGUI extends JFrame {
                 itemButton.setFocusPainted(false);
                 itemButton.setBounds(0, 0, 80, 80);
 
-                // Load and scale image
-                String imagePath = "assets/items/" + item.getName().toLowerCase().replace(" ", "_") + ".png";
-                ImageIcon icon = new ImageIcon(imagePath);
-                Image scaledIcon = icon.getImage().getScaledInstance(80, 80, Image.SCALE_SMOOTH);
-                itemButton.setIcon(new ImageIcon(scaledIcon));
+                // Item icon, pre-scaled in the shared atlas
+                itemButton.setIcon(ItemIconAtlas.getShared().getIcon(item.getName()));
 
                 // Quantity label
                 JLabel qtyLabel = new JLabel("x" + quantity);
-                qtyLabel.setFont(customFont.deriveFont(14f));
+                qtyLabel.setFont(FontRegistry.derive(customFont, 14f));
                 qtyLabel.setForeground(Color.BLACK);
                 qtyLabel.setBounds(60, 55, 30, 20); // bottom right corner-ish
 
@@ -115,7 +115,7 @@ public class InventoryGUI extends JFrame {
 
                 // Label below
                 JLabel nameLabel = new JLabel(item.getName());
-                nameLabel.setFont(customFont.deriveFont(14f));
+                nameLabel.setFont(FontRegistry.derive(customFont, 14f));
                 nameLabel.setForeground(Color.BLACK);
                 nameLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
@@ -165,7 +165,7 @@ public class InventoryGUI extends JFrame {
                                 player.adjustScore(2);
                             }                        
                         }
-                        new PetGUI(player, saveFile);
+                        GameContext.forPlayer(player, saveFile).showPetScreen();
                         dispose();
                     }
                 });
@@ -212,7 +212,7 @@ public class InventoryGUI extends JFrame {
     
             // Background panel
             JPanel bgPanel = new JPanel() {
-                Image bg = new ImageIcon("assets/popupBG.png").getImage();
+                Image bg = AssetCache.getIcon("assets/popupBG.png").getImage();
     
                 @Override
                 protected void paintComponent(Graphics g) {
@@ -231,7 +231,7 @@ public class InventoryGUI extends JFrame {
             };
 
             JLabel titleLabel = new JLabel(actionName + " " + itemName + "?");
-            titleLabel.setFont(customFont.deriveFont(Font.BOLD, 22f));
+            titleLabel.setFont(FontRegistry.derive(customFont, Font.BOLD, 22f));
             titleLabel.setBounds(50, 20, 250, 30);
             titleLabel.setForeground(Color.BLACK);
             titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
@@ -239,14 +239,14 @@ public class InventoryGUI extends JFrame {
     
             // Description label
             JLabel descLabel = new JLabel("<html><div style='text-align: center;'>" + actionName+ " one " + itemName + " from<br>your inventory</div></html>");
-            descLabel.setFont(customFont.deriveFont(14f));
+            descLabel.setFont(FontRegistry.derive(customFont, 14f));
             descLabel.setBounds(50, 60, 250, 60);
             descLabel.setHorizontalAlignment(SwingConstants.CENTER);
             descLabel.setForeground(Color.BLACK);
             bgPanel.add(descLabel);
     
             // Confirm button
-            ImageIcon rawConfirmIcon = new ImageIcon("assets/confirm.png");
+            ImageIcon rawConfirmIcon = AssetCache.getIcon("assets/confirm.png");
             Image scaledConfirm = rawConfirmIcon.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
             JButton yesBtn = new JButton(new ImageIcon(scaledConfirm));
             yesBtn.setBounds(85, 140, 40, 40);
@@ -261,7 +261,7 @@ public class InventoryGUI extends JFrame {
 
 
             // Cancel button
-            ImageIcon rawCancelIcon = new ImageIcon("assets/cancel.png");
+            ImageIcon rawCancelIcon = AssetCache.getIcon("assets/cancel.png");
             Image scaledCancel = rawCancelIcon.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
             JButton noBtn = new JButton(new ImageIcon(scaledCancel));
             noBtn.setBounds(210, 140, 40, 40);
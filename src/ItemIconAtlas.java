@@ -0,0 +1,287 @@
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+/**
+ * A sprite sheet of every catalog item's icon, pre-rendered at the sizes the item grids use.
+ * <p>
+ * Each item image is scaled once, with bicubic interpolation, into its cell of a single
+ * {@link BufferedImage}. The {@link ShopGUI} and {@link InventoryGUI} grids take their
+ * icons as sub-images of the sheet, so opening a window no longer rescales every item.
+ * </p>
+ * <p>
+ * The sheet is saved under {@code .cache/} together with a SHA-256 hash of the item list,
+ * the sizes and the source image files. Later runs read the saved sheet as long as the hash
+ * still matches, and render it again otherwise.
+ * </p>
+ */
+public final class ItemIconAtlas {
+    /** The size of the icons in the item grids */
+    public static final int ICON_SIZE = 80;
+    /** The directory holding the item images */
+    public static final String ITEM_DIRECTORY = "assets/items";
+    /** The directory the rendered sheet is cached in */
+    public static final String CACHE_DIRECTORY = ".cache";
+
+    private static ItemIconAtlas shared;
+    private static List<InventoryObject> sharedCatalog;
+
+    private final int[] sizes;
+    private final Map<String, Integer> columns = new LinkedHashMap<>();
+    private final Map<String, ImageIcon> icons = new HashMap<>();
+    private final BufferedImage sheet;
+    private final boolean fromCache;
+
+    /**
+     * Builds an atlas for a list of items, reading the cached sheet if it is still valid.
+     *
+     * @param itemNames the names of the items, one column each
+     * @param cacheFile the file the sheet is cached in, or null to skip the disk cache
+     * @param sizes     the icon sizes, one row each
+     */
+    public ItemIconAtlas(List<String> itemNames, Path cacheFile, int... sizes) {
+        this.sizes = sizes.clone();
+        for (String name : itemNames) {
+            columns.putIfAbsent(name, columns.size());
+        }
+
+        String hash = sourceHash();
+        BufferedImage cached = cacheFile == null ? null : readCache(cacheFile, hash);
+        fromCache = cached != null;
+        sheet = fromCache ? cached : render();
+        if (!fromCache && cacheFile != null) {
+            writeCache(cacheFile, hash);
+        }
+    }
+
+    /**
+     * Returns the atlas of the game's catalog at {@link #ICON_SIZE}, building it on first use
+     * and again whenever the catalog changes.
+     *
+     * @return the shared atlas
+     */
+    public static synchronized ItemIconAtlas getShared() {
+        List<InventoryObject> catalog = CatalogRepository.getShared().getItems();
+        if (shared == null || catalog != sharedCatalog) {
+            List<String> names = new ArrayList<>();
+            for (InventoryObject item : catalog) {
+                names.add(item.getName());
+            }
+            shared = new ItemIconAtlas(names, Paths.get(CACHE_DIRECTORY, "item_atlas.png"), ICON_SIZE);
+            sharedCatalog = catalog;
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the path of an item's image.
+     *
+     * @param itemName the name of the item
+     * @return the image's path, matched case-insensitively against the files on disk
+     */
+    public static String imagePath(String itemName) {
+        String fileName = itemName.toLowerCase().replace(" ", "_") + ".png";
+        File[] files = new File(ITEM_DIRECTORY).listFiles();
+        for (File file : files == null ? new File[0] : files) {
+            if (file.getName().equalsIgnoreCase(fileName)) {
+                return ITEM_DIRECTORY + "/" + file.getName();
+            }
+        }
+        return ITEM_DIRECTORY + "/" + fileName;
+    }
+
+    /**
+     * Returns the icon of an item at a size. Items that are not in the atlas, or sizes it was
+     * not built with, are scaled once and remembered.
+     *
+     * @param itemName the name of the item
+     * @param size     the width and height of the icon
+     * @return the shared icon
+     */
+    public synchronized ImageIcon getIcon(String itemName, int size) {
+        return icons.computeIfAbsent(itemName + "@" + size, key -> {
+            Integer column = columns.get(itemName);
+            int row = rowOf(size);
+            if (column == null || row < 0) {
+                BufferedImage single = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+                draw(single, itemName, 0, 0, size);
+                return new ImageIcon(single);
+            }
+            return new ImageIcon(sheet.getSubimage(column * cellWidth(), rowOffset(row), size, size));
+        });
+    }
+
+    /**
+     * Returns the icon of an item at {@link #ICON_SIZE}.
+     *
+     * @param itemName the name of the item
+     * @return the shared icon
+     */
+    public ImageIcon getIcon(String itemName) {
+        return getIcon(itemName, ICON_SIZE);
+    }
+
+    /**
+     * Used to check whether the sheet was read from the disk cache instead of rendered.
+     *
+     * @return true if the cached sheet was valid
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+
+    /**
+     * Renders every item at every size into a new sheet.
+     */
+    private BufferedImage render() {
+        int height = Math.max(1, rowOffset(sizes.length));
+        BufferedImage image = new BufferedImage(Math.max(1, columns.size() * cellWidth()), height,
+            BufferedImage.TYPE_INT_ARGB);
+        for (Map.Entry<String, Integer> entry : columns.entrySet()) {
+            for (int row = 0; row < sizes.length; row++) {
+                draw(image, entry.getKey(), entry.getValue() * cellWidth(), rowOffset(row), sizes[row]);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Draws an item's image scaled into a square of the target. A missing image leaves the
+     * square transparent.
+     */
+    private static void draw(BufferedImage target, String itemName, int x, int y, int size) {
+        BufferedImage source = AssetCache.getImage(imagePath(itemName));
+        if (source == null) {
+            return;
+        }
+        Graphics2D g = target.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.drawImage(source, x, y, size, size, null);
+        g.dispose();
+    }
+
+    /**
+     * Returns the row a size is drawn in, or -1 if the atlas has no such size.
+     */
+    private int rowOf(int size) {
+        for (int row = 0; row < sizes.length; row++) {
+            if (sizes[row] == size) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the y coordinate of a row; rows are as high as their size.
+     */
+    private int rowOffset(int row) {
+        int offset = 0;
+        for (int i = 0; i < row; i++) {
+            offset += sizes[i];
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the width of a column, which fits the largest size.
+     */
+    private int cellWidth() {
+        int width = 0;
+        for (int size : sizes) {
+            width = Math.max(width, size);
+        }
+        return width;
+    }
+
+    /**
+     * Hashes everything the sheet is rendered from: the sizes, the item names in column
+     * order and the bytes of each item's image.
+     */
+    private String sourceHash() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (int size : sizes) {
+                digest.update((size + ",").getBytes(StandardCharsets.UTF_8));
+            }
+            for (String name : columns.keySet()) {
+                String path = imagePath(name);
+                digest.update((name + "=" + path + "\n").getBytes(StandardCharsets.UTF_8));
+                try {
+                    digest.update(Files.readAllBytes(Paths.get(path)));
+                } catch (IOException e) {
+                    digest.update((byte) 0); // Missing images are part of the hash too
+                }
+            }
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Reads the cached sheet if its hash matches and its dimensions fit the atlas.
+     */
+    private BufferedImage readCache(Path cacheFile, String hash) {
+        try {
+            if (!Files.isRegularFile(cacheFile)
+                || !hash.equals(Files.readString(hashFile(cacheFile), StandardCharsets.UTF_8).trim())) {
+                return null;
+            }
+            BufferedImage image = ImageIO.read(cacheFile.toFile());
+            if (image == null || image.getWidth() < columns.size() * cellWidth()
+                || image.getHeight() < rowOffset(sizes.length)) {
+                return null;
+            }
+            return image;
+        } catch (IOException e) {
+            return null; // No hash file yet, or an unreadable sheet: render it again
+        }
+    }
+
+    /**
+     * Saves the sheet and then its hash, so a sheet is never paired with a stale hash.
+     */
+    private void writeCache(Path cacheFile, String hash) {
+        try {
+            Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            ByteArrayOutputStream png = new ByteArrayOutputStream();
+            ImageIO.write(sheet, "png", png);
+            Files.deleteIfExists(hashFile(cacheFile));
+            AtomicSaveFile.replace(cacheFile, ByteBuffer.wrap(png.toByteArray()));
+            AtomicSaveFile.replace(hashFile(cacheFile), ByteBuffer.wrap(hash.getBytes(StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            System.err.println("Could not cache the item icon atlas: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Returns the file holding the hash of a cached sheet.
+     */
+    private static Path hashFile(Path cacheFile) {
+        return cacheFile.resolveSibling(cacheFile.getFileName() + ".sha256");
+    }
+}
@@ -1,7 +1,5 @@
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 
 /**
@@ -27,14 +25,7 @@ public class LoadGameGUI extends JFrame {
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
         // Load custom font or fallback to Arial
-        try {
-            customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(24f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-            customFont = new Font("Arial", Font.BOLD, 24);
-        }
+        customFont = FontRegistry.getFont(24f, new Font("Arial", Font.BOLD, 24));
 
         // Create the main panel and clock label
         UIPanelBuilder builder = new UIPanelBuilder();
@@ -54,7 +45,7 @@ public class LoadGameGUI extends JFrame {
         centerPanel.setOpaque(false);
 
         // Add top banner
-        JLabel topBanner = new JLabel(new ImageIcon("assets/select_game.png"));
+        JLabel topBanner = new JLabel(AssetCache.getIcon("assets/select_game.png"));
         topBanner.setAlignmentX(Component.CENTER_ALIGNMENT);
         centerPanel.add(Box.createVerticalStrut(20));
         centerPanel.add(topBanner);
@@ -100,7 +91,7 @@ public class LoadGameGUI extends JFrame {
         panel.setOpaque(false);
 
         // Configure the button
-        button.setIcon(new ImageIcon(imagePath));
+        button.setIcon(AssetCache.getIcon(imagePath));
         button.setBounds(0, 0, 400, 80);
         button.setContentAreaFilled(false);
         button.setBorderPainted(false);
@@ -119,6 +110,7 @@ public class LoadGameGUI extends JFrame {
         // Add action listener to the button
         button.addActionListener(e-> {
             Player player = new Player(saveFile);
+            awayCalculator.applyAwayDecay(player); // Drain the pet for the time spent away
             ArrayList<String> awayStories = awayCalculator.generateStories(player);
 
             StringBuilder message = new StringBuilder();
@@ -130,7 +122,7 @@ public class LoadGameGUI extends JFrame {
                 "While You Were Away...", JOptionPane.INFORMATION_MESSAGE);
 
             dispose();
-            new PetGUI(player, saveFile); // Opens your game's GUI after loading
+            GameContext.start(player, saveFile).showPetScreen(); // Opens your game's GUI after loading
         });
 
         return panel;
@@ -144,7 +136,7 @@ public class LoadGameGUI extends JFrame {
      * @return A JButton configured with the image and action.
      */
     private JButton imageButton(String imagePath, Runnable onClick) {
-        JButton button = new JButton(new ImageIcon(imagePath));
+        JButton button = new JButton(AssetCache.getIcon(imagePath));
         button.setContentAreaFilled(false);
         button.setBorderPainted(false);
         button.setFocusPainted(false);
@@ -165,7 +157,7 @@ public class LoadGameGUI extends JFrame {
          * @param imagePath The path to the background image.
          */
         public ImagePanel(String imagePath) {
-            backgroundImage = new ImageIcon(imagePath).getImage();
+            backgroundImage = AssetCache.getIcon(imagePath).getImage();
             setOpaque(false);
         }
 
@@ -18,7 +18,7 @@ public class Main {
      *   <li>Initializes the parental statistics model.</li>
      *   <li>Checks the parental settings to determine if playing is allowed.</li>
      *   <li>If not allowed, displays a time limit popup and exits the application.</li>
-     *   <li>If allowed, starts the main menu GUI on the Event Dispatch Thread.</li>
+     *   <li>If allowed, starts preloading the game's images in the background and the main menu GUI on the Event Dispatch Thread.</li>
      *   <li>Adds a shutdown hook to end the session and record statistics upon termination.</li>
      * </ul>
      *
@@ -32,6 +32,8 @@ public class Main {
             System.exit(0);
         }
 
+        AssetPreloader.start(null); // Decode images off the EDT; each decode is recorded in GameMetrics
+
         SwingUtilities.invokeLater(MainMenuGUI::new);  // Launch the main menu GUI 
 
         Runtime.getRuntime().addShutdownHook(new Thread(() -> statsModel.endSession()));
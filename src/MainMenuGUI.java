@@ -2,9 +2,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.*;
-import java.io.File;
-import java.io.IOException;
-import javax.imageio.ImageIO;
 
 /**
  * Represents the main menu GUI for the game "Duck Duck Goose".
@@ -28,13 +25,7 @@ public class MainMenuGUI extends JFrame {
         setResizable(false);
 
         // Load and register the custom font
-        try {
-            this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(16f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-        }
+        this.customFont = FontRegistry.getFont(16f);
 
         // Set up the UI background and layout
         UIPanelBuilder builder = new UIPanelBuilder();
@@ -55,7 +46,7 @@ public class MainMenuGUI extends JFrame {
         verticalPanel.setBorder(BorderFactory.createEmptyBorder(0, 0, 50, 0)); // Add padding
 
         // Add the title image
-        JLabel titleImage = new JLabel(new ImageIcon("assets/main_title.png"));
+        JLabel titleImage = new JLabel(AssetCache.getIcon("assets/main_title.png"));
         titleImage.setAlignmentX(Component.CENTER_ALIGNMENT);
         verticalPanel.add(titleImage);
         verticalPanel.add(Box.createRigidArea(new Dimension(0, 0))); // Add spacing
@@ -97,8 +88,8 @@ public class MainMenuGUI extends JFrame {
      */
     private void addMenuButton(JPanel panel, String imagePath, Runnable action) {
         try {
-            BufferedImage baseImg = ImageIO.read(new File(imagePath)); // Load the button image
-            ImageIcon normalIcon = new ImageIcon(baseImg); // Normal state icon
+            BufferedImage baseImg = AssetCache.getImage(imagePath); // Load the button image
+            ImageIcon normalIcon = AssetCache.getIcon(imagePath); // Normal state icon
             ImageIcon hoverIcon = new ImageIcon(applyBrightness(baseImg, 1.2f)); // Hover state icon
 
             JLabel buttonLabel = new JLabel(normalIcon); // Create a label for the button
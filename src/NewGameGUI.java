@@ -2,7 +2,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.*;
-import javax.imageio.ImageIO;
 /**
  * NewGameGUI is the graphical user interface that allows the player to start a new game
  * by choosing a pet (Baby Duck, Duck, or Goose), naming it, and initializing the game.
@@ -23,15 +22,7 @@ public class NewGameGUI extends JFrame {
     setResizable(false);
 
     // Load custom font (same as MainMenuGUI)
-    try {
-      this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf"))
-          .deriveFont(16f);
-      GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-      ge.registerFont(customFont);
-    } catch (IOException | FontFormatException e) {
-      e.printStackTrace();
-      customFont = new Font("Serif", Font.BOLD, 36);
-    }
+    this.customFont = FontRegistry.getFont(16f, new Font("Serif", Font.BOLD, 36));
 
     // Set up UI background using UIPanelBuilder.
     UIPanelBuilder builder = new UIPanelBuilder();
@@ -102,7 +93,7 @@ public class NewGameGUI extends JFrame {
     bottomPanel.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
     // Select Button 
-    ImageIcon selectIcon = new ImageIcon("assets/Frame 2.png");
+    ImageIcon selectIcon = AssetCache.getIcon("assets/Frame 2.png");
     Image scaledSelect = selectIcon.getImage().getScaledInstance(300, 50, Image.SCALE_SMOOTH);
     JButton selectButton = new JButton(new ImageIcon(scaledSelect));
     selectButton.setContentAreaFilled(false);
@@ -150,11 +141,7 @@ public class NewGameGUI extends JFrame {
      * @param imagePath Path to the image file.
      */
     public ImagePanel(String imagePath) {
-      try {
-        backgroundImage = ImageIO.read(new File(imagePath));
-      } catch (Exception e) {
-        e.printStackTrace();
-      }
+      backgroundImage = AssetCache.getImage(imagePath); // Shared with every screen using the same background
       setOpaque(false);
     }
 
@@ -191,7 +178,7 @@ public class NewGameGUI extends JFrame {
       setOpaque(false); // Make the entire panel transparent
 
       // Center image of pet
-      ImageIcon petIcon = new ImageIcon(petImagePath);
+      ImageIcon petIcon = AssetCache.getIcon(petImagePath);
       Image scaledPetImage = petIcon.getImage().getScaledInstance(150, 150, Image.SCALE_SMOOTH);
       JLabel petImageLabel = new JLabel(new ImageIcon(scaledPetImage));
       petImageLabel.setHorizontalAlignment(SwingConstants.CENTER);
@@ -262,11 +249,7 @@ public class NewGameGUI extends JFrame {
 
       public InfoPanel() {
         // Load the rectangle image background.
-        try {
-          rectangleImage = ImageIO.read(new File("assets/Rectangle.png"));
-        } catch (Exception e) {
-          e.printStackTrace();
-        }
+        rectangleImage = AssetCache.getImage("assets/Rectangle.png");
         setLayout(new BorderLayout());
         setOpaque(false);
 
@@ -282,7 +265,7 @@ public class NewGameGUI extends JFrame {
 
         // Description label for the pet description; supports HTML formatting.
         descriptionLabel = new JLabel(petDescription);
-        descriptionLabel.setFont(customFont.deriveFont(16f));
+        descriptionLabel.setFont(FontRegistry.derive(customFont, 16f));
         descriptionLabel.setForeground(Color.BLACK);
         descriptionLabel.setHorizontalAlignment(SwingConstants.CENTER);
         descriptionLabel.setVerticalAlignment(SwingConstants.TOP);
@@ -331,7 +314,7 @@ public class NewGameGUI extends JFrame {
 
       // Background panel.
       JPanel bgPanel = new JPanel() {
-        Image bgImage = new ImageIcon("assets/popupBG.png").getImage();
+        Image bgImage = AssetCache.getIcon("assets/popupBG.png").getImage();
 
         @Override
         protected void paintComponent(Graphics g) {
@@ -344,7 +327,7 @@ public class NewGameGUI extends JFrame {
 
       // Title label.
       JLabel titleLabel = new JLabel("Name your pet");
-      titleLabel.setFont(customFont.deriveFont(24f));
+      titleLabel.setFont(FontRegistry.derive(customFont, 24f));
       titleLabel.setBounds(100, 10, 200, 30);
       titleLabel.setForeground(Color.BLACK);
       titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
@@ -352,19 +335,19 @@ public class NewGameGUI extends JFrame {
 
       // Prompt label.
       JLabel promptLabel = new JLabel("Enter name:");
-      promptLabel.setFont(customFont.deriveFont(16f));
+      promptLabel.setFont(FontRegistry.derive(customFont, 16f));
       promptLabel.setBounds(80, 50, 250, 30);
       promptLabel.setForeground(Color.BLACK);
       bgPanel.add(promptLabel);
 
       // Name field.
       nameField = new JTextField();
-      nameField.setFont(customFont.deriveFont(16f));
+      nameField.setFont(FontRegistry.derive(customFont, 16f));
       nameField.setBounds(80, 80, 240, 30);
       bgPanel.add(nameField);
 
       // Confirm button.
-      ImageIcon rawConfirmIcon = new ImageIcon("assets/confirm.png");
+      ImageIcon rawConfirmIcon = AssetCache.getIcon("assets/confirm.png");
       Image scaledConfirm = rawConfirmIcon.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
       JButton confirmBtn = new JButton(new ImageIcon(scaledConfirm));
       confirmBtn.setBounds(110, 130, 40, 40);
@@ -388,7 +371,7 @@ public class NewGameGUI extends JFrame {
       bgPanel.add(confirmBtn);
 
       // Cancel button.
-      ImageIcon rawCancelIcon = new ImageIcon("assets/cancel.png");
+      ImageIcon rawCancelIcon = AssetCache.getIcon("assets/cancel.png");
       Image scaledCancel = rawCancelIcon.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
       JButton cancelBtn = new JButton(new ImageIcon(scaledCancel));
       cancelBtn.setBounds(230, 130, 40, 40);
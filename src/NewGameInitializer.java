@@ -1,5 +1,4 @@
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
@@ -64,7 +63,7 @@ public class NewGameInitializer {
         Player player = new Player("temp");
         
         // Launch the PetGUI with the new player.
-        new PetGUI(player, "temp");
+        GameContext.start(player, "temp").showPetScreen();
     }
 
     /**
@@ -75,15 +74,15 @@ public class NewGameInitializer {
      * @return true if save succeeds; false otherwise.
      */
     private static boolean savePetData(Pet pet, String petSavePath) {
-        try (FileWriter writer = new FileWriter(petSavePath)) {
+        try {
             // Write header.
-            writer.write("name,type,state,fullness,energy,health,love,happiness,score,current time\n");
+            String header = "name,type,state,fullness,energy,health,love,happiness,score,current time\n";
             // Write pet data (starting with state "normal", score 0, and time "00:00").
             String data = pet.getName() + "," + pet.getTypeString() + "," + "normal" + "," +
                         pet.getFullness() + "," + pet.getSleep() + "," +
                         pet.getHealth() + "," + pet.getLove() + "," +
                         pet.getHappiness() + "," + "0" + "," + "00:00";
-            writer.write(data); // Write the pet's initial state
+            AtomicSaveFile.write(petSavePath, header + data); // Write the pet's initial state
             return true;
         } catch (IOException e) {
             e.printStackTrace();
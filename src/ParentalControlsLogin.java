@@ -2,11 +2,8 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.awt.image.*;
-import java.io.File;
-import java.io.IOException;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import javax.imageio.ImageIO;
 
 /**
  * ParentalControlsLogin is a GUI class that provides a login screen for accessing parental controls.
@@ -31,13 +28,7 @@ public class ParentalControlsLogin extends JFrame {
         setResizable(false);
 
         // Load custom font
-        try {
-            this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(16f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-        }
+        this.customFont = FontRegistry.getFont(16f);
 
         // Set up the main panel with a background image
         JPanel mainPanel = new ImagePanel("assets/background.png");
@@ -50,7 +41,7 @@ public class ParentalControlsLogin extends JFrame {
         topBar.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Home button to return to the main menu
-        ImageIcon rawIcon = new ImageIcon("assets/home.png");
+        ImageIcon rawIcon = AssetCache.getIcon("assets/home.png");
         Image scaled = rawIcon.getImage().getScaledInstance(32, 32, Image.SCALE_SMOOTH);
         JButton homeButton = new JButton(new ImageIcon(scaled));
         homeButton.setContentAreaFilled(false);
@@ -76,8 +67,7 @@ public class ParentalControlsLogin extends JFrame {
 
         try {
             // Password input field with a styled background
-            BufferedImage loginImage = ImageIO.read(new File("assets/password.png"));
-            ImageIcon loginIcon = new ImageIcon(loginImage);
+            ImageIcon loginIcon = AssetCache.getIcon("assets/password.png");
             JLabel backgroundLabel = new JLabel(loginIcon);
             backgroundLabel.setLayout(new BoxLayout(backgroundLabel, BoxLayout.Y_AXIS));
             backgroundLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
@@ -101,8 +91,8 @@ public class ParentalControlsLogin extends JFrame {
             loginWrapper.add(Box.createVerticalStrut(20));
 
             // Login button with hover effect
-            BufferedImage loginImg = ImageIO.read(new File("assets/login.png"));
-            ImageIcon loginButtonIcon = new ImageIcon(loginImg);
+            BufferedImage loginImg = AssetCache.getImage("assets/login.png");
+            ImageIcon loginButtonIcon = AssetCache.getIcon("assets/login.png");
             ImageIcon hoverIcon = new ImageIcon(applyBrightness(loginImg, 1.2f));
 
             JLabel loginButton = new JLabel(loginButtonIcon);
@@ -229,11 +219,7 @@ public class ParentalControlsLogin extends JFrame {
          * @param imagePath The path to the background image.
          */
         public ImagePanel(String imagePath) {
-            try {
-                backgroundImage = ImageIO.read(new File(imagePath));
-            } catch (Exception e) {
-                e.printStackTrace();
-            }
+            backgroundImage = AssetCache.getImage(imagePath); // Shared with every screen using the same background
             setOpaque(false);
         }
 
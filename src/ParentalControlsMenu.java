@@ -1,7 +1,5 @@
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
 
 /**
  * GUI class for the Parental Controls Menu in the Duck Duck Goose application.
@@ -25,14 +23,7 @@ public class ParentalControlsMenu extends JFrame {
         setResizable(false);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
 
-        try {
-            // Load and register the custom font
-            this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(16f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-        }
+        this.customFont = FontRegistry.getFont(16f);
 
         // Set up the UI background and layout
         UIPanelBuilder builder = new UIPanelBuilder();
@@ -81,7 +72,7 @@ public class ParentalControlsMenu extends JFrame {
      * @param action    The action to be performed when the button is clicked.
      */
     private void addImageButton(JPanel panel, String assetPath, Runnable action) {
-        ImageIcon icon = new ImageIcon(assetPath);
+        ImageIcon icon = AssetCache.getIcon(assetPath);
         JButton button = new JButton(icon);
         button.setContentAreaFilled(false);
         button.setBorderPainted(false);
@@ -162,7 +153,7 @@ public class ParentalControlsMenu extends JFrame {
          * @param imagePath The file path of the background image.
          */
         public FieldBackgroundPanel(String imagePath) {
-            this.backgroundImage = new ImageIcon(imagePath).getImage();
+            this.backgroundImage = AssetCache.getIcon(imagePath).getImage();
         }
 
         @Override
@@ -185,7 +176,7 @@ public class ParentalControlsMenu extends JFrame {
          * @param imagePath The file path of the bar image.
          */
         public BarPanel(String imagePath) {
-            this.barImage = new ImageIcon(imagePath).getImage();
+            this.barImage = AssetCache.getIcon(imagePath).getImage();
         }
 
         @Override
@@ -1,8 +1,6 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.ActionEvent;
-import java.io.File;
-import java.io.IOException;
 import java.util.Date;
 
 //This GUI class was created using ChatGPT
@@ -16,13 +14,7 @@ public class ParentalLimitations extends JPanel {
     private ParentalSettings settings;
     
     public ParentalLimitations() {
-        try {
-            this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(16f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-        }
+        this.customFont = FontRegistry.getFont(16f);
         
         settings = new ParentalSettings();
         
@@ -32,7 +24,7 @@ public class ParentalLimitations extends JPanel {
         gbc.anchor = GridBagConstraints.WEST;
         
         enableRestrictionsCheckBox = new JCheckBox("Enable Parental Limitations");
-        enableRestrictionsCheckBox.setFont(customFont.deriveFont(50f));
+        enableRestrictionsCheckBox.setFont(FontRegistry.derive(customFont, 50f));
         enableRestrictionsCheckBox.setSelected(settings.isEnabled());
         
         SpinnerDateModel startModel = new SpinnerDateModel();
@@ -50,7 +42,7 @@ public class ParentalLimitations extends JPanel {
         endTimeSpinner.setValue(settings.getEndTime());
         
         saveButton = new JButton("Save Settings");
-        saveButton.setFont(customFont.deriveFont(22f));
+        saveButton.setFont(FontRegistry.derive(customFont, 22f));
         saveButton.setPreferredSize(new Dimension(300, 70));
         
         gbc.gridx = 0; gbc.gridy = 0; gbc.gridwidth = 2;
@@ -84,7 +76,7 @@ public class ParentalLimitations extends JPanel {
     
     public static void showTimeLimitPopup(Component parent) {
         JPanel panel = new JPanel() {
-            private final Image bgImage = new ImageIcon("assets/time_limit.png").getImage();
+            private final Image bgImage = AssetCache.getIcon("assets/time_limit.png").getImage();
             @Override
             protected void paintComponent(Graphics g) {
                 super.paintComponent(g);
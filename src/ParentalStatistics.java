@@ -1,7 +1,5 @@
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
 import java.util.*;
 import java.util.List;
 
@@ -35,14 +33,7 @@ public class ParentalStatistics extends JPanel {
      * @param model The model containing the statistics data.
      */
     public ParentalStatistics(ParentalStatisticsModel model) {
-        try {
-            // Load and register custom font
-            this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(16f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-        }
+        this.customFont = FontRegistry.getFont(16f);
 
         this.model = model;
         setLayout(new BorderLayout());
@@ -53,7 +44,7 @@ public class ParentalStatistics extends JPanel {
         headerPanel.setBackground(new Color(255, 195, 113));
         headerPanel.setLayout(new BoxLayout(headerPanel, BoxLayout.Y_AXIS));
         JLabel titleLabel = new JLabel("Parental Statistics", SwingConstants.CENTER);
-        titleLabel.setFont(customFont.deriveFont(28f));
+        titleLabel.setFont(FontRegistry.derive(customFont, 28f));
         titleLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
         headerPanel.add(titleLabel);
         add(headerPanel, BorderLayout.NORTH);
@@ -75,7 +66,7 @@ public class ParentalStatistics extends JPanel {
         gbc.gridx = 1;
         gbc.gridy = 0;
         totalPlayTimeLabel = new JLabel();
-        totalPlayTimeLabel.setFont(customFont.deriveFont(14f));
+        totalPlayTimeLabel.setFont(FontRegistry.derive(customFont, 14f));
         contentPanel.add(totalPlayTimeLabel, gbc);
 
         // Add circular time display
@@ -95,7 +86,7 @@ public class ParentalStatistics extends JPanel {
         contentPanel.add(new JLabel("Average play time:"), gbc);
         gbc.gridx = 1;
         averageSessionLabel = new JLabel();
-        averageSessionLabel.setFont(customFont.deriveFont(14.0F));
+        averageSessionLabel.setFont(FontRegistry.derive(customFont, 14.0F));
         contentPanel.add(averageSessionLabel, gbc);
 
         // Add daily totals section
@@ -109,7 +100,7 @@ public class ParentalStatistics extends JPanel {
         gbc.fill = GridBagConstraints.BOTH;
         dailyTotalsTextArea = new JTextArea(8, 25);
         dailyTotalsTextArea.setEditable(false);
-        dailyTotalsTextArea.setFont(customFont.deriveFont(14f));
+        dailyTotalsTextArea.setFont(FontRegistry.derive(customFont, 14f));
         dailyTotalsScrollPane = new JScrollPane(dailyTotalsTextArea);
         contentPanel.add(dailyTotalsScrollPane, gbc);
         gbc.fill = GridBagConstraints.HORIZONTAL;
@@ -119,7 +110,7 @@ public class ParentalStatistics extends JPanel {
         gbc.gridx = 0;
         gbc.gridy = 5;
         gbc.gridwidth = 2;
-        ImageIcon icon = new ImageIcon("ResetStatistics.png");
+        ImageIcon icon = AssetCache.getIcon("ResetStatistics.png");
         if (icon.getIconWidth() == -1) {
             // Fallback: show text button
             resetButton = new JButton("Reset Statistics");
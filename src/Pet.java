@@ -1,34 +1,75 @@
 // Our Pet class, stores all the vital statistics of our pet
 
-import java.io.File;
-import java.util.Scanner;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
-import java.time.LocalTime;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongUnaryOperator;
 
 /**
  * Pet is a class that stores all the vital statistics of our pet
- * It also tracks cooldowns and the success of recent commands executed upon it
+ * It also tracks cooldowns and the success of recent commands executed upon it;
+ * the cooldowns themselves are kept by the {@link CooldownManager} under the
+ * pet's id
+ * <p>
+ * The five statistics are packed into a single {@link AtomicLong}, 12 signed bits each,
+ * and every change is a compare-and-set of the whole word. The stat drain, the sleep and
+ * exercise timers and the buttons on the Event Dispatch Thread can therefore change the
+ * same pet at once without losing updates. Values saturate at {@link #STAT_MIN} and
+ * {@link #STAT_MAX} instead of overflowing into their neighbours.
+ * </p>
  *
  * @author Samuel Joseph Humphrey (shumph3)
  */
 public class Pet {
+  /** The lowest value a statistic can hold */
+  public static final int STAT_MIN = -2048;
+  /** The highest value a statistic can hold */
+  public static final int STAT_MAX = 2047;
+
+  /**
+   * The vital statistics, in the order they are packed (lowest bits first)
+   */
+  public enum Stat {
+    HEALTH, FULLNESS, SLEEP, HAPPINESS, LOVE;
+
+    private final int shift = ordinal() * STAT_BITS;
+
+    /**
+     * Used to get the bit of a change mask that is set when this statistic changed
+     *
+     * @return the bit
+     */
+    public int mask() {
+      return 1 << ordinal();
+    }
+  }
+
+  /** The bit of a change mask that is set when the state changed */
+  public static final int STATE_CHANGED = 1 << 5;
+  /** A change mask with every statistic and the state set */
+  public static final int ALL_CHANGED = (STATE_CHANGED << 1) - 1;
+
+  private static final int STAT_BITS = 12;
+  private static final long STAT_MASK = (1L << STAT_BITS) - 1;
+  private static final AtomicInteger nextId = new AtomicInteger();
+
   // Instance variables
-  private boolean recentCommand;
-  private int health;
-  private int fullness;
-  private int sleep;
-  private int happiness;
-  private int love;
+  private volatile boolean recentCommand;
+  private final AtomicLong stats = new AtomicLong(); // Health, fullness, sleep, happiness and love
   private String typeString;
   private petType pet;
   private String petName;
-  private String status;
-  private Map<String, LocalTime> cooldowns = new HashMap<>(); // Track cooldown times for commands.
-  private boolean temporaryStateActive = false;
+  private volatile String status;
+  private volatile PetState petState = PetState.OTHER;
+  private final AtomicInteger changes = new AtomicInteger(ALL_CHANGED); // Everything is new to the first reader
+  private final List<PetChangeEvent.Listener> listeners = new CopyOnWriteArrayList<>();
+  private final int id = nextId.incrementAndGet(); // Keys this pet's cooldowns in the CooldownManager
+  private volatile boolean temporaryStateActive = false;
+  private volatile long temporaryStateEnd; // On the GameClock the state was set with
+  private volatile GameClock temporaryStateClock = GameClock.SYSTEM;
 
   /**
    * Constructs a Pet object with default (full) statistics
@@ -40,16 +81,51 @@ public class Pet {
   public Pet(String typeString, String petName) {
     this.typeString = typeString;
     this.petName = petName;
-    this.pet = new petType(typeString);
-    this.health = pet.getMaxHealth();
-    this.fullness = pet.getMaxFullness();
-    this.sleep = pet.getMaxSleep();
-    this.happiness = pet.getMaxHappiness();
-    this.love = pet.getMaxLove();
-    this.status = "normal";
+    this.pet = PetTypeRegistry.getShared().get(typeString);
+    this.stats.set(pack(pet.getMaxHealth(), pet.getMaxFullness(), pet.getMaxSleep(), pet.getMaxHappiness(),
+        pet.getMaxLove()));
+    initState(PetState.NORMAL.getLabel());
 
   }
 
+  /**
+   * Constructs a Pet object with default (full) statistics for an existing petType,
+   * used by subclasses that should not allocate their own petType
+   *
+   * @param type    the petType shared by this pet
+   * @param petName A string storing the name of the pet
+   */
+  protected Pet(petType type, String petName) {
+    this.typeString = type.getType();
+    this.petName = petName;
+    this.pet = type;
+    this.stats.set(pack(type.getMaxHealth(), type.getMaxFullness(), type.getMaxSleep(), type.getMaxHappiness(),
+        type.getMaxLove()));
+    initState(PetState.NORMAL.getLabel());
+  }
+
+  /**
+   * Constructs a Pet object with the given state and statistics, used when a save has
+   * already been decoded (e.g. by {@link BinarySaveCodec})
+   *
+   * @param petName    A string storing the name of the pet
+   * @param typeString A string storing the type of the pet
+   * @param state      A string storing the state of the pet
+   * @param fullness   the pet's fullness
+   * @param sleep      the pet's sleep
+   * @param health     the pet's health
+   * @param love       the pet's love
+   * @param happiness  the pet's happiness
+   */
+  public Pet(String petName, String typeString, String state, int fullness, int sleep, int health, int love,
+      int happiness) {
+    this.petName = petName;
+    this.typeString = typeString;
+    this.pet = PetTypeRegistry.getShared().get(typeString);
+    initState(state);
+    this.stats.set(pack(health, fullness, sleep, happiness, love));
+  }
+
   /**
    * Constructs a Pet object from a save file
    *
@@ -58,21 +134,17 @@ public class Pet {
 
   public Pet(String saveFile) {
     String saveFilePath = "src/model/saveFiles/" + saveFile + "/" + saveFile + "_pet.csv";
-    try (Scanner sc = new Scanner(new File(saveFilePath))) {
-      if (sc.hasNextLine())
-        sc.nextLine(); // skip header
-      if (sc.hasNextLine()) {
-        String[] data = sc.nextLine().split(",");
+    try {
+      List<String> lines = AtomicSaveFile.readLines(saveFilePath);
+      if (lines.size() > 1) {
+        String[] data = lines.get(1).split(","); // skip header
         this.petName = data[0].trim();
         System.out.println(data[1]);
         this.typeString = data[1].trim();
-        this.status = data[2].trim();
-        this.fullness = Integer.parseInt(data[3].trim());
-        this.sleep = Integer.parseInt(data[4].trim());
-        this.health = Integer.parseInt(data[5].trim());
-        this.love = Integer.parseInt(data[6].trim());
-        this.happiness = Integer.parseInt(data[7].trim());
-        this.pet = new petType(this.typeString);
+        initState(data[2].trim());
+        this.stats.set(pack(Integer.parseInt(data[5].trim()), Integer.parseInt(data[3].trim()),
+            Integer.parseInt(data[4].trim()), Integer.parseInt(data[7].trim()), Integer.parseInt(data[6].trim())));
+        this.pet = PetTypeRegistry.getShared().get(this.typeString);
       }
     } catch (Exception e) {
       e.printStackTrace();
@@ -94,8 +166,7 @@ public class Pet {
    * @param value an integer storing the new value
    */
   public void setHealth(int value) {
-    this.health = value;
-
+    setStat(Stat.HEALTH, value);
   }
 
   /**
@@ -104,8 +175,7 @@ public class Pet {
    * @param value an integer storing the new value
    */
   public void setFullness(int value) {
-    this.fullness = value;
-
+    setStat(Stat.FULLNESS, value);
   }
 
   /**
@@ -114,8 +184,7 @@ public class Pet {
    * @param value an integer storing the new value
    */
   public void setSleep(int value) {
-    this.sleep = value;
-
+    setStat(Stat.SLEEP, value);
   }
 
   /**
@@ -124,8 +193,7 @@ public class Pet {
    * @param value an integer storing the new value
    */
   public void setHappiness(int value) {
-    this.happiness = value;
-
+    setStat(Stat.HAPPINESS, value);
   }
 
   /**
@@ -134,7 +202,7 @@ public class Pet {
    * @param value an integer storing the new value
    */
   public void setLove(int value) {
-    this.love = value;
+    setStat(Stat.LOVE, value);
   }
 
   /**
@@ -143,8 +211,7 @@ public class Pet {
    * @param amount an integer storing the increment
    */
   public void changeHealth(int amount) {
-    this.health += amount;
-
+    addStat(Stat.HEALTH, amount, STAT_MIN, STAT_MAX);
   }
 
   /**
@@ -153,8 +220,7 @@ public class Pet {
    * @param amount an integer storing the increment
    */
   public void changeFullness(int amount) {
-    this.fullness += amount;
-
+    addStat(Stat.FULLNESS, amount, STAT_MIN, STAT_MAX);
   }
 
   /**
@@ -163,8 +229,7 @@ public class Pet {
    * @param amount an integer storing the increment
    */
   public void changeSleep(int amount) {
-    this.sleep += amount;
-
+    addStat(Stat.SLEEP, amount, STAT_MIN, STAT_MAX);
   }
 
   /**
@@ -173,8 +238,7 @@ public class Pet {
    * @param amount an integer storing the increment
    */
   public void changeHappiness(int amount) {
-    this.happiness += amount;
-
+    addStat(Stat.HAPPINESS, amount, STAT_MIN, STAT_MAX);
   }
 
   /**
@@ -183,20 +247,229 @@ public class Pet {
    * @param amount an integer storing the increment
    */
   public void changeLove(int amount) {
-    this.love += amount;
+    addStat(Stat.LOVE, amount, STAT_MIN, STAT_MAX);
+  }
+
+  /**
+   * Used to get all five statistics at once, packed as by {@link #pack(int, int, int, int, int)}.
+   * Reading them together gives a consistent snapshot even while other threads change them.
+   *
+   * @return the packed statistics
+   */
+  public long getStats() {
+    return stats.get();
+  }
 
+  /**
+   * Used to change any of the statistics as one atomic step. The update is applied to the
+   * current packed statistics with compare-and-set, and is retried if another thread changed
+   * them in between, so it must not have side effects.
+   *
+   * @param update a function from the current packed statistics to the new ones
+   * @return the new packed statistics
+   */
+  public long updateStats(LongUnaryOperator update) {
+    long before;
+    long after;
+    do {
+      before = stats.get();
+      after = update.applyAsLong(before);
+    } while (!stats.compareAndSet(before, after));
+    if (before != after) {
+      markChanged(changedStats(before, after));
+    }
+    return after;
+  }
+
+  /**
+   * Used to take the changes made to this pet since the last call: one bit per
+   * statistic ({@link Stat#mask()}) and {@link #STATE_CHANGED}. A screen that
+   * takes them only has to redraw what changed; a new pet reports
+   * {@link #ALL_CHANGED}.
+   *
+   * @return the change mask, 0 if nothing changed
+   */
+  public int takeChanges() {
+    return changes.getAndSet(0);
+  }
+
+  /**
+   * Used to add changes to the mask returned by {@link #takeChanges()}
+   *
+   * @param mask the bits of the changed statistics and state
+   */
+  protected void markChanged(int mask) {
+    changes.getAndUpdate(current -> current | mask);
+    if (!listeners.isEmpty()) {
+      PetChangeDispatcher.getShared().changed(this);
+    }
+  }
+
+  /**
+   * Used to listen for changes to this pet. Changes are coalesced by the
+   * {@link PetChangeDispatcher} and delivered on the Event Dispatch Thread. While
+   * a pet has listeners they take its changes, so {@link #takeChanges()} should
+   * not be called as well
+   *
+   * @param listener the listener to add
+   */
+  public void addChangeListener(PetChangeEvent.Listener listener) {
+    listeners.add(listener);
+  }
+
+  /**
+   * Used to stop listening for changes to this pet
+   *
+   * @param listener the listener to remove
+   */
+  public void removeChangeListener(PetChangeEvent.Listener listener) {
+    listeners.remove(listener);
+  }
+
+  /**
+   * Used by the {@link PetChangeDispatcher} to give every listener an event
+   *
+   * @param event what changed
+   */
+  void fireChanged(PetChangeEvent event) {
+    for (PetChangeEvent.Listener listener : listeners) {
+      listener.petChanged(event);
+    }
+  }
+
+  /**
+   * Compares two packed statistics.
+   *
+   * @param before the earlier packed statistics
+   * @param after  the later packed statistics
+   * @return a change mask with the bit of every statistic that differs
+   */
+  public static int changedStats(long before, long after) {
+    long diff = before ^ after;
+    int mask = 0;
+    for (int i = 0; diff != 0; i++, diff >>>= STAT_BITS) {
+      if ((diff & STAT_MASK) != 0) {
+        mask |= 1 << i;
+      }
+    }
+    return mask;
+  }
+
+  /**
+   * Used to set one statistic atomically
+   *
+   * @param stat  the statistic to set
+   * @param value the new value, saturated to the packed range
+   */
+  public void setStat(Stat stat, int value) {
+    updateStats(packed -> withStat(packed, stat, value));
+  }
+
+  /**
+   * Used to add to one statistic atomically, keeping the result within bounds. A value
+   * that is already outside the bounds is brought back within them.
+   *
+   * @param stat   the statistic to change
+   * @param amount the amount to add (negative to drain)
+   * @param min    the lowest allowed result
+   * @param max    the highest allowed result
+   * @return the new value of the statistic
+   */
+  public int addStat(Stat stat, int amount, int min, int max) {
+    long packed = updateStats(p -> withStat(p, stat, clamp((long) stat(p, stat) + amount, min, max)));
+    return stat(packed, stat);
+  }
+
+  /**
+   * Packs five statistics into one word, saturating each to the packed range.
+   *
+   * @param health    the health
+   * @param fullness  the fullness
+   * @param sleep     the sleep
+   * @param happiness the happiness
+   * @param love      the love
+   * @return the packed statistics
+   */
+  public static long pack(int health, int fullness, int sleep, int happiness, int love) {
+    long packed = withStat(0L, Stat.HEALTH, health);
+    packed = withStat(packed, Stat.FULLNESS, fullness);
+    packed = withStat(packed, Stat.SLEEP, sleep);
+    packed = withStat(packed, Stat.HAPPINESS, happiness);
+    return withStat(packed, Stat.LOVE, love);
+  }
+
+  /**
+   * Reads one statistic from packed statistics.
+   *
+   * @param packed the packed statistics
+   * @param stat   the statistic to read
+   * @return its value
+   */
+  public static int stat(long packed, Stat stat) {
+    return (int) (packed << (64 - STAT_BITS - stat.shift) >> (64 - STAT_BITS)); // Sign-extend the field
+  }
+
+  /**
+   * Replaces one statistic in packed statistics.
+   *
+   * @param packed the packed statistics
+   * @param stat   the statistic to replace
+   * @param value  the new value, saturated to the packed range
+   * @return the new packed statistics
+   */
+  public static long withStat(long packed, Stat stat, long value) {
+    long field = clamp(value, STAT_MIN, STAT_MAX) & STAT_MASK;
+    return (packed & ~(STAT_MASK << stat.shift)) | (field << stat.shift);
+  }
+
+  /**
+   * Used to limit a value to a range
+   */
+  private static int clamp(long value, int min, int max) {
+    return (int) Math.max(Math.max(min, STAT_MIN), Math.min(Math.min(max, STAT_MAX), value));
   }
 
   /**
    * Used to set the state
    *
-   * @param state a string storing the new state
+   * @param state a string storing the new state; labels the game does not know are kept
+   *              as they are, as {@link PetState#OTHER}
    */
   public void setState(String state) {
+    PetState known = PetState.fromLabel(state);
+    if (known != petState || !Objects.equals(state, status)) {
+      markChanged(STATE_CHANGED);
+    }
     this.status = state;
+    this.petState = known;
 
   }
 
+  /**
+   * Used to set the state
+   *
+   * @param state the new state
+   * @throws IllegalArgumentException if the state is {@link PetState#OTHER}, which has no label
+   */
+  public void setState(PetState state) {
+    if (state == PetState.OTHER) {
+      throw new IllegalArgumentException("Use setState(String) for custom states");
+    }
+    if (state != petState) {
+      markChanged(STATE_CHANGED);
+    }
+    this.status = state.getLabel();
+    this.petState = state;
+  }
+
+  /**
+   * Used by the constructors to set the state without calling an overridable method
+   */
+  private void initState(String label) {
+    this.status = label;
+    this.petState = PetState.fromLabel(label);
+  }
+
   /**
    * Used to get the boolean value of recentCommand
    *
@@ -213,8 +486,7 @@ public class Pet {
    * @return the integer value
    */
   public int getHealth() {
-    return this.health;
-
+    return stat(stats.get(), Stat.HEALTH);
   }
 
   /**
@@ -223,8 +495,7 @@ public class Pet {
    * @return the integer value
    */
   public int getFullness() {
-    return this.fullness;
-
+    return stat(stats.get(), Stat.FULLNESS);
   }
 
   /**
@@ -233,8 +504,7 @@ public class Pet {
    * @return the integer value
    */
   public int getSleep() {
-    return this.sleep;
-
+    return stat(stats.get(), Stat.SLEEP);
   }
 
   /**
@@ -243,8 +513,7 @@ public class Pet {
    * @return the integer value
    */
   public int getHappiness() {
-    return this.happiness;
-
+    return stat(stats.get(), Stat.HAPPINESS);
   }
 
   /**
@@ -253,8 +522,7 @@ public class Pet {
    * @return the integer value
    */
   public int getLove() {
-    return this.love;
-
+    return stat(stats.get(), Stat.LOVE);
   }
 
   /**
@@ -297,13 +565,22 @@ public class Pet {
 
   }
 
+  /**
+   * Used to get the state of the pet
+   *
+   * @return the state, or {@link PetState#OTHER} for a label the game does not know
+   */
+  public PetState getPetState() {
+    return this.petState;
+  }
+
   /**
    * Used to check if the pet is dead
    *
    * @return the related boolean
    */
   public boolean isDead() {
-    if (this.health <= 0) {
+    if (getHealth() <= 0) {
       return true;
     }
     return false;
@@ -316,9 +593,9 @@ public class Pet {
    * @return the associated boolean
    */
   public boolean isSleeping() {
-    if (this.sleep <= 0) {
+    if (getSleep() <= 0) {
       return true;
-    } else if (this.status.equals("sleeping")) {
+    } else if (getPetState().isAsleep()) {
       return true;
     }
 
@@ -332,7 +609,7 @@ public class Pet {
    * @return the associated boolean
    */
   public boolean isAngry() {
-    if (this.happiness <= (this.pet.getMaxHappiness() / 4)) {
+    if (getHappiness() <= getType().getAngryThreshold()) {
       return true;
     }
     return false;
@@ -345,7 +622,7 @@ public class Pet {
    * @return the associated boolean
    */
   public boolean isSick() {
-    if (this.health <= (this.pet.getMaxHealth() / 4)) {
+    if (getHealth() <= getType().getSickThreshold()) {
       return true;
     }
     return false;
@@ -358,7 +635,7 @@ public class Pet {
    * @return the associated boolean
    */
   public boolean isHungry() {
-    if (this.fullness <= (this.pet.getMaxFullness() / 4)) {
+    if (getFullness() <= getType().getHungryThreshold()) {
       return true;
     }
     return false;
@@ -371,7 +648,7 @@ public class Pet {
    * @return the associated boolean
    */
   public boolean isSleepy() {
-    if (this.sleep <= (this.pet.getMaxSleep() / 4)) {
+    if (getSleep() <= (getType().getMaxSleep() / 4)) {
       return true;
     }
     return false;
@@ -398,7 +675,7 @@ public class Pet {
    * @return the associated boolean
    */
   public boolean isFull() {
-    if (this.fullness < pet.getMaxFullness()) {
+    if (getFullness() < getType().getMaxFullness()) {
       return false;
     }
     return true;
@@ -411,7 +688,7 @@ public class Pet {
    * @return the associated boolean
    */
   public boolean isHealthy() {
-    if (this.health < pet.getMaxHealth()) {
+    if (getHealth() < getType().getMaxHealth()) {
       return false;
     }
     return true;
@@ -424,7 +701,7 @@ public class Pet {
    * @return the associated boolean
    */
   public boolean isHappy() {
-    if (this.happiness < this.pet.getMaxHappiness()) {
+    if (getHappiness() < getType().getMaxHappiness()) {
       return false;
     }
     return true;
@@ -437,24 +714,32 @@ public class Pet {
    * @return the associated boolean
    */
   public boolean isLoved() {
-    if (this.love < this.pet.getMaxLove()) {
+    if (getLove() < getType().getMaxLove()) {
       return false;
     }
     return true;
 
   }
 
-  // These three functions were generated by ChatGPT
+  /**
+   * Used to get the id that tells this pet apart from every other pet in the
+   * running game
+   *
+   * @return the associated integer
+   */
+  public int getId() {
+    return id;
+  }
 
   /**
    * Checks if a given command is still on cooldown.
    * 
    * @param command the name of the command to check
-   * @return true if the current time is before the cooldown end time; false
+   * @return true if the command's cooldown has not ended yet; false
    *         otherwise.
    */
   public boolean isCommandOnCooldown(String command) {
-    return cooldowns.containsKey(command) && cooldowns.get(command).isAfter(LocalTime.now());
+    return CooldownManager.getShared().isActive(id, CooldownManager.commandOrdinal(command));
   }
 
   /**
@@ -464,38 +749,62 @@ public class Pet {
    * @param seconds the duration of the cooldown in seconds
    */
   public void setCooldown(String command, int seconds) {
-    cooldowns.put(command, LocalTime.now().plusSeconds(seconds));
+    CooldownManager.getShared().set(id, CooldownManager.commandOrdinal(command), seconds, TimeUnit.SECONDS);
   }
 
   /**
    * Gets the remaining cooldown time for a command in seconds.
    * 
    * @param command the name of the command
-   * @return the number of seconds remaining on the cooldown; 0 if no cooldown.
+   * @return the number of seconds remaining on the cooldown, rounded up; 0 if
+   *         no cooldown.
    */
   public int getRemainingCooldown(String command) {
-    if (!cooldowns.containsKey(command))
-      return 0;
-    return Math.max(0, (int) java.time.Duration.between(LocalTime.now(), cooldowns.get(command)).getSeconds());
+    long nanos = CooldownManager.getShared().remainingNanos(id, CooldownManager.commandOrdinal(command));
+    long second = TimeUnit.SECONDS.toNanos(1);
+    return (int) ((nanos + second - 1) / second);
   }
 
+  /**
+   * Registers an action to run once when a command's cooldown ends, or at once
+   * if the command is not on cooldown. The action runs on a scheduler thread.
+   *
+   * @param command  the name of the command
+   * @param callback the action to run
+   */
+  public void onCooldownEnd(String command, Runnable callback) {
+    CooldownManager.getShared().onExpiry(id, CooldownManager.commandOrdinal(command), callback);
+  }
+
+  /**
+   * Puts the pet in a state for a while (e.g., while an animation plays), unless
+   * a temporary state is already active. The end is a deadline on the
+   * {@link GameClock}, so it follows a virtual clock in tests and replays
+   *
+   * @param state           the name of the state
+   * @param durationSeconds how long the state stays active
+   */
   public void setTemporaryState(String state, int durationSeconds) {
-    if (temporaryStateActive)
+    if (isTemporaryStateActive())
       return;
 
+    GameClock clock = GameClock.current();
+    temporaryStateClock = clock;
+    temporaryStateEnd = clock.nanoTime() + TimeUnit.SECONDS.toNanos(durationSeconds);
     temporaryStateActive = true;
     setState(state);
-
-    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
-    scheduler.schedule(() -> {
-      temporaryStateActive = false;
-      //Command.updateStatus(this); // Recalculate state after animation
-      scheduler.shutdown();
-    },
-        durationSeconds, TimeUnit.SECONDS);
   }
 
+  /**
+   * Used to check whether a temporary state set by
+   * {@link #setTemporaryState(String, int)} is still active
+   *
+   * @return true if the state's duration has not passed yet
+   */
   public boolean isTemporaryStateActive() {
+    if (temporaryStateActive && temporaryStateEnd - temporaryStateClock.nanoTime() <= 0) {
+      temporaryStateActive = false;
+    }
     return temporaryStateActive;
   }
 }
@@ -0,0 +1,84 @@
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Delivers {@link PetChangeEvent}s to Swing at most once per frame.
+ * <p>
+ * A pet with listeners reports every change here. The first report after a delivery
+ * queues one delivery, no sooner than {@link #FRAME_MILLIS} after the previous one; later
+ * reports until then only add their pet to the set of changed pets. The delivery runs on the
+ * Event Dispatch Thread, takes each changed pet's accumulated change mask and gives its
+ * listeners a single event. Bursts such as the exercise and sleep loops, or a tick over many
+ * pets, therefore cost one {@code invokeLater} per frame rather than one per change.
+ * </p>
+ */
+public final class PetChangeDispatcher {
+    /** The shortest time between two deliveries, about one frame at 60 Hz */
+    public static final long FRAME_MILLIS = 16;
+
+    private static final PetChangeDispatcher shared = new PetChangeDispatcher(GameScheduler.getShared(),
+        GameMetrics::invokeLater);
+
+    private final GameScheduler scheduler;
+    private final Executor edt;
+    private final Set<Pet> changed = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean queued = new AtomicBoolean();
+    private volatile long lastDelivery = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(FRAME_MILLIS);
+
+    /**
+     * Constructs a dispatcher. Use {@link #getShared()} in the game.
+     *
+     * @param scheduler the scheduler that waits out the rest of a frame
+     * @param edt       runs deliveries on the Event Dispatch Thread
+     */
+    public PetChangeDispatcher(GameScheduler scheduler, Executor edt) {
+        this.scheduler = scheduler;
+        this.edt = edt;
+    }
+
+    /**
+     * Returns the dispatcher shared by the whole application.
+     *
+     * @return the shared dispatcher
+     */
+    public static PetChangeDispatcher getShared() {
+        return shared;
+    }
+
+    /**
+     * Reports that a pet changed, queueing a delivery unless one is already queued.
+     *
+     * @param pet the pet that changed
+     */
+    public void changed(Pet pet) {
+        changed.add(pet);
+        if (!queued.compareAndSet(false, true)) {
+            return;
+        }
+        long wait = lastDelivery + TimeUnit.MILLISECONDS.toNanos(FRAME_MILLIS) - System.nanoTime();
+        if (wait <= 0) {
+            edt.execute(this::deliver);
+        } else {
+            scheduler.schedule(() -> edt.execute(this::deliver), wait, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gives every changed pet's listeners one event with everything that changed since the
+     * last delivery. Changes made while it runs queue the next delivery.
+     */
+    private void deliver() {
+        lastDelivery = System.nanoTime();
+        queued.set(false);
+        for (Pet pet : changed) {
+            changed.remove(pet);
+            int changes = pet.takeChanges();
+            if (changes != 0) {
+                pet.fireChanged(new PetChangeEvent(pet, changes));
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/**
+ * Tells listeners which statistics of a {@link Pet}, and whether its state, changed since
+ * they were last told.
+ * <p>
+ * Events are coalesced by the {@link PetChangeDispatcher}: however many times a pet changes
+ * within a frame, its listeners receive one event on the Event Dispatch Thread naming
+ * everything that changed.
+ * </p>
+ */
+public final class PetChangeEvent {
+    private final Pet pet;
+    private final int changes;
+
+    /**
+     * Receives the change events of a pet.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        /**
+         * Called on the Event Dispatch Thread after the pet changed.
+         *
+         * @param event what changed
+         */
+        void petChanged(PetChangeEvent event);
+    }
+
+    /**
+     * Constructs an event.
+     *
+     * @param pet     the pet that changed
+     * @param changes the change mask, as returned by {@link Pet#takeChanges()}
+     */
+    public PetChangeEvent(Pet pet, int changes) {
+        this.pet = pet;
+        this.changes = changes;
+    }
+
+    /**
+     * Used to get the pet that changed
+     *
+     * @return the pet
+     */
+    public Pet getPet() {
+        return pet;
+    }
+
+    /**
+     * Used to get everything that changed as one mask
+     *
+     * @return the change mask, with the bits of {@link Pet.Stat#mask()} and {@link Pet#STATE_CHANGED}
+     */
+    public int getChanges() {
+        return changes;
+    }
+
+    /**
+     * Used to check whether a statistic changed
+     *
+     * @param stat the statistic
+     * @return true if it changed
+     */
+    public boolean hasChanged(Pet.Stat stat) {
+        return (changes & stat.mask()) != 0;
+    }
+
+    /**
+     * Used to check whether the state changed
+     *
+     * @return true if it changed
+     */
+    public boolean isStateChanged() {
+        return (changes & Pet.STATE_CHANGED) != 0;
+    }
+}
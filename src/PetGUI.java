@@ -1,11 +1,8 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.File;
-import java.io.IOException;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * The PetGUI class takes care of displaying the GUI components of the pet screen including the command, inventory, shop, and save buttons
@@ -22,7 +19,7 @@ public class PetGUI extends JFrame {
     private String saveFile;
     private Font customFont;
     private PetIcon petIcon;
-    private String lastState = "";
+    private PetState lastState;
 
     // Status bars for the pet's vital stats – stored so they can be updated
     private StatusBar loveBar;
@@ -30,12 +27,16 @@ public class PetGUI extends JFrame {
     private StatusBar fullnessBar;
     private StatusBar sleepBar;
     private StatusBar happinessBar;
-    private ScheduledExecutorService sleepExecutor = Executors.newSingleThreadScheduledExecutor();
-    private ScheduledExecutorService exerciseExecutor = Executors.newSingleThreadScheduledExecutor();
+    private final GameScheduler.Scope scheduler = GameScheduler.getShared().scopeFor(this); // Cancelled on dispose
+    private GameScheduler.Handle sleepHandle;
+    private GameScheduler.Handle exerciseHandle;
+    private final GameContext context;
 
     public PetGUI(Player player, String saveFile) {
         this.saveFile = saveFile;
         currentPlayer = player;
+        context = GameContext.forPlayer(player, saveFile);
+        context.attachPetScreen(this); // Hidden and reused while the inventory or shop is open
 
         setTitle("Pet GUI");
         setSize(WIDTH, HEIGHT);
@@ -44,13 +45,7 @@ public class PetGUI extends JFrame {
         getContentPane().setLayout(null);
 
         // Import custom font "Irish Grover"
-        try {
-            this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(16f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-        }
+        this.customFont = FontRegistry.getFont(16f);
 
 
         // Set up UI background
@@ -86,10 +81,10 @@ public class PetGUI extends JFrame {
         scorePanel.setBounds(848, 68, 196, 61);
 
         // Score text along with a banner in the background
-        JLabel scoreBanner = new JLabel(new ImageIcon("src/view/gameAssets/score.png"));
+        JLabel scoreBanner = new JLabel(AssetCache.getIcon("src/view/gameAssets/score.png"));
         scoreBanner.setBounds(0, 0, 220, 69);
         scoreLabel = new JLabel("Score: " + currentPlayer.getScore());
-        scoreLabel.setFont(customFont.deriveFont(20f));
+        scoreLabel.setFont(FontRegistry.derive(customFont, 20f));
         scoreLabel.setForeground(Color.BLACK);
         scoreLabel.setBounds(70,20, 150, 24);
         scorePanel.add(scoreLabel);
@@ -97,7 +92,7 @@ public class PetGUI extends JFrame {
         overlayPanel.add(scorePanel);
 
         // Shop Button
-        JButton shopButton = new JButton(new ImageIcon("src/view/gameAssets/Shop button.png"));
+        JButton shopButton = new JButton(AssetCache.getIcon("src/view/gameAssets/Shop button.png"));
         shopButton.setBounds(7, 0, 193, 99);
         shopButton.setOpaque(false);
         shopButton.setBorderPainted(false);
@@ -106,7 +101,7 @@ public class PetGUI extends JFrame {
         shopButton.addActionListener(e-> showShopWindow());
 
         // Inventory Button
-        JButton inventoryButton = new JButton(new ImageIcon("src/view/gameAssets/Inventory button.png"));
+        JButton inventoryButton = new JButton(AssetCache.getIcon("src/view/gameAssets/Inventory button.png"));
         inventoryButton.setBounds(206, 0, 188, 100);
         inventoryButton.setOpaque(false);
         inventoryButton.setBorderPainted(false);
@@ -154,13 +149,17 @@ public class PetGUI extends JFrame {
         /******************************************************************************************************/
         StatDrainer drainer = new StatDrainer(
             currentPlayer.getPet(),
-            () -> {
-                updateStatusBars();
-                updatePetIcon();
-            },
+            null, // The status bars and icon follow the pet's change events instead
             () -> SwingUtilities.invokeLater(this::sleepAction) // New callback to trigger auto sleep
         );
         drainer.start();
+        scheduler.onClose(drainer::stop); // Stop draining once this screen is disposed
+
+        // Repaint whatever changed, at most once per frame, whoever changed the pet
+        Pet pet = currentPlayer.getPet();
+        PetChangeEvent.Listener petListener = event -> applyPetChanges(event.getChanges());
+        pet.addChangeListener(petListener);
+        scheduler.onClose(() -> pet.removeChangeListener(petListener));
         //************************************************************************************************** */
 
 
@@ -209,7 +208,7 @@ public class PetGUI extends JFrame {
      * @return
      */
     private JButton createCommandButton(String imageFile, int x, int y, int width, int height, ActionListener action) {
-        JButton button = new JButton(new ImageIcon("src/view/gameAssets/" + imageFile));
+        JButton button = new JButton(AssetCache.getIcon("src/view/gameAssets/" + imageFile));
         button.setBounds(x, y, width, height);
         button.setBorderPainted(false);
         button.setContentAreaFilled(false);
@@ -289,20 +288,20 @@ public class PetGUI extends JFrame {
     //******************************************************************************************** */
     private void sleepAction() { 
 
-    sleepExecutor = Executors.newSingleThreadScheduledExecutor();
+    if (sleepHandle != null) {
+        sleepHandle.cancel(); // Only one sleep loop at a time
+    }
 
-    currentPlayer.getPet().setState("sleep");
-    petIcon.changePetIcon("sleep");
+    currentPlayer.getPet().setState(PetState.SLEEP);
+    petIcon.changePetIcon(PetState.SLEEP);
 
-    sleepExecutor.scheduleAtFixedRate(() -> {
+    sleepHandle = scheduler.scheduleAtFixedRate(handle -> {
         Pet pet = currentPlayer.getPet();
         if (pet.getSleep() < pet.getType().getMaxSleep()) {
-            Command.sleep(pet);
-            SwingUtilities.invokeLater(this::updateStatusBars);
+            Command.sleep(pet); // The change events update the status bars
         } else {
-            pet.setState("default");
-            petIcon.changePetIcon("default");
-            sleepExecutor.shutdown();
+            pet.setState(PetState.DEFAULT); // The change event switches the icon back
+            handle.cancel();
         }
     }, 0, 1, TimeUnit.SECONDS);
     
@@ -319,9 +318,8 @@ public class PetGUI extends JFrame {
 
     // Check if the play command is on cooldown.
     if (currentPlayer.getPet().isCommandOnCooldown("play")) {
-        int remaining = currentPlayer.getPet().getRemainingCooldown("play");
         // Open a dialog informing the user that the command is on cooldown.
-        new CooldownDialog(this, "Play", remaining, customFont).setVisible(true);
+        new CooldownDialog(this, "Play", currentPlayer.getPet(), "play", customFont).setVisible(true);
         return;
     }
 
@@ -329,10 +327,8 @@ public class PetGUI extends JFrame {
         if (currentPlayer.getPet().getHappiness() == currentPlayer.getPet().getType().getMaxHappiness()) {
             commandInvalidDialog("play"); // Open dialog window saying that play is invalid
         } else {                                    
-            Command.play(currentPlayer.getPet());   // Otherwise use the play command and update pet, score, and status bars
+            Command.play(currentPlayer.getPet());   // Otherwise use the play command and update pet and score; the status bars follow the change events
             updatePlayerScore(5);
-            updateStatusBars();
-            updatePetIcon();
         }
         System.out.println("Play action triggered."); 
     }
@@ -349,29 +345,23 @@ public class PetGUI extends JFrame {
             return;
         }
 
-        exerciseExecutor = Executors.newSingleThreadScheduledExecutor();
+        if (exerciseHandle != null) {
+            exerciseHandle.cancel(); // Only one exercise loop at a time
+        }
     
-        petIcon.changePetIcon("exercise");
+        petIcon.changePetIcon(PetState.EXERCISE);
     
-        exerciseExecutor.scheduleAtFixedRate(new Runnable() {
+        exerciseHandle = scheduler.scheduleAtFixedRate(new Consumer<GameScheduler.Handle>() {
             private int exerciseCount = 0;
     
             @Override
-            public void run() {
+            public void accept(GameScheduler.Handle handle) {
                 if (exerciseCount < 3) {
-                    Command.exercise(currentPlayer.getPet());
-                    SwingUtilities.invokeLater(() -> {
-                        updateStatusBars();
-                        updatePetIcon();
-                    });
+                    Command.exercise(currentPlayer.getPet()); // The change events update the status bars
                     exerciseCount++;
                 } else {
-                    currentPlayer.getPet().setState("default");
-                    SwingUtilities.invokeLater(() -> {
-                        updateStatusBars();
-                        petIcon.changePetIcon("default");
-                    });
-                    exerciseExecutor.shutdown();
+                    currentPlayer.getPet().setState(PetState.DEFAULT);
+                    handle.cancel();
                 }
             }
         }, 0, 1, TimeUnit.SECONDS);
@@ -386,13 +376,9 @@ public class PetGUI extends JFrame {
      * This action corresponds to the feed button and invokes the feed command on the current pet.
      */
     private void feedAction() {
-        // Open the inventory to let the user select a food item then update the pet and status bars
-        currentPlayer.saveToFile(saveFile);
-        new InventoryGUI(saveFile);
-        dispose();
-        updateStatusBars();
-        updatePetIcon();
-         System.out.println("Feed action triggered."); 
+        // Open the inventory on the live player; this screen is refreshed when it is shown again
+        context.openInventory();
+        System.out.println("Feed action triggered."); 
         }
 
     /**
@@ -416,9 +402,8 @@ public class PetGUI extends JFrame {
     private void vetAction() {
         // Check if the vet command is on cooldown.
         if (currentPlayer.getPet().isCommandOnCooldown("vet")) {
-            int remaining = currentPlayer.getPet().getRemainingCooldown("vet");
             // Open a dialog informing the user that the command is on cooldown.
-            new CooldownDialog(this, "Vet", remaining, customFont).setVisible(true);
+            new CooldownDialog(this, "Vet", currentPlayer.getPet(), "vet", customFont).setVisible(true);
             return;
         }
 
@@ -428,8 +413,6 @@ public class PetGUI extends JFrame {
         } else {
             Command.vet(currentPlayer.getPet());
             updatePlayerScore(-20);
-            updateStatusBars();
-            updatePetIcon();
             System.out.println("Vet action triggered."); 
         }
         }
@@ -438,14 +421,8 @@ public class PetGUI extends JFrame {
      * This function corresponds to the gift command and opens the inventory screen.
      */
     private void giftAction() { 
-        // Open the inventory to let the user select a gift item then update the pet and status bars
-        currentPlayer.saveToFile(saveFile); //Save current data before closing screen
-        new InventoryGUI(saveFile);
-        dispose();
-
-        // Update the status bar and icon after
-        updateStatusBars();
-        updatePetIcon();
+        // Open the inventory on the live player; this screen is refreshed when it is shown again
+        context.openInventory();
         System.out.println("Gift action triggered."); 
     }
 
@@ -453,28 +430,63 @@ public class PetGUI extends JFrame {
      * Updates the pet icon based on the pet's type and current state (state must be different in order to update to prevent the animation from glitching).
      **/
     private void updatePetIcon() {
-        String currentState = currentPlayer.getPet().getState().toLowerCase(); // Only update the icon if the state has actually changed. 
-        if (!currentState.equals(lastState)) {            
+        PetState currentState = currentPlayer.getPet().getPetState(); // Only update the icon if the state has actually changed. 
+        if (currentState != lastState) {            
             petIcon.changePetIcon(currentState); 
             lastState = currentState; 
         }
         
     }
 
+    /**
+     * Brings the score, status bars and pet icon up to date with the player, e.g. when the
+     * screen is shown again after the inventory or shop changed the player.
+     */
+    public void refresh() {
+        scoreLabel.setText("Score: " + currentPlayer.getScore());
+        applyPetChanges(currentPlayer.getPet().takeChanges() | Pet.ALL_CHANGED);
+    }
+
+    /**
+     * Updates only the status bars and pet icon named by a change mask.
+     * @param changes the changes, as returned by {@link Pet#takeChanges()}
+     **/
+    private void applyPetChanges(int changes) {
+        if (changes == 0) {
+            return; // Nothing changed, e.g. while the pet is dead, so nothing is repainted
+        }
+        updateStatusBars(changes);
+        if ((changes & Pet.STATE_CHANGED) != 0) {
+            updatePetIcon();
+        }
+    }
+
     /**  
-     * Updates each status bar's fill percentage based on the pet's current stats.
+     * Updates the fill percentage of each status bar whose stat is in the change mask.
+     * @param changes the changes, as returned by {@link Pet#takeChanges()}
      **/
-    private void updateStatusBars() {
-        double loveFill = (double) currentPlayer.getPet().getLove() / currentPlayer.getPet().getType().getMaxLove(); // Calculat stat fill percentage using the pet's max stat
-        loveBar.setFillPercentage(loveFill);                                                                         // Set the status bar to the corresponding fill
-        double healthFill = (double) currentPlayer.getPet().getHealth() / currentPlayer.getPet().getType().getMaxHealth();
-        healthBar.setFillPercentage(healthFill);
-        double fullnessFill = (double) currentPlayer.getPet().getFullness() / currentPlayer.getPet().getType().getMaxFullness();
-        fullnessBar.setFillPercentage(fullnessFill);
-        double sleepFill = (double) currentPlayer.getPet().getSleep() / currentPlayer.getPet().getType().getMaxSleep();
-        sleepBar.setFillPercentage(sleepFill);
-        double happinessFill = (double) currentPlayer.getPet().getHappiness() / currentPlayer.getPet().getType().getMaxHappiness();
-        happinessBar.setFillPercentage(happinessFill);
+    private void updateStatusBars(int changes) {
+        Pet pet = currentPlayer.getPet();
+        if ((changes & Pet.Stat.LOVE.mask()) != 0) {
+            double loveFill = (double) pet.getLove() / pet.getType().getMaxLove(); // Calculat stat fill percentage using the pet's max stat
+            loveBar.setFillPercentage(loveFill);                                   // Set the status bar to the corresponding fill
+        }
+        if ((changes & Pet.Stat.HEALTH.mask()) != 0) {
+            double healthFill = (double) pet.getHealth() / pet.getType().getMaxHealth();
+            healthBar.setFillPercentage(healthFill);
+        }
+        if ((changes & Pet.Stat.FULLNESS.mask()) != 0) {
+            double fullnessFill = (double) pet.getFullness() / pet.getType().getMaxFullness();
+            fullnessBar.setFillPercentage(fullnessFill);
+        }
+        if ((changes & Pet.Stat.SLEEP.mask()) != 0) {
+            double sleepFill = (double) pet.getSleep() / pet.getType().getMaxSleep();
+            sleepBar.setFillPercentage(sleepFill);
+        }
+        if ((changes & Pet.Stat.HAPPINESS.mask()) != 0) {
+            double happinessFill = (double) pet.getHappiness() / pet.getType().getMaxHappiness();
+            happinessBar.setFillPercentage(happinessFill);
+        }
     }
 
     /**
@@ -483,27 +495,24 @@ public class PetGUI extends JFrame {
     private void saveAction() {
         SaveGameGUI saveGUI = new SaveGameGUI(currentPlayer);
         saveGUI.setVisible(true);  // Open the save GUI
+        GameContext.end();  // The session ends here; the save screen writes it to disk
         dispose();  // Close current PetGUI after saving
     }
 
     /**
-     * Action corresponding to the inventory button, saves current game and opens the inventory screen.
+     * Action corresponding to the inventory button, hides this screen and opens the inventory screen on the live player.
      */
     private void showInventoryWindow() {
         // Launch the InventoryGUI, which will build the UI based on the inventory data
-        currentPlayer.saveToFile(saveFile);
-        new InventoryGUI(saveFile);
-        dispose();
+        context.openInventory();
     }
 
     /**
-     * Action corresponding to the shop button, saves current game and opens the inventory screen.
+     * Action corresponding to the shop button, hides this screen and opens the shop screen on the live player.
      */
     private void showShopWindow() {
         // Launch the ShopGUI, which will build the UI based on the shop data
-        currentPlayer.saveToFile(saveFile);
-        new ShopGUI(saveFile);
-        dispose();
+        context.openShop();
     }
     
 
@@ -530,11 +539,11 @@ public class PetGUI extends JFrame {
             fillPanel.setBounds(fillX, fillY, (int)(MAX_FILL_WIDTH * fillPercentage), fillHeight);
             add(fillPanel); // add first
         
-            JLabel backgroundLabel = new JLabel(new ImageIcon(bgImageFile));
+            JLabel backgroundLabel = new JLabel(AssetCache.getIcon(bgImageFile));
             backgroundLabel.setBounds(48, 0, 209, 52);
             add(backgroundLabel);
         
-            JLabel iconLabel = new JLabel(new ImageIcon(iconImageFile));
+            JLabel iconLabel = new JLabel(AssetCache.getIcon(iconImageFile));
             iconLabel.setBounds(0, 4, 40, 40);
             add(iconLabel);
         
@@ -551,15 +560,13 @@ public class PetGUI extends JFrame {
         public void setFillPercentage(double percentage) {
             fillPercentage = Math.max(0.0, Math.min(1.0, percentage)); // Ensure percentage is  a double from 0-1
             int newWidth = (int)(MAX_FILL_WIDTH * fillPercentage); // Calculate the new wi
-            fillPanel.setBounds(fillX, fillY, newWidth, fillHeight);
-            
             // Change color based on percentage threshold (25% or less becomes red)
-            if (fillPercentage <= 0.25) {
-                fillPanel.setBackground(Color.RED);
-            } else {
-                fillPanel.setBackground(Color.GREEN);
+            Color newColor = fillPercentage <= 0.25 ? Color.RED : Color.GREEN;
+            if (newWidth == fillPanel.getWidth() && newColor.equals(fillPanel.getBackground())) {
+                return; // The bar looks the same, so skip the relayout and repaint
             }
-            fillPanel.repaint();
+            fillPanel.setBounds(fillX, fillY, newWidth, fillHeight); // Repaints the old and new bounds
+            fillPanel.setBackground(newColor);
         }
     }
 
@@ -572,7 +579,7 @@ public class PetGUI extends JFrame {
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> {
             Player player = new Player("save1");
-            new PetGUI(player, "save1");
+            GameContext.start(player, "save1").showPetScreen();
         });
     }
     
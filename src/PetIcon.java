@@ -14,45 +14,43 @@ class PetIcon extends JLabel {
     
     /** The currently displayed pet icon */
     private ImageIcon currentIcon;
-    /** Base file path for this pet's image assets */
-    private String petPath;
+    /** The type of pet whose sprites are shown */
+    private String petType;
+    /** The pet type's sprites, indexed by {@link PetState.Sprite} ordinal and filled on first use */
+    private final ImageIcon[] sprites = new ImageIcon[PetState.Sprite.values().length];
     
     /**
-     * Constructs a PetIcon with the appropriate image path based on the given pet type.
+     * Constructs a PetIcon for the given pet type.
      * Automatically loads the default image for the pet.
      * 
      * @param petType the type of pet (e.g., "duck", "goose", "baby duck")
      */
     public PetIcon(String petType) {
-        this.petPath = switch (petType) {
-            case "baby duck" -> "src/view/Pets/pet1/pet1_";
-            case "duck" -> "src/view/Pets/pet2/pet2_";
-            case "goose" -> "src/view/Pets/pet3/pet3_";
-            default -> "src/view/Pets/default.png";
-        };
+        this.petType = petType;
 
-        loadImage("default");
+        loadImage(PetState.Sprite.DEFAULT);
     }
 
     /**
-     * Loads and sets the pet's image based on the current state.
-     * The image path is constructed from the pet type and state.
+     * Sets the pet's image to one of its sprites. Sprites come from the shared
+     * {@link AssetCache} and are then kept in an array indexed by sprite, so changing to a
+     * sprite that is already shown does nothing and other sprites are only read from disk
+     * the first time they are used.
      * 
-     * @param state the current state of the pet (e.g., "default", "hungry", "dead")
+     * @param sprite the sprite to show, or null to keep the current one
      */
-    private void loadImage(String state) {
-        String imagePath = switch (state) {
-            case "default" -> petPath+"default.GIF";
-            case "hungry" -> petPath+"hungry.GIF";
-            case "angry" -> petPath+"angry.GIF";
-            case "exercise" -> petPath+"exercise.GIF";
-            case "dead" -> petPath+"dead.png";
-            case "sleep" -> petPath+"sleep.png";
-            default -> null;
-        };
+    private void loadImage(PetState.Sprite sprite) {
+        if (sprite == null) {
+            return;
+        }
+        ImageIcon icon = sprites[sprite.ordinal()];
+        if (icon == null) {
+            icon = AssetCache.getPetIcon(petType, sprite.getName());
+            sprites[sprite.ordinal()] = icon;
+        }
         
-        if (imagePath != null) {
-            this.currentIcon = new ImageIcon(imagePath);
+        if (icon != null && icon != currentIcon) {
+            this.currentIcon = icon;
             setIcon(currentIcon);
             setSize(currentIcon.getIconWidth(), currentIcon.getIconHeight());
             repaint(); // Force redraw
@@ -65,6 +63,16 @@ class PetIcon extends JLabel {
      * @param state the new state of the pet (e.g., "sleep", "angry", "exercise")
      */
     public void changePetIcon(String state) {
-        loadImage(state);
+        changePetIcon(PetState.fromLabel(state));
+    }
+
+    /**
+     * Changes the displayed pet image to the sprite of the specified state. States without
+     * a sprite of their own keep the current image.
+     * 
+     * @param state the new state of the pet
+     */
+    public void changePetIcon(PetState state) {
+        loadImage(state.getSprite());
     }
 }
@@ -0,0 +1,138 @@
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The states a {@link Pet} can be in, with the rules {@link Command#update(Pet)} applies to
+ * each of them decided once per state instead of by comparing labels on every tick.
+ * <p>
+ * Each state keeps the exact label the game has always saved and shown, so save files and
+ * {@link Pet#getState()} are unchanged. Several labels have crept in for similar states
+ * ("sleep" and "sleeping", "exercise" and "exercising", "normal", "default" and "alive");
+ * they remain separate states here because the drain rules treat them differently, but
+ * they share a sprite. Labels the game does not know are kept as {@link #OTHER}.
+ * </p>
+ */
+public enum PetState {
+    NORMAL("normal", Sprite.DEFAULT, false, false, false),
+    DEFAULT("default", Sprite.DEFAULT, false, false, false),
+    ALIVE("alive", Sprite.DEFAULT, false, false, false),
+    ANGRY("angry", Sprite.ANGRY, false, false, false),
+    HUNGRY("hungry", Sprite.HUNGRY, false, false, false),
+    SLEEP("sleep", Sprite.SLEEP, false, true, true),
+    SLEEPING("sleeping", Sprite.SLEEP, true, false, false),
+    EXERCISE("exercise", Sprite.EXERCISE, false, false, false),
+    EXERCISING("exercising", Sprite.EXERCISE, false, false, true),
+    DEAD("dead", Sprite.DEAD, false, false, false),
+    OTHER(null, null, false, false, false);
+
+    /**
+     * The sprites a pet type has, in the order of the sprite arrays built from them.
+     */
+    public enum Sprite {
+        DEFAULT("default"), HUNGRY("hungry"), ANGRY("angry"), EXERCISE("exercise"), DEAD("dead"), SLEEP("sleep");
+
+        private final String name;
+
+        Sprite(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Used to get the name used in the sprite's file name
+         *
+         * @return the sprite's name (e.g., "hungry")
+         */
+        public String getName() {
+            return name;
+        }
+    }
+
+    private static final Map<String, PetState> byLabel = new HashMap<>();
+
+    static {
+        for (PetState state : values()) {
+            if (state.label != null) {
+                byLabel.put(state.label, state);
+            }
+        }
+    }
+
+    private final String label;
+    private final Sprite sprite;
+    private final boolean asleep;
+    private final boolean resting;
+    private final boolean active;
+
+    /**
+     * Constructs a state.
+     *
+     * @param label   the label that is saved and shown
+     * @param sprite  the sprite shown for the state, or null to keep the current one
+     * @param asleep  whether the pet counts as sleeping whatever its sleep statistic
+     * @param resting whether the stat drain pauses in this state
+     * @param active  whether hunger penalties pause in this state
+     */
+    PetState(String label, Sprite sprite, boolean asleep, boolean resting, boolean active) {
+        this.label = label;
+        this.sprite = sprite;
+        this.asleep = asleep;
+        this.resting = resting;
+        this.active = active;
+    }
+
+    /**
+     * Used to find the state for a label
+     *
+     * @param label the label (e.g., "hungry")
+     * @return the state, or {@link #OTHER} if the label is unknown
+     */
+    public static PetState fromLabel(String label) {
+        PetState state = label == null ? null : byLabel.get(label);
+        return state != null ? state : OTHER;
+    }
+
+    /**
+     * Used to get the label that is saved and shown
+     *
+     * @return the label, or null for {@link #OTHER}
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    /**
+     * Used to get the sprite shown for this state
+     *
+     * @return the sprite, or null if the current sprite should stay
+     */
+    public Sprite getSprite() {
+        return sprite;
+    }
+
+    /**
+     * Used to check if a pet in this state counts as sleeping whatever its sleep statistic
+     *
+     * @return the associated boolean
+     */
+    public boolean isAsleep() {
+        return asleep;
+    }
+
+    /**
+     * Used to check if the regular stat drain pauses in this state
+     *
+     * @return the associated boolean
+     */
+    public boolean isResting() {
+        return resting;
+    }
+
+    /**
+     * Used to check if hunger penalties pause in this state
+     *
+     * @return the associated boolean
+     */
+    public boolean isActive() {
+        return active;
+    }
+}
@@ -0,0 +1,454 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * PetStore keeps many pets in a structure-of-arrays layout for bulk ticking.
+ * <p>
+ * Every vital statistic lives in its own primitive {@code int[]} column and the
+ * per-type rates are copied out of {@link petType} into parallel columns, so
+ * {@link #updateAll()} (the bulk equivalent of {@link Command#update(Pet)}) is a pair of
+ * tight loops over primitive arrays with no pointer chasing. States are stored as
+ * {@link PetState} ordinals; labels the game does not know get codes after them.
+ * </p>
+ * <p>
+ * Existing GUI code can keep working with {@link Pet} objects through
+ * {@link #view(int)}, which returns a Pet whose getters and setters read and write the
+ * store's columns directly.
+ * </p>
+ */
+public class PetStore {
+    // State codes used by the tick loop are PetState ordinals
+    private static final PetState[] STATES = PetState.values();
+    private static final int OTHER = PetState.OTHER.ordinal();
+    static final int DEFAULT = PetState.DEFAULT.ordinal();
+    static final int ANGRY = PetState.ANGRY.ordinal();
+    static final int HUNGRY = PetState.HUNGRY.ordinal();
+    static final int SLEEP = PetState.SLEEP.ordinal();
+    static final int DEAD = PetState.DEAD.ordinal();
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int size;
+
+    // Vital statistic columns
+    private int[] health;
+    private int[] fullness;
+    private int[] sleep;
+    private int[] happiness;
+    private int[] love;
+    private int[] state;
+
+    // Per-type columns copied from petType
+    private int[] fullnessRate;
+    private int[] sleepRate;
+    private int[] happinessRate;
+    private int[] loveRate;
+    private int[] hungerHealthPenalty;
+    private int[] hungerHappinessDrain;
+    private int[] hungryAt;
+    private int[] angryAt;
+    private int[] calmAt;
+
+    // Cold columns only touched by views
+    private petType[] types;
+    private String[] names;
+    private PetView[] views;
+
+    // Label table for state codes; unknown labels are appended on first use
+    private final List<String> stateLabels = new ArrayList<>();
+    private final Map<String, Integer> stateCodes = new HashMap<>();
+
+    /**
+     * Constructs an empty store.
+     */
+    public PetStore() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty store with room for the given number of pets.
+     *
+     * @param capacity the initial number of rows to allocate
+     */
+    public PetStore(int capacity) {
+        allocate(Math.max(1, capacity));
+        for (PetState known : STATES) {
+            stateLabels.add(known.getLabel()); // OTHER's null label is never looked up
+            if (known != PetState.OTHER) {
+                stateCodes.put(known.getLabel(), known.ordinal());
+            }
+        }
+    }
+
+    /**
+     * Adds a new pet with full statistics.
+     *
+     * @param typeString the name of the pet type ("baby duck", "duck", or "goose")
+     * @param petName    the name of the pet
+     * @return the row index of the new pet
+     */
+    public int add(String typeString, String petName) {
+        return add(new Pet(typeString, petName));
+    }
+
+    /**
+     * Copies an existing pet into the store. Later changes to the original pet are not
+     * reflected; use {@link #view(int)} to work with the stored copy.
+     *
+     * @param pet the pet to copy
+     * @return the row index of the copy
+     */
+    public int add(Pet pet) {
+        if (size == health.length) {
+            grow();
+        }
+        int i = size++;
+        petType type = pet.getType();
+        types[i] = type;
+        names[i] = pet.getName();
+
+        health[i] = pet.getHealth();
+        fullness[i] = pet.getFullness();
+        sleep[i] = pet.getSleep();
+        happiness[i] = pet.getHappiness();
+        love[i] = pet.getLove();
+        state[i] = codeFor(pet.getState());
+
+        fullnessRate[i] = type.getFullnessRate();
+        sleepRate[i] = type.getSleepRate();
+        happinessRate[i] = type.getHappinessRate();
+        loveRate[i] = type.getLoveRate();
+        hungerHealthPenalty[i] = type.getHungerHealthPenalty();
+        hungerHappinessDrain[i] = type.getHungerHappinessDrain();
+        hungryAt[i] = type.getHungryThreshold();
+        angryAt[i] = type.getAngryThreshold();
+        calmAt[i] = type.getCalmThreshold();
+        return i;
+    }
+
+    /**
+     * Returns the number of pets in the store.
+     *
+     * @return the number of rows in use
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a Pet backed by the given row. Reads and writes through the view go
+     * straight to the store's columns, so the GUI sees bulk updates immediately.
+     *
+     * @param index the row index returned by {@link #add(Pet)}
+     * @return the Pet view for that row
+     */
+    public Pet view(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("No pet at index " + index);
+        }
+        if (views[index] == null) {
+            views[index] = new PetView(index);
+        }
+        return views[index];
+    }
+
+    /**
+     * Advances every pet by one tick, following exactly the rules of
+     * {@link Command#update(Pet)}.
+     * <p>
+     * The first pass applies the drain and clamping arithmetically (no data-dependent
+     * branches) so it can be vectorized. The second pass applies the hunger penalties
+     * and state transitions.
+     * </p>
+     */
+    public void updateAll() {
+        final int n = size;
+        final int[] health = this.health;
+        final int[] fullness = this.fullness;
+        final int[] sleep = this.sleep;
+        final int[] happiness = this.happiness;
+        final int[] love = this.love;
+        final int[] state = this.state;
+
+        // Pass 1: drain awake pets and clamp at zero; dead pets are left untouched
+        for (int i = 0; i < n; i++) {
+            int alive = health[i] > 0 ? 1 : 0;
+            int awake = (stateOf(state[i]).isResting() ? 0 : 1) & alive;
+            int floor = (alive - 1) & Integer.MIN_VALUE; // 0 when alive, MIN_VALUE when dead
+            fullness[i] = Math.max(floor, fullness[i] - fullnessRate[i] * awake);
+            happiness[i] = Math.max(floor, happiness[i] - happinessRate[i] * awake);
+            love[i] = Math.max(floor, love[i] - loveRate[i] * awake);
+            sleep[i] = Math.max(floor, sleep[i] - sleepRate[i] * awake);
+        }
+
+        // Pass 2: hunger penalties and state transitions
+        for (int i = 0; i < n; i++) {
+            if (health[i] <= 0)
+                continue;
+
+            int s = state[i];
+            boolean isActiveState = stateOf(s).isActive();
+
+            // Command.handleHungryState
+            if (fullness[i] == 0 && s != HUNGRY && !(sleep[i] <= 0 || stateOf(s).isAsleep()))
+                s = HUNGRY;
+            if (s == HUNGRY && !isActiveState) {
+                happiness[i] -= hungerHappinessDrain[i];
+                health[i] -= hungerHealthPenalty[i];
+            }
+
+            // Command.handleAngryState
+            if (happiness[i] == 0 && s != ANGRY && !(sleep[i] <= 0 || stateOf(s).isAsleep()))
+                s = ANGRY;
+            else if (s == ANGRY && happiness[i] >= calmAt[i])
+                s = DEFAULT;
+
+            // Command.updateStatus, evaluated in the same order
+            boolean angry = happiness[i] <= angryAt[i];
+            boolean hungry = fullness[i] <= hungryAt[i];
+            if (health[i] > 0 && !(sleep[i] <= 0 || stateOf(s).isAsleep()) && !angry && !hungry)
+                s = DEFAULT;
+            if (angry)
+                s = ANGRY;
+            if (hungry)
+                s = HUNGRY;
+            if (sleep[i] <= 0 || stateOf(s).isAsleep())
+                s = SLEEP;
+            if (health[i] <= 0)
+                s = DEAD;
+
+            state[i] = s;
+        }
+    }
+
+    /**
+     * Returns the state for a code; codes of unknown labels are {@link PetState#OTHER}.
+     */
+    private static PetState stateOf(int code) {
+        return STATES[Math.min(code, OTHER)];
+    }
+
+    /**
+     * Returns the integer code for a state label, registering it if it is new.
+     */
+    private int codeFor(String label) {
+        Integer code = stateCodes.get(label);
+        if (code == null) {
+            code = stateLabels.size();
+            stateLabels.add(label);
+            stateCodes.put(label, code);
+        }
+        return code;
+    }
+
+    /**
+     * Allocates every column at the given capacity.
+     */
+    private void allocate(int capacity) {
+        health = new int[capacity];
+        fullness = new int[capacity];
+        sleep = new int[capacity];
+        happiness = new int[capacity];
+        love = new int[capacity];
+        state = new int[capacity];
+        fullnessRate = new int[capacity];
+        sleepRate = new int[capacity];
+        happinessRate = new int[capacity];
+        loveRate = new int[capacity];
+        hungerHealthPenalty = new int[capacity];
+        hungerHappinessDrain = new int[capacity];
+        hungryAt = new int[capacity];
+        angryAt = new int[capacity];
+        calmAt = new int[capacity];
+        types = new petType[capacity];
+        names = new String[capacity];
+        views = new PetView[capacity];
+    }
+
+    /**
+     * Doubles the capacity of every column.
+     */
+    private void grow() {
+        int capacity = health.length * 2;
+        health = Arrays.copyOf(health, capacity);
+        fullness = Arrays.copyOf(fullness, capacity);
+        sleep = Arrays.copyOf(sleep, capacity);
+        happiness = Arrays.copyOf(happiness, capacity);
+        love = Arrays.copyOf(love, capacity);
+        state = Arrays.copyOf(state, capacity);
+        fullnessRate = Arrays.copyOf(fullnessRate, capacity);
+        sleepRate = Arrays.copyOf(sleepRate, capacity);
+        happinessRate = Arrays.copyOf(happinessRate, capacity);
+        loveRate = Arrays.copyOf(loveRate, capacity);
+        hungerHealthPenalty = Arrays.copyOf(hungerHealthPenalty, capacity);
+        hungerHappinessDrain = Arrays.copyOf(hungerHappinessDrain, capacity);
+        hungryAt = Arrays.copyOf(hungryAt, capacity);
+        angryAt = Arrays.copyOf(angryAt, capacity);
+        calmAt = Arrays.copyOf(calmAt, capacity);
+        types = Arrays.copyOf(types, capacity);
+        names = Arrays.copyOf(names, capacity);
+        views = Arrays.copyOf(views, capacity);
+    }
+
+    /**
+     * A Pet whose statistics, state, type and name live in a row of the store.
+     * The recent command flag is still kept on the view itself, and cooldowns under
+     * the view's id.
+     * The store is ticked from one thread, so packed updates of a view are applied
+     * directly to its columns rather than with compare-and-set. Because the columns also
+     * change without going through the view, its changes are found by comparing the row
+     * with what the last {@link #takeChanges()} saw. Change listeners are not told about
+     * {@link PetStore#updateAll()}; hosts of a store poll {@link #takeChanges()} instead.
+     */
+    private class PetView extends Pet {
+        private final int row;
+        private boolean taken;
+        private long takenStats;
+        private int takenState;
+
+        private PetView(int row) {
+            super(types[row], names[row]);
+            this.row = row;
+        }
+
+        @Override
+        public void setHealth(int value) {
+            health[row] = value;
+        }
+
+        @Override
+        public void setFullness(int value) {
+            fullness[row] = value;
+        }
+
+        @Override
+        public void setSleep(int value) {
+            sleep[row] = value;
+        }
+
+        @Override
+        public void setHappiness(int value) {
+            happiness[row] = value;
+        }
+
+        @Override
+        public void setLove(int value) {
+            love[row] = value;
+        }
+
+        @Override
+        public void changeHealth(int amount) {
+            health[row] += amount;
+        }
+
+        @Override
+        public void changeFullness(int amount) {
+            fullness[row] += amount;
+        }
+
+        @Override
+        public void changeSleep(int amount) {
+            sleep[row] += amount;
+        }
+
+        @Override
+        public void changeHappiness(int amount) {
+            happiness[row] += amount;
+        }
+
+        @Override
+        public void changeLove(int amount) {
+            love[row] += amount;
+        }
+
+        @Override
+        public long getStats() {
+            return pack(health[row], fullness[row], sleep[row], happiness[row], love[row]);
+        }
+
+        @Override
+        public long updateStats(LongUnaryOperator update) {
+            long packed = update.applyAsLong(getStats());
+            health[row] = stat(packed, Stat.HEALTH);
+            fullness[row] = stat(packed, Stat.FULLNESS);
+            sleep[row] = stat(packed, Stat.SLEEP);
+            happiness[row] = stat(packed, Stat.HAPPINESS);
+            love[row] = stat(packed, Stat.LOVE);
+            return packed;
+        }
+
+        @Override
+        public void setState(String label) {
+            state[row] = codeFor(label);
+        }
+
+        @Override
+        public void setState(PetState known) {
+            if (known == PetState.OTHER) {
+                throw new IllegalArgumentException("Use setState(String) for custom states");
+            }
+            state[row] = known.ordinal();
+        }
+
+        @Override
+        public PetState getPetState() {
+            return stateOf(state[row]);
+        }
+
+        @Override
+        public int takeChanges() {
+            long packed = getStats();
+            int code = state[row];
+            int changes = !taken ? ALL_CHANGED
+                : changedStats(takenStats, packed) | (code != takenState ? STATE_CHANGED : 0);
+            taken = true;
+            takenStats = packed;
+            takenState = code;
+            return changes;
+        }
+
+        @Override
+        public int getHealth() {
+            return health[row];
+        }
+
+        @Override
+        public int getFullness() {
+            return fullness[row];
+        }
+
+        @Override
+        public int getSleep() {
+            return sleep[row];
+        }
+
+        @Override
+        public int getHappiness() {
+            return happiness[row];
+        }
+
+        @Override
+        public int getLove() {
+            return love[row];
+        }
+
+        @Override
+        public String getState() {
+            return stateLabels.get(state[row]);
+        }
+
+        @Override
+        public petType getType() {
+            return types[row];
+        }
+
+        @Override
+        public String getName() {
+            return names[row];
+        }
+    }
+}
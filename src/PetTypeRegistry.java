@@ -0,0 +1,135 @@
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The species a pet can be, read once from a data file and shared by every pet.
+ * <p>
+ * Each row of the file defines one {@link petType}: its maximum statistics, drain rates and
+ * sleep and hunger penalties. The registry keeps a single immutable instance per type, so
+ * pets of the same species share it and a pet is never given its own copy. New species are
+ * added by adding rows to the file.
+ * </p>
+ * <p>
+ * The file starts with a header naming its columns; columns may come in any order, and a
+ * missing penalty column falls back to the game's usual value. A type that is not in the
+ * file gets all-zero statistics, as an unknown type always has.
+ * </p>
+ */
+public final class PetTypeRegistry {
+    /** The species file used by the game */
+    public static final String DEFAULT_PATH = "src/model/saveFiles/Pet_Types.csv";
+
+    /** The columns of the species file, in the order {@link petType} takes them */
+    static final String[] COLUMNS = { "maxHealth", "maxFullness", "maxSleep", "maxHappiness", "maxLove",
+        "fullnessRate", "sleepRate", "happinessRate", "loveRate", "sleepPenalty", "sleepRecovery",
+        "hungerHealthPenalty", "hungerHappinessDrain" };
+
+    /** The values used for columns the file leaves out */
+    private static final int[] DEFAULTS = { 0, 0, 0, 0, 0, 0, 0, 0, 0, 10, 5, 2, 2 };
+
+    private static final PetTypeRegistry shared = new PetTypeRegistry(DEFAULT_PATH);
+
+    private final Map<String, petType> types;
+    private final Map<String, petType> unknown = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a registry from a species file. Use {@link #getShared()} for the game's
+     * species.
+     *
+     * @param path the path to the species CSV file
+     */
+    public PetTypeRegistry(String path) {
+        types = Collections.unmodifiableMap(load(path));
+    }
+
+    /**
+     * Returns the registry of the game's species, shared by the whole process.
+     *
+     * @return the shared registry
+     */
+    public static PetTypeRegistry getShared() {
+        return shared;
+    }
+
+    /**
+     * Looks up a species by name.
+     *
+     * @param type the name of the species (e.g., "goose")
+     * @return the shared petType; an unknown name gives a shared type with all-zero statistics
+     */
+    public petType get(String type) {
+        petType found = types.get(type);
+        if (found != null) {
+            return found;
+        }
+        return unknown.computeIfAbsent(type, name -> new petType(name, DEFAULTS.clone()));
+    }
+
+    /**
+     * Used to check whether a species is defined in the file.
+     *
+     * @param type the name of the species
+     * @return true if the file has a row for it
+     */
+    public boolean contains(String type) {
+        return types.containsKey(type);
+    }
+
+    /**
+     * Returns the names of the defined species, in file order.
+     *
+     * @return an unmodifiable set of names
+     */
+    public Set<String> getTypes() {
+        return types.keySet();
+    }
+
+    /**
+     * Parses the species file. A missing or unreadable file leaves the registry empty.
+     */
+    private static Map<String, petType> load(String path) {
+        Map<String, petType> loaded = new LinkedHashMap<>();
+        List<String> lines;
+        try {
+            lines = AtomicSaveFile.readLines(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return loaded;
+        }
+        if (lines.isEmpty()) {
+            return loaded;
+        }
+
+        Map<String, Integer> header = new HashMap<>();
+        String[] names = lines.get(0).split(",");
+        for (int i = 0; i < names.length; i++) {
+            header.put(names[i].trim(), i);
+        }
+        for (String line : lines.subList(1, lines.size())) {
+            if (line.isBlank()) {
+                continue;
+            }
+            String[] data = line.split(",");
+            try {
+                String type = data[header.getOrDefault("type", 0)].trim();
+                int[] values = DEFAULTS.clone();
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    Integer column = header.get(COLUMNS[i]);
+                    if (column != null && column < data.length) {
+                        values[i] = Integer.parseInt(data[column].trim());
+                    }
+                }
+                loaded.putIfAbsent(type, new petType(type, values));
+            } catch (RuntimeException e) {
+                System.err.println("Skipping malformed species in " + path + ": " + line);
+            }
+        }
+        return loaded;
+    }
+}
@@ -1,9 +1,6 @@
-import java.io.FileWriter;
-import java.io.File;
 import java.io.IOException;
-import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Represents a player in the game, managing their pet, inventory, score, and game state.
@@ -29,54 +26,38 @@ public class Player {
     }
 
     /**
-     * Saves the current game state to the specified save file.
+     * Constructs a Player from game state that has already been loaded, without reading the
+     * save files (e.g. a slot decoded by {@link BinarySaveCodec}).
      *
-     * @param saveFile The name of the save file to save the game state to.
+     * @param saveFile    The name of the save file the state belongs to.
+     * @param pet         The player's pet.
+     * @param inventory   The player's inventory.
+     * @param score       The player's score.
+     * @param currentTime The saved time in "HH:mm" format.
      */
-    public void saveGame(String saveFile) {
-        String saveDirPath = "src/model/saveFiles/" + saveFile;
-        File saveDir = new File(saveDirPath);
-        if (!saveDir.exists()) {
-            saveDir.mkdirs(); // Ensure the directory exists
-        }
-
-        String inventorySavePath = saveDirPath + "/" + saveFile + "_inventory.csv";
-        String petSavePath = saveDirPath + "/" + saveFile + "_pet.csv";
-
-        savePet(petSavePath); // Save pet data
-        inventory.saveInventory(inventorySavePath); // Save inventory data
+    public Player(String saveFile, Pet pet, Inventory inventory, int score, String currentTime) {
+        this.saveFile = saveFile;
+        this.pet = pet;
+        this.inventory = inventory;
+        this.score = score;
+        this.currentTime = currentTime;
     }
 
     /**
-     * Saves the pet's state to a CSV file.
-     * Helper method to {@link saveGame}
+     * Saves the current game state to the specified save file. The state is copied on the
+     * calling thread and written on the save slot's I/O thread (see
+     * {@link SaveJournal#save(SaveSnapshot)}), so it never interleaves with a compaction of
+     * the same slot and the calling thread does not wait for the disk.
      *
-     * @param petSavePath The file path where the pet's state will be saved.
+     * @param saveFile The name of the save file to save the game state to.
+     * @return a future that completes when both files are written
      */
-    private void savePet(String petSavePath) {
-        try (FileWriter writer = new FileWriter(petSavePath)) {
-            // Write the header for the CSV file
-            writer.write("name,type,state,fullness,energy,health,love,happiness,score,time played\n");
-            StringBuilder petLine = new StringBuilder();
-
-            // Append pet attributes and player score/time to the CSV line
-            petLine.append(pet.getName()).append(",");
-            petLine.append(pet.getTypeString()).append(",");
-            petLine.append(pet.getState()).append(",");
-            petLine.append(pet.getFullness()).append(",");
-            petLine.append(pet.getSleep()).append(",");
-            petLine.append(pet.getHealth()).append(",");
-            petLine.append(pet.getLove()).append(",");
-            petLine.append(pet.getHappiness()).append(",");
-            petLine.append(score).append(",");
-            petLine.append(currentTime);
-
-            writer.write(petLine.toString()); // Write the pet data to the file
-
-            System.out.print(petLine); // Print the pet data to the console
-        } catch (IOException e) {
-            e.printStackTrace(); // Handle file writing errors
-        }
+    public CompletableFuture<Void> saveGame(String saveFile) {
+        long start = System.nanoTime();
+        SaveSnapshot snapshot = SaveSnapshot.of(this, saveFile);
+        System.out.print(snapshot.petLine()); // Print the pet data to the console
+        return SaveJournal.forSlot(saveFile).save(snapshot) // The snapshot now includes every journaled change
+            .whenComplete((done, error) -> GameMetrics.recordSince(GameMetrics.Metric.SAVE, start));
     }
 
     /**
@@ -85,49 +66,44 @@ public class Player {
      * @param saveFile The name of the save file to load the game state from.
      */
     void loadGame(String saveFile) {
-        String saveFilePath = "src/model/saveFiles/" + saveFile + "/" + saveFile + "_pet.csv";
-        String inventorySavePath = "src/model/saveFiles/" + saveFile + "/" + saveFile + "_inventory.csv";
-
-        pet = new Pet(saveFile); // Initialize the pet
-        inventory = new Inventory(inventorySavePath); // Initialize the inventory
-
-        try (Scanner sc = new Scanner(new File(saveFilePath))) {
-            if (sc.hasNextLine())
-                sc.nextLine(); // Skip the header line
-            if (sc.hasNextLine()) {
-                String[] data = sc.nextLine().split(","); // Read the pet data
-                this.score = Integer.parseInt(data[8]); // Load the score
-                this.currentTime = data[9]; // Load the current time
-            } else {
-                // Initialize default values if no data is found
-                this.score = 0;
-                adjustCurrentTime(); // Set to the current time
-                saveGame(saveFile); // Save the initialized state
-            }
-        } catch (Exception e) {
+        long start = System.nanoTime();
+        SaveJournal.forSlot(saveFile).flush(); // Make sure queued changes from other screens are on disk
+        try {
+            SaveSnapshot snapshot = SaveSnapshot.load(saveFile); // Reads each save file once
+            this.pet = snapshot.toPet();
+            this.inventory = snapshot.toInventory();
+            this.score = snapshot.score(); // Load the score
+            this.currentTime = snapshot.currentTime(); // Load the current time
+        } catch (IOException e) {
             // Handle missing or corrupted save files
             System.err.println("Save file missing or corrupted, initializing defaults.");
+            pet = new Pet(saveFile); // Keeps whatever pet data is still readable
+            inventory = new Inventory("src/model/saveFiles/" + saveFile + "/" + saveFile + "_inventory.csv");
             this.score = 0;
             adjustCurrentTime(); // Set to the current time
-            saveGame(saveFile); // Save the initialized state
+            saveGame(saveFile).join(); // Save the initialized state before the journal is stamped against it
         }
+
+        SaveJournal.forSlot(saveFile).replay(this); // Apply changes made since the last snapshot
+        GameMetrics.recordSince(GameMetrics.Metric.LOAD, start);
     }
 
     /**
-     * Updates the current time to the system's current time.
+     * Updates the current time to the time of day on the {@link GameClock}.
      */
     public void adjustCurrentTime() {
-        currentTime = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm"));
+        currentTime = GameClock.current().localTime().format(DateTimeFormatter.ofPattern("HH:mm"));
     }
 
     /**
      * Saves the current game state to the save file after updating the current time.
      *
      * @param saveFile The name of the save file to save the game state to.
+     * @return a future that completes when both files are written
      */
-    public void saveToFile(String saveFile) {
+    public CompletableFuture<Void> saveToFile(String saveFile) {
         adjustCurrentTime(); // Update the current time
-        saveGame(saveFile); // Save the game state
+        return saveGame(saveFile); // Save the game state
     }
 
     /**
@@ -167,22 +143,24 @@ public class Player {
     }
 
     /**
-     * Adjusts the player's score by the specified amount and saves the game state.
+     * Adjusts the player's score by the specified amount and records the change in the save journal.
+     * The CSV snapshot is rewritten later by {@link SaveJournal} compaction.
      *
      * @param amount The amount to adjust the score by.
      */
     public void adjustScore(int amount) {
         this.score += amount;
-        saveGame(saveFile);
+        SaveJournal.forSlot(saveFile).recordScore(score);
     }
 
     /**
-     * Updates the player's inventory and saves the game state.
+     * Updates the player's inventory and records the changed items in the save journal.
+     * The CSV snapshot is rewritten later by {@link SaveJournal} compaction.
      *
      * @param inventory The new inventory to set for the player.
      */
     public void adjustInventory(Inventory inventory) {
         this.inventory = inventory;
-        saveGame(saveFile);
+        SaveJournal.forSlot(saveFile).recordInventory(inventory);
     }
 }
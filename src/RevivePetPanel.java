@@ -164,9 +164,9 @@ public class RevivePetPanel extends JPanel {
      */
     private void savePetToFile(Pet pet, String slot) {
         String path = "src/model/saveFiles/" + slot + "/" + slot + "_pet.csv"; // Construct the file path based on the selected save slot
-        try (PrintWriter writer = new PrintWriter(new FileWriter(path))) {
-            writer.println("name,type,state,fullness,energy,health,love,happiness,score,time played"); // Write the CSV header line to the file.
-            writer.printf("%s,%s,%s,%d,%d,%d,%d,%d,%d,%s%n",
+        try {
+            String contents = "name,type,state,fullness,energy,health,love,happiness,score,time played\n" // The CSV header line
+                + String.format("%s,%s,%s,%d,%d,%d,%d,%d,%d,%s%n",
                     pet.getName(), 
                     pet.getTypeString(), 
                     pet.getState(),
@@ -177,6 +177,7 @@ public class RevivePetPanel extends JPanel {
                     pet.getHappiness(),
                     0,
                     "00:00");
+            AtomicSaveFile.write(path, contents);
         } catch (IOException e) {
             e.printStackTrace();
         }
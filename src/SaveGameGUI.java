@@ -2,7 +2,6 @@ import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
 import java.io.File;
-import java.io.IOException;
 
 /**
  * A GUI class for handling the save operation in the Duck Duck Goose game.
@@ -33,14 +32,7 @@ public class SaveGameGUI extends JFrame{
     setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
     
     // Load custom font
-    try {
-        customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(24f);
-        GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-        ge.registerFont(customFont);
-    } catch (IOException | FontFormatException e) {
-        e.printStackTrace();
-        customFont = new Font("Arial", Font.BOLD, 24);
-    }
+    customFont = FontRegistry.getFont(24f, new Font("Arial", Font.BOLD, 24));
     
     // Set up UI background (consists of save button and a clock) using UIPanelBuilder class
     UIPanelBuilder builder = new UIPanelBuilder();
@@ -59,7 +51,7 @@ public class SaveGameGUI extends JFrame{
     centerPanel.setOpaque(false);
     
     // Top banner for selecting the game file
-    JLabel topBanner = new JLabel(new ImageIcon("assets/select_game.png"));
+    JLabel topBanner = new JLabel(AssetCache.getIcon("assets/select_game.png"));
     topBanner.setAlignmentX(Component.CENTER_ALIGNMENT);
     centerPanel.add(Box.createVerticalStrut(20));
     centerPanel.add(topBanner);
@@ -109,7 +101,7 @@ private JPanel createSavePanel(String imagePath, int slotNumber) {
     panel.setMaximumSize(new Dimension(400, 80));
     panel.setOpaque(false);
 
-    ImageIcon icon = new ImageIcon(imagePath);
+    ImageIcon icon = AssetCache.getIcon(imagePath);
     JButton button = new JButton(icon);
     button.setBounds(0, 0, 400, 80);
     button.setContentAreaFilled(false);
@@ -175,23 +167,23 @@ private void selectSaveSlot() {
         if (!overwriteDialog.isConfirmed()) return; // Abort the select operation if the overwrite is not confirmed
     }
 
-    // Save the current game state
-    currentPlayer.saveToFile(saveFileString);
-    
-    // Show success message using custom confirmation dialog
-    ConfirmationDialog saveCompleteDialog = new ConfirmationDialog(
-        this, 
-        "Game Saved!",
-        "Game successfully saved to<br/>" + saveFileString + ".",
-        "assets/confirm.png",
-        null,  
-        customFont
-    );
-    saveCompleteDialog.setVisible(true);
+    // Save the current game state; the files are written off the EDT
+    currentPlayer.saveToFile(saveFileString).thenRun(() -> SwingUtilities.invokeLater(() -> {
+        // Show success message using custom confirmation dialog
+        ConfirmationDialog saveCompleteDialog = new ConfirmationDialog(
+            this, 
+            "Game Saved!",
+            "Game successfully saved to<br/>" + saveFileString + ".",
+            "assets/confirm.png",
+            null,  
+            customFont
+        );
+        saveCompleteDialog.setVisible(true);
 
-    // Return to main menu
-    dispose();
-    new MainMenuGUI();
+        // Return to main menu
+        dispose();
+        new MainMenuGUI();
+    }));
 }
 
 
@@ -225,11 +217,9 @@ private void deleteSaveSlot() {
     deleteDialog.setVisible(true);
 
     if (deleteDialog.isConfirmed()) {
-        File petFile = new File("src/model/saveFiles/" + saveFileString + "/" + saveFileString + "_pet.csv");
-        File invFile = new File("src/model/saveFiles/" + saveFileString + "/" + saveFileString + "_inventory.csv");
-        
-        if (petFile.exists()) petFile.delete();
-        if (invFile.exists()) invFile.delete();
+        // Remove the backup generations too so the deleted save cannot be restored from them
+        AtomicSaveFile.delete("src/model/saveFiles/" + saveFileString + "/" + saveFileString + "_pet.csv");
+        AtomicSaveFile.delete("src/model/saveFiles/" + saveFileString + "/" + saveFileString + "_inventory.csv");
 
         ConfirmationDialog deletedConfirmDialog = new ConfirmationDialog(
             this,
@@ -250,7 +240,7 @@ private void deleteSaveSlot() {
  * @return the configured JButton with image background 
  */
 private JButton imageButton(String imagePath, Runnable onClick) {
-    JButton button = new JButton(new ImageIcon(imagePath));
+    JButton button = new JButton(AssetCache.getIcon(imagePath));
     button.setContentAreaFilled(false);
     button.setBorderPainted(false);
     button.setFocusPainted(false);
@@ -271,7 +261,7 @@ class ImagePanel extends JPanel {
      */
     public ImagePanel(String imagePath) {
         try {
-            backgroundImage = new ImageIcon(imagePath).getImage();
+            backgroundImage = AssetCache.getIcon(imagePath).getImage();
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -0,0 +1,507 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.zip.CRC32;
+import javax.swing.SwingUtilities;
+
+/**
+ * An append-only change journal for a save slot.
+ * <p>
+ * Instead of rewriting both CSV files on every score or inventory change, {@link Player}
+ * records the change here. Records are queued in memory and appended to
+ * {@code <save>_journal.log} by a background flusher, and the journal is periodically
+ * compacted into the CSV snapshot (and on exit) by saving the player of the current
+ * {@link GameContext} session, if it plays this slot. Other players of the slot (a screen
+ * opened from its main method, or a slot being converted) never compact it.
+ * </p>
+ * <p>
+ * Compaction copies the player into a {@link SaveSnapshot} on the Event Dispatch Thread,
+ * where the game changes the inventory and score, and writes the copy on a single I/O thread
+ * shared by every slot; {@link Player#saveGame(String)} writes through the same thread, so two
+ * writes of a slot never interleave. The {@link GameScheduler} only triggers the periodic
+ * flush and compaction, which run on the I/O thread too. The journal's lock is only held for
+ * in-memory work, so recording a change never waits for the snapshot to be written. Records
+ * made after the copy was taken stay in the journal.
+ * </p>
+ * <p>
+ * The first line of the journal names the snapshot it applies to (a stamp of both CSV
+ * files). If the snapshot has been rewritten by anything else since, the journal is
+ * stale and is discarded instead of replayed.
+ * </p>
+ * <p>
+ * The intervals can be changed with the {@code ddg.journal.flushMillis} and
+ * {@code ddg.journal.compactMillis} system properties.
+ * </p>
+ */
+public class SaveJournal {
+    /** How often queued records are appended to disk, in milliseconds */
+    public static final long FLUSH_MILLIS = Long.getLong("ddg.journal.flushMillis", 500);
+    /** How often dirty journals are compacted into the CSV snapshot, in milliseconds */
+    public static final long COMPACT_MILLIS = Long.getLong("ddg.journal.compactMillis", 30_000);
+
+    private static final String SAVE_ROOT = "src/model/saveFiles/";
+    private static final long SHUTDOWN_WAIT_MILLIS = 10_000;
+    private static final Map<String, SaveJournal> journals = new HashMap<>();
+    private static final ExecutorService io = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "save-io");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static boolean flusherStarted;
+
+    private final String saveFile;
+    private final Path journalPath;
+    private final Object fileLock = new Object(); // Guards the journal file; taken before this
+    private final ConcurrentLinkedQueue<String> pending = new ConcurrentLinkedQueue<>();
+    private final List<Record> sinceSnapshot = new ArrayList<>(); // Every record the snapshot lacks
+    private final Map<String, Integer> journaledQuantities = new HashMap<>();
+    private long recorded; // Sequence number of the latest record
+    private String baseStamp;
+    private volatile boolean dirty;
+
+    /**
+     * A journal record and its sequence number.
+     */
+    private record Record(long sequence, String line) {
+    }
+
+    /**
+     * A copy of a player and the sequence number of the latest record it includes.
+     */
+    private record Capture(SaveSnapshot snapshot, long sequence) {
+    }
+
+    /**
+     * Constructs the journal for a save slot. Use {@link #forSlot(String)} instead so every
+     * Player of the same slot shares one journal.
+     *
+     * @param saveFile the name of the save slot
+     */
+    private SaveJournal(String saveFile) {
+        this.saveFile = saveFile;
+        this.journalPath = Paths.get(SAVE_ROOT + saveFile, saveFile + "_journal.log");
+    }
+
+    /**
+     * Returns the journal shared by every Player of the given save slot, starting the
+     * background flusher on first use. The {@link GameScheduler} hands each flush and
+     * compaction to the I/O thread, so its threads never wait on the disk.
+     *
+     * @param saveFile the name of the save slot
+     * @return the slot's journal
+     */
+    public static synchronized SaveJournal forSlot(String saveFile) {
+        if (!flusherStarted) {
+            flusherStarted = true;
+            GameScheduler scheduler = GameScheduler.getShared();
+            scheduler.scheduleAtFixedRate(() -> io.execute(SaveJournal::flushAll),
+                FLUSH_MILLIS, FLUSH_MILLIS, TimeUnit.MILLISECONDS);
+            scheduler.scheduleAtFixedRate(() -> io.execute(SaveJournal::compactAll),
+                COMPACT_MILLIS, COMPACT_MILLIS, TimeUnit.MILLISECONDS);
+            Runtime.getRuntime().addShutdownHook(new Thread(SaveJournal::compactOnExit));
+        }
+        return journals.computeIfAbsent(saveFile, SaveJournal::new);
+    }
+
+    /**
+     * Appends every queued record of every journal to disk.
+     */
+    public static void flushAll() {
+        for (SaveJournal journal : snapshotOfJournals()) {
+            try {
+                journal.flush();
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // Keep the periodic flusher alive
+            }
+        }
+    }
+
+    /**
+     * Compacts every journal that has changes since its last snapshot.
+     *
+     * @return a future that completes when every snapshot has been written
+     */
+    public static CompletableFuture<Void> compactAll() {
+        return compactAll(SaveJournal::onEventDispatchThread);
+    }
+
+    /**
+     * Compacts every journal, copying the players with the given executor.
+     */
+    private static CompletableFuture<Void> compactAll(Executor capture) {
+        List<CompletableFuture<Void>> writes = new ArrayList<>();
+        for (SaveJournal journal : snapshotOfJournals()) {
+            try {
+                writes.add(journal.compact(capture));
+            } catch (RuntimeException e) {
+                e.printStackTrace(); // Keep the periodic compaction alive
+            }
+        }
+        return CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0]));
+    }
+
+    /**
+     * Compacts every journal as the JVM exits. The Event Dispatch Thread may itself be waiting
+     * in {@code System.exit}, so the players are copied on the exiting thread instead.
+     */
+    private static void compactOnExit() {
+        try {
+            compactAll(Runnable::run).get(SHUTDOWN_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Records the player's new score.
+     *
+     * @param score the score after the change
+     */
+    public synchronized void recordScore(int score) {
+        record("score," + score);
+    }
+
+    /**
+     * Records every item whose quantity differs from what was last journaled.
+     *
+     * @param inventory the inventory after the change
+     */
+    public synchronized void recordInventory(Inventory inventory) {
+        for (InventoryObject item : inventory.getItems()) {
+            Integer journaled = journaledQuantities.get(item.getName());
+            if (journaled == null || journaled != item.getAmount()) {
+                record(String.format("item,%s,%s,%d,%d,%d",
+                    item.getName(), item.getType(), item.getAmount(), item.getPrice(), item.getStats()));
+                journaledQuantities.put(item.getName(), item.getAmount());
+            }
+        }
+        dirty = true;
+    }
+
+    /**
+     * Queues a record for the journal file and numbers it.
+     */
+    private synchronized void record(String line) {
+        recorded++;
+        sinceSnapshot.add(new Record(recorded, line));
+        pending.add(line);
+        dirty = true;
+    }
+
+    /**
+     * Appends the queued records to the journal file. If nothing was replayed into a player
+     * of this slot (it was created from a {@link SaveSnapshot} or a new game), the records
+     * apply to the CSV snapshot as it is now, so the journal file is started over against it.
+     */
+    public void flush() {
+        synchronized (fileLock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            File file = journalPath.toFile();
+            if (!file.getParentFile().exists()) {
+                pending.clear(); // The slot was deleted, so there is nothing left to journal against
+                return;
+            }
+            boolean fresh = !file.exists() || file.length() == 0;
+            if (baseStamp == null) { // Only changed under fileLock, which is held here
+                String stamp = snapshotStamp();
+                synchronized (this) {
+                    baseStamp = stamp;
+                }
+                fresh = true;
+            }
+            try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, !fresh))) {
+                if (fresh) {
+                    writer.write("base," + baseStamp);
+                    writer.newLine();
+                }
+                String record;
+                while ((record = pending.poll()) != null) {
+                    writer.write(record);
+                    writer.newLine();
+                }
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Applies the journaled changes to a player that was just loaded from the snapshot. A
+     * journal written against a different snapshot is discarded.
+     *
+     * @param player the freshly loaded player
+     */
+    public void replay(Player player) {
+        synchronized (fileLock) {
+            flush();
+            String stamp = snapshotStamp();
+            List<String> records = readRecords();
+            boolean current = !records.isEmpty() && records.get(0).equals("base," + stamp);
+            if (!current) {
+                rebase(stamp, List.of());
+            }
+            synchronized (this) {
+                sinceSnapshot.clear();
+                if (current) {
+                    for (String record : records.subList(1, records.size())) {
+                        if (apply(player, record)) {
+                            sinceSnapshot.add(new Record(++recorded, record));
+                        }
+                    }
+                } else {
+                    dirty = false;
+                }
+
+                baseStamp = stamp;
+                rememberQuantities(player.getInventory());
+            }
+        }
+    }
+
+    /**
+     * Writes a snapshot of a player over the slot's CSV files on the I/O thread. The snapshot
+     * must have been taken on the thread that records the player's changes, right before this
+     * call, so it includes every record made so far. Called by
+     * {@link Player#saveGame(String)}.
+     *
+     * @param snapshot the copy of the player to write
+     * @return a future that completes when the snapshot has been written
+     */
+    public CompletableFuture<Void> save(SaveSnapshot snapshot) {
+        Capture capture = captured(snapshot);
+        return CompletableFuture.runAsync(() -> write(capture), io);
+    }
+
+    /**
+     * Rewrites the CSV snapshot from the session's player if anything was journaled since
+     * the last snapshot. The player is copied on the Event Dispatch Thread and written on
+     * the I/O thread; the calling thread does not wait for either.
+     *
+     * @return a future that completes when the snapshot has been written, at once if there
+     *         was nothing to compact
+     */
+    public CompletableFuture<Void> compact() {
+        return compact(SaveJournal::onEventDispatchThread);
+    }
+
+    /**
+     * Compacts the journal, copying the player with the given executor.
+     */
+    private CompletableFuture<Void> compact(Executor capture) {
+        flush();
+        Player player = sessionPlayer();
+        if (!dirty || player == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> captured(SaveSnapshot.of(player, saveFile)), capture)
+            .thenAcceptAsync(this::write, io);
+    }
+
+    /**
+     * Returns the player of the current session if it plays this slot.
+     *
+     * @return the session's player, or null if this slot is not being played
+     */
+    private Player sessionPlayer() {
+        GameContext session = GameContext.current();
+        return session != null && saveFile.equals(session.getSaveFile()) ? session.getPlayer() : null;
+    }
+
+    /**
+     * Pairs a freshly taken snapshot with the latest record, and diffs later inventory
+     * changes against its quantities.
+     */
+    private synchronized Capture captured(SaveSnapshot snapshot) {
+        journaledQuantities.clear();
+        for (SaveSnapshot.Item item : snapshot.items()) {
+            journaledQuantities.put(item.name(), item.quantity());
+        }
+        return new Capture(snapshot, recorded);
+    }
+
+    /**
+     * Writes a snapshot and checkpoints the journal against it. Runs on the I/O thread.
+     */
+    private void write(Capture capture) {
+        try {
+            capture.snapshot().write();
+            checkpoint(capture.sequence());
+        } catch (IOException e) {
+            e.printStackTrace(); // The journal stays dirty and the next compaction tries again
+        }
+    }
+
+    /**
+     * Marks the CSV snapshot as freshly written up to a record: the records it includes are
+     * dropped and the journal file is rewritten against the new snapshot with the records
+     * made since.
+     *
+     * @param sequence the sequence number of the latest record in the snapshot
+     */
+    private void checkpoint(long sequence) {
+        synchronized (fileLock) {
+            String stamp = snapshotStamp();
+            List<String> lines = new ArrayList<>();
+            synchronized (this) {
+                sinceSnapshot.removeIf(record -> record.sequence() <= sequence);
+                pending.clear(); // Records made from here on are appended by the next flush
+                baseStamp = stamp;
+                for (Record record : sinceSnapshot) {
+                    lines.add(record.line());
+                }
+                dirty = !sinceSnapshot.isEmpty();
+            }
+            rebase(stamp, lines); // Outside the journal's lock, so recording never waits for it
+        }
+    }
+
+    /**
+     * Runs a task on the Event Dispatch Thread, at once if already on it.
+     */
+    private static void onEventDispatchThread(Runnable task) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            task.run();
+        } else {
+            SwingUtilities.invokeLater(task);
+        }
+    }
+
+    /**
+     * Used to check whether the journal holds changes that are not in the CSV snapshot yet.
+     *
+     * @return true if the snapshot is behind the journal
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Applies a single journal record to a player.
+     *
+     * @return true if the record was applied
+     */
+    private boolean apply(Player player, String record) {
+        String[] parts = record.split(",");
+        try {
+            if (parts[0].equals("score") && parts.length == 2) {
+                player.score = Integer.parseInt(parts[1].trim());
+                dirty = true;
+                return true;
+            } else if (parts[0].equals("item") && parts.length == 6) {
+                String name = parts[1];
+                int quantity = Integer.parseInt(parts[3].trim());
+                InventoryObject existing = player.getInventory().getItem(name);
+                if (existing != null) {
+                    existing.setQty(quantity);
+                } else {
+                    player.getInventory().addItem(new InventoryObject(name, parts[2],
+                        quantity, Integer.parseInt(parts[4].trim()), Integer.parseInt(parts[5].trim())), quantity);
+                }
+                dirty = true;
+                return true;
+            }
+        } catch (NumberFormatException e) {
+            // A torn final record from a crash mid-append; everything before it still applies
+            System.err.println("Skipping malformed journal record: " + record);
+        }
+        return false;
+    }
+
+    /**
+     * Rewrites the journal file as a base line for the given snapshot followed by records.
+     */
+    private void rebase(String stamp, List<String> records) {
+        File file = journalPath.toFile();
+        if (!file.getParentFile().exists()) {
+            return;
+        }
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file, false))) {
+            writer.write("base," + stamp);
+            writer.newLine();
+            for (String record : records) {
+                writer.write(record);
+                writer.newLine();
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads every line of the journal file.
+     */
+    private List<String> readRecords() {
+        try {
+            return Files.exists(journalPath) ? Files.readAllLines(journalPath) : new ArrayList<>();
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Remembers the current item quantities so only later changes are journaled.
+     */
+    private void rememberQuantities(Inventory inventory) {
+        journaledQuantities.clear();
+        if (inventory == null) {
+            return;
+        }
+        for (InventoryObject item : inventory.getItems()) {
+            journaledQuantities.put(item.getName(), item.getAmount());
+        }
+    }
+
+    /**
+     * Identifies the current CSV snapshot by the size, modification time and checksum of
+     * both files.
+     */
+    private String snapshotStamp() {
+        String dir = SAVE_ROOT + saveFile + "/" + saveFile;
+        return fileStamp(Paths.get(dir + "_pet.csv")) + "|" + fileStamp(Paths.get(dir + "_inventory.csv"));
+    }
+
+    /**
+     * Builds the stamp of a single file.
+     */
+    private static String fileStamp(Path path) {
+        try {
+            if (!Files.exists(path)) {
+                return "missing";
+            }
+            CRC32 crc = new CRC32();
+            crc.update(Files.readAllBytes(path));
+            long modified = Files.getLastModifiedTime(path).to(TimeUnit.NANOSECONDS);
+            return Files.size(path) + ":" + modified + ":" + Long.toHexString(crc.getValue());
+        } catch (IOException e) {
+            return "unreadable";
+        }
+    }
+
+    /**
+     * Copies the journal registry so it can be iterated without holding the class lock.
+     */
+    private static synchronized List<SaveJournal> snapshotOfJournals() {
+        return new ArrayList<>(journals.values());
+    }
+}
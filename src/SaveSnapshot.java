@@ -0,0 +1,208 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * An immutable copy of a save slot as it is on disk, read with a single pass over each of
+ * the slot's CSV files.
+ * <p>
+ * {@link Player#loadGame(String)} used to parse the pet file twice, once in
+ * {@link Pet#Pet(String)} and once more for the score and time. It now loads a snapshot
+ * and builds the {@link Pet}, {@link Inventory} and its own fields from it.
+ * </p>
+ *
+ * @param saveFile    the name of the save slot
+ * @param petName     the name of the pet
+ * @param petType     the type of the pet
+ * @param state       the state of the pet
+ * @param fullness    the pet's fullness
+ * @param sleep       the pet's sleep
+ * @param health      the pet's health
+ * @param love        the pet's love
+ * @param happiness   the pet's happiness
+ * @param score       the player's score
+ * @param currentTime the saved time in "HH:mm" format
+ * @param items       the inventory items, in file order
+ */
+public record SaveSnapshot(String saveFile, String petName, String petType, String state, int fullness,
+        int sleep, int health, int love, int happiness, int score, String currentTime, List<Item> items) {
+
+    private static final String SAVE_ROOT = "src/model/saveFiles/";
+    private static final String PET_HEADER = "name,type,state,fullness,energy,health,love,happiness,score,time played\n";
+
+    /**
+     * A single inventory line.
+     *
+     * @param name     the item's name
+     * @param type     the item's type
+     * @param quantity the number of items held
+     * @param price    the item's price
+     * @param stats    the item's stat effect
+     */
+    public record Item(String name, String type, int quantity, int price, int stats) {
+        /**
+         * Creates a new, mutable inventory object for this item.
+         *
+         * @return the inventory object
+         */
+        public InventoryObject toInventoryObject() {
+            return new InventoryObject(name, type, quantity, price, stats);
+        }
+    }
+
+    /**
+     * Makes the item list unmodifiable.
+     */
+    public SaveSnapshot {
+        items = Collections.unmodifiableList(new ArrayList<>(items));
+    }
+
+    /**
+     * Copies the state of a player. Must be called on the thread that changes the player's
+     * inventory and score (the Event Dispatch Thread in the game), so the copy is never
+     * taken halfway through a change. The pet's statistics are read in one atomic step.
+     *
+     * @param player   the player
+     * @param saveFile the save slot the copy is for
+     * @return the snapshot of the player
+     */
+    public static SaveSnapshot of(Player player, String saveFile) {
+        Pet pet = player.getPet();
+        long stats = pet.getStats();
+        List<Item> items = new ArrayList<>();
+        for (InventoryObject item : player.getInventory().getItems()) {
+            items.add(new Item(item.getName(), item.getType(), item.getAmount(), item.getPrice(), item.getStats()));
+        }
+        return new SaveSnapshot(saveFile, pet.getName(), pet.getTypeString(), pet.getState(),
+            Pet.stat(stats, Pet.Stat.FULLNESS), Pet.stat(stats, Pet.Stat.SLEEP), Pet.stat(stats, Pet.Stat.HEALTH),
+            Pet.stat(stats, Pet.Stat.LOVE), Pet.stat(stats, Pet.Stat.HAPPINESS), player.getScore(),
+            player.getCurrentTime(), items);
+    }
+
+    /**
+     * Formats the pet line of the pet CSV file: the pet, the score and the saved time.
+     *
+     * @return the line, without a line break
+     */
+    public String petLine() {
+        return petName + "," + petType + "," + state + "," + fullness + "," + sleep + "," + health + "," + love + ","
+            + happiness + "," + score + "," + currentTime;
+    }
+
+    /**
+     * Writes this snapshot over the slot's pet and inventory CSV files, each replaced
+     * atomically by {@link AtomicSaveFile}. The slot's directory is created if needed.
+     *
+     * @throws IOException if either file could not be written
+     */
+    public void write() throws IOException {
+        String dir = SAVE_ROOT + saveFile;
+        Files.createDirectories(Paths.get(dir));
+        AtomicSaveFile.write(dir + "/" + saveFile + "_pet.csv", PET_HEADER + petLine());
+
+        StringBuilder contents = new StringBuilder();
+        for (Item item : items) {
+            contents.append(String.format("%s,%s,%d,%d,%d", item.name(), item.type(), item.quantity(), item.price(),
+                item.stats())).append('\n');
+        }
+        AtomicSaveFile.write(dir + "/" + saveFile + "_inventory.csv", contents.toString());
+    }
+
+    /**
+     * Reads a save slot. Each CSV file is read once, and a corrupted file is replaced by its
+     * last good generation (see {@link AtomicSaveFile}). A missing inventory file is read as
+     * an empty inventory.
+     *
+     * @param saveFile the name of the save slot
+     * @return the snapshot of the slot
+     * @throws IOException if the pet file is missing, unreadable or has no valid pet line
+     */
+    public static SaveSnapshot load(String saveFile) throws IOException {
+        String dir = SAVE_ROOT + saveFile + "/" + saveFile;
+        List<String> lines = AtomicSaveFile.readLines(dir + "_pet.csv");
+        if (lines.size() < 2) {
+            throw new IOException("No pet data in save " + saveFile);
+        }
+        String[] data = lines.get(1).split(","); // Skip the header line
+        if (data.length < 10) {
+            throw new IOException("Malformed pet data in save " + saveFile + ": " + lines.get(1));
+        }
+
+        List<Item> items;
+        try {
+            items = readItems(dir + "_inventory.csv");
+        } catch (NoSuchFileException e) {
+            System.err.println("No inventory file for save " + saveFile + ", starting empty.");
+            items = List.of();
+        }
+
+        try {
+            return new SaveSnapshot(saveFile, data[0].trim(), data[1].trim(), data[2].trim(),
+                Integer.parseInt(data[3].trim()), Integer.parseInt(data[4].trim()), Integer.parseInt(data[5].trim()),
+                Integer.parseInt(data[6].trim()), Integer.parseInt(data[7].trim()), Integer.parseInt(data[8].trim()),
+                data[9], items);
+        } catch (NumberFormatException e) {
+            throw new IOException("Malformed pet data in save " + saveFile + ": " + lines.get(1), e);
+        }
+    }
+
+    /**
+     * Reads the items of an inventory CSV file, skipping empty and malformed lines.
+     *
+     * @param inventoryPath the path to the inventory file
+     * @return the items in file order
+     * @throws IOException if the file is missing or unreadable
+     */
+    public static List<Item> readItems(String inventoryPath) throws IOException {
+        List<Item> items = new ArrayList<>();
+        for (String line : AtomicSaveFile.readLines(inventoryPath)) {
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            String[] parts = line.split(",");
+            try {
+                items.add(new Item(parts[0].trim(), parts[1].trim(), Integer.parseInt(parts[2].trim()),
+                    Integer.parseInt(parts[3].trim()), Integer.parseInt(parts[4].trim())));
+            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+                System.err.println("Skipping malformed line: " + line);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Creates a new pet from this snapshot.
+     *
+     * @return the pet
+     */
+    public Pet toPet() {
+        return new Pet(petName, petType, state, fullness, sleep, health, love, happiness);
+    }
+
+    /**
+     * Creates a new inventory from this snapshot.
+     *
+     * @return the inventory
+     */
+    public Inventory toInventory() {
+        Inventory inventory = new Inventory();
+        for (Item item : items) {
+            inventory.addItem(item.toInventoryObject(), item.quantity());
+        }
+        return inventory;
+    }
+
+    /**
+     * Creates a new player from this snapshot. Journaled changes are not applied; use
+     * {@link Player#Player(String)} to load a slot for play.
+     *
+     * @return the player
+     */
+    public Player toPlayer() {
+        return new Player(saveFile, toPet(), toInventory(), score, currentTime);
+    }
+}
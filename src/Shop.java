@@ -4,69 +4,42 @@
  * Accesses the players inventory and adds purchased items to the player's inventory.
  * @author Chelsea Ye (cye68)
  */
-import java.io.BufferedReader;
-import java.io.FileReader;
-import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.List;
 
 public class Shop {
-    private ArrayList<InventoryObject> catalog = new ArrayList<>();
+    private final CatalogRepository catalog = CatalogRepository.getShared();
     private Inventory playerInventory;
     private Player player;
-    final String filePath = "src/model/saveFiles/Inventory_Catalog.csv";
  
     /**
-     * Constructs a Shop with a player's save file and loads item catalog from CSV.
+     * Constructs a Shop for a player's save file. The player is loaded from the save;
+     * use {@link #Shop(Player)} when the player is already loaded.
      *
      * @param saveFile the name of the player's save directory (used to load inventory and player data)
      */
     public Shop(String saveFile) {
-        this.playerInventory = new Inventory("src/model/saveFiles/"+saveFile+"/"+saveFile+"_inventory.csv");
-        this.player = new Player(saveFile);
-    
-        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-            String line;
-
-            // Read each line in the CSV
-            while ((line = br.readLine()) != null) {
-                // Skip empty or malformed lines
-                if (line.trim().isEmpty()) {
-                    continue;
-                }
-
-                // Split the line by commas
-                String[] parts = line.split(",");
-
-                // Basic validation of columns
-                if (parts.length < 5) {
-                    System.err.println("Skipping malformed line: " + line);
-                    continue;
-                }
-
-                // Parse the fields (adjust parsing logic for your CSV structure)
-                String name = parts[0].trim();
-                String type = parts[1].trim();
-                int quantity = Integer.parseInt(parts[2].trim());
-                int price = Integer.parseInt(parts[3].trim());
-                int stats = Integer.parseInt(parts[4].trim());
+        this(new Player(saveFile));
+    }
 
-                InventoryObject item = new InventoryObject(name, type, quantity, price, stats);
-                catalog.add(item);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    
+    /**
+     * Constructs a Shop for an already loaded player. The catalog comes from the shared
+     * {@link CatalogRepository}; opening a shop only checks whether the catalog file changed.
+     *
+     * @param player the player buying items
+     */
+    public Shop(Player player) {
+        this.player = player;
+        this.playerInventory = player.getInventory(); // Includes journaled changes not yet in the CSV
+        catalog.refresh();
     }
 
     /**
      * Returns the catalog of items available for purchase.
      *
-     * @return an ArrayList of InventoryObject representing the shop's catalog
+     * @return an unmodifiable list of read-only InventoryObjects representing the shop's catalog
      */
-    public ArrayList<InventoryObject> getCatalog() {
-        return catalog;
+    public List<InventoryObject> getCatalog() {
+        return catalog.getItems();
     }
 
     
@@ -89,23 +62,21 @@ public class Shop {
      * @return true if the purchase was successful, false otherwise
      */
     public boolean purchaseItem(String name, int qty) {
-        Iterator<InventoryObject> it = catalog.iterator();
-        while (it.hasNext()) {
-            InventoryObject current = it.next();
-            if (current.getName().equals(name)) {
-                int price = current.getPrice();
+        InventoryObject current = catalog.getItem(name);
+        if (current == null) {
+            return false;
+        }
+        int price = current.getPrice();
 
-                if (player.getScore() >= price*qty) {
-                    playerInventory.addItem(current, qty);
-                    player.adjustInventory(playerInventory);
-                    player.adjustScore(-(price*qty));
-                    return true;
-                } else {
-                    return false;                
-                }
-            }
+        if (player.getScore() >= price*qty) {
+            // Copy the shared catalog item, the inventory keeps and changes its own object
+            InventoryObject item = new InventoryObject(current.getName(), current.getType(), 0, price, current.getStats());
+            playerInventory.addItem(item, qty);
+            player.adjustInventory(playerInventory);
+            player.adjustScore(-(price*qty));
+            return true;
+        } else {
+            return false;                
         }
-        return false;
-        
     }
 }
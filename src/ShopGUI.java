@@ -1,7 +1,5 @@
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
 
 /**
  * <p> ShopGUI represents the graphical user interface for the shop in the game.
@@ -23,19 +21,22 @@ public class ShopGUI extends JFrame {
      * @param saveFile The save file to load the shop and player data.
      */
     public ShopGUI(String saveFile) {
+        this(new Player(saveFile), saveFile);
+    }
+
+    /**
+     * Constructs the ShopGUI for a player that is already loaded.
+     *
+     * @param player   The player using the shop.
+     * @param saveFile The save file the player belongs to.
+     */
+    public ShopGUI(Player player, String saveFile) {
         // Initialize shop and player
-        this.shop = new Shop(saveFile);
-        this.player = shop.getPlayer();
+        this.shop = new Shop(player);
+        this.player = player;
 
         // Load custom font
-        try {
-            this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf")).deriveFont(16f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-            customFont = new Font("Serif", Font.BOLD, 36);
-        }
+        this.customFont = FontRegistry.getFont(16f, new Font("Serif", Font.BOLD, 36));
 
         // Set up JFrame properties
         setTitle("Inventory");
@@ -52,13 +53,13 @@ public class ShopGUI extends JFrame {
 
         // Add action listener for the home button
         layout.homeButton.addActionListener(e-> {
-            new PetGUI(player, saveFile);
+            GameContext.forPlayer(player, saveFile).showPetScreen(); // Back to the hidden pet screen
             dispose();
         });
 
         // Create and configure header panel
         JLabel label = new JLabel("Shop");
-        label.setFont(customFont.deriveFont(60f));
+        label.setFont(FontRegistry.derive(customFont, 60f));
         label.setForeground(Color.WHITE);
         label.setHorizontalAlignment(SwingConstants.CENTER);
 
@@ -69,7 +70,7 @@ public class ShopGUI extends JFrame {
 
         // Create and configure score label
         scoreLabel = new JLabel("Score: " + player.getScore());
-        scoreLabel.setFont(customFont.deriveFont(20f));
+        scoreLabel.setFont(FontRegistry.derive(customFont, 20f));
         scoreLabel.setForeground(Color.BLACK);
         scoreLabel.setHorizontalAlignment(SwingConstants.RIGHT);
         headerPanel.add(scoreLabel, BorderLayout.EAST);
@@ -97,15 +98,12 @@ public class ShopGUI extends JFrame {
             itemButton.setFocusPainted(false);
             itemButton.setAlignmentX(Component.CENTER_ALIGNMENT);
 
-            // Load and scale item image
-            String imagePath = "assets/items/" + item.getName().toLowerCase().replace(" ", "_") + ".png";
-            ImageIcon icon = new ImageIcon(imagePath);
-            Image scaledIcon = icon.getImage().getScaledInstance(80, 80, Image.SCALE_SMOOTH);
-            itemButton.setIcon(new ImageIcon(scaledIcon));
+            // Item icon, pre-scaled in the shared atlas
+            itemButton.setIcon(ItemIconAtlas.getShared().getIcon(item.getName()));
 
             // Create item name label
             JLabel nameLabel = new JLabel(item.getName());
-            nameLabel.setFont(customFont.deriveFont(14f));
+            nameLabel.setFont(FontRegistry.derive(customFont, 14f));
             nameLabel.setForeground(Color.BLACK);
             nameLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
@@ -177,7 +175,7 @@ public class ShopGUI extends JFrame {
 
             // Create background panel with custom image
             JPanel bgPanel = new JPanel() {
-                Image bg = new ImageIcon("assets/popupBG.png").getImage();
+                Image bg = AssetCache.getIcon("assets/popupBG.png").getImage();
 
                 @Override
                 protected void paintComponent(Graphics g) {
@@ -190,7 +188,7 @@ public class ShopGUI extends JFrame {
 
             // Add title label
             JLabel titleLabel = new JLabel("Buy " + item.getName());
-            titleLabel.setFont(customFont.deriveFont(Font.BOLD, 22f));
+            titleLabel.setFont(FontRegistry.derive(customFont, Font.BOLD, 22f));
             titleLabel.setBounds(50, 20, 250, 30);
             titleLabel.setForeground(Color.BLACK);
             titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
@@ -198,20 +196,20 @@ public class ShopGUI extends JFrame {
 
             // Add quantity label and text field
             JLabel qtyLabel = new JLabel("Quantity:");
-            qtyLabel.setFont(customFont.deriveFont(16f));
+            qtyLabel.setFont(FontRegistry.derive(customFont, 16f));
             qtyLabel.setBounds(50, 70, 80, 30);
             qtyLabel.setForeground(Color.BLACK);
             bgPanel.add(qtyLabel);
 
             qtyField = new JTextField("1");
-            qtyField.setFont(customFont.deriveFont(16f));
+            qtyField.setFont(FontRegistry.derive(customFont, 16f));
             qtyField.setBounds(140, 70, 50, 30);
             bgPanel.add(qtyField);
 
             // Add cost label
             int price = item.getPrice();
             JLabel costLabel = new JLabel("Price: " + price * 1 + " total");
-            costLabel.setFont(customFont.deriveFont(14f));
+            costLabel.setFont(FontRegistry.derive(customFont, 14f));
             costLabel.setBounds(50, 110, 200, 30);
             costLabel.setForeground(Color.BLACK);
             bgPanel.add(costLabel);
@@ -244,7 +242,7 @@ public class ShopGUI extends JFrame {
             });
 
             // Add confirm button
-            ImageIcon rawConfirmIcon = new ImageIcon("assets/confirm.png");
+            ImageIcon rawConfirmIcon = AssetCache.getIcon("assets/confirm.png");
             Image scaledConfirm = rawConfirmIcon.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
             JButton confirmBtn = new JButton(new ImageIcon(scaledConfirm));
             confirmBtn.setBounds(85, 160, 40, 40);
@@ -263,7 +261,7 @@ public class ShopGUI extends JFrame {
             bgPanel.add(confirmBtn);
 
             // Add cancel button
-            ImageIcon rawCancelIcon = new ImageIcon("assets/cancel.png");
+            ImageIcon rawCancelIcon = AssetCache.getIcon("assets/cancel.png");
             Image scaledCancel = rawCancelIcon.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
             JButton cancelBtn = new JButton(new ImageIcon(scaledCancel));
             cancelBtn.setBounds(210, 160, 40, 40);
@@ -0,0 +1,344 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SimulationEngine is a headless registry of pets that are all advanced by
+ * {@link Command#update(Pet)} on one shared tick loop.
+ * <p>
+ * Every registered pet is ticked once per {@link #TICK_MILLIS} of its {@link GameClock}.
+ * The loop is a fixed timestep: ticks fall due on a grid of deadlines, and when the loop
+ * wakes up late (after a long collection pause or a stalled tick thread) every tick it missed
+ * is applied in one batch through {@link awayCalculator#fastForward(Pet, long)}, so the
+ * simulation keeps pace with the clock instead of silently dropping time. The monotonic
+ * clock does not advance while the machine is suspended, so time spent asleep is not caught
+ * up. On a
+ * {@link VirtualClock} the engine is driven by {@link #advance()}, and a day of gameplay
+ * runs in milliseconds.
+ * </p>
+ * <p>
+ * When the engine is created with a parallelism greater than one, large registries are
+ * split into partitions that are ticked on a fixed worker pool, so the number of threads
+ * depends on the number of cores rather than the number of pets. GUI code only observes
+ * the engine through the per-pet observers it registers.
+ * </p>
+ */
+public class SimulationEngine {
+    /** How often every registered pet is drained, in milliseconds */
+    public static final long TICK_MILLIS = 2000;
+
+    /** Registries smaller than this are always ticked on the calling thread */
+    private static final int MIN_PETS_PER_PARTITION = 256;
+
+    private static SimulationEngine shared;
+
+    private final Map<String, Registration> pets = new ConcurrentHashMap<>();
+    private final int parallelism;
+    private final GameClock clock;
+    private final long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MILLIS);
+    private long nextTickNanos;
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> tickTask;
+    private int loop; // Bumped by start and stop so a superseded loop ends
+    private ExecutorService workers;
+
+    /**
+     * Constructs an engine that ticks all of its pets on a single thread.
+     */
+    public SimulationEngine() {
+        this(1);
+    }
+
+    /**
+     * Constructs an engine that may split large registries across worker threads.
+     *
+     * @param parallelism the number of partitions to tick concurrently (1 disables partitioning)
+     */
+    public SimulationEngine(int parallelism) {
+        this(parallelism, GameClock.current());
+    }
+
+    /**
+     * Constructs an engine on a given clock. The first tick is due at once.
+     *
+     * @param parallelism the number of partitions to tick concurrently (1 disables partitioning)
+     * @param clock       the clock ticks are scheduled on
+     */
+    public SimulationEngine(int parallelism, GameClock clock) {
+        this.parallelism = Math.max(1, parallelism);
+        this.clock = clock;
+        this.nextTickNanos = clock.nanoTime();
+    }
+
+    /**
+     * Returns the process-wide engine used by the game screens, creating it on first use.
+     * It partitions across all available cores.
+     *
+     * @return the shared engine
+     */
+    public static synchronized SimulationEngine getShared() {
+        if (shared == null) {
+            shared = new SimulationEngine(Runtime.getRuntime().availableProcessors());
+        }
+        return shared;
+    }
+
+    /**
+     * Adds a pet to the registry. Re-registering an id replaces the previous pet and
+     * drops its observers.
+     *
+     * @param id  the unique identifier of the pet
+     * @param pet the pet to advance on every tick
+     */
+    public void register(String id, Pet pet) {
+        pets.put(id, new Registration(pet));
+    }
+
+    /**
+     * Removes a pet (and its observers) from the registry.
+     *
+     * @param id the identifier the pet was registered with
+     */
+    public void unregister(String id) {
+        pets.remove(id);
+    }
+
+    /**
+     * Adds an observer that is run on the tick thread right after the pet is updated.
+     *
+     * @param id       the identifier the pet was registered with
+     * @param observer the callback to run after each tick
+     */
+    public void addObserver(String id, Runnable observer) {
+        Registration registration = pets.get(id);
+        if (registration != null) {
+            registration.observers.add(observer);
+        }
+    }
+
+    /**
+     * Returns the pet registered under the given id.
+     *
+     * @param id the identifier of the pet
+     * @return the pet, or null if no pet is registered under that id
+     */
+    public Pet getPet(String id) {
+        Registration registration = pets.get(id);
+        return registration == null ? null : registration.pet;
+    }
+
+    /**
+     * Returns the number of registered pets.
+     *
+     * @return the registry size
+     */
+    public int size() {
+        return pets.size();
+    }
+
+    /**
+     * Advances every registered pet by exactly one tick and notifies their observers.
+     * Large registries are split into contiguous partitions when parallelism allows it.
+     * The duration is recorded as {@link GameMetrics.Metric#TICK}. This does not move the
+     * schedule {@link #advance()} follows.
+     */
+    public void tick() {
+        tick(1);
+    }
+
+    /**
+     * Advances every registered pet by a number of ticks at once, with the same result as
+     * calling {@link #tick()} that many times, and notifies their observers once.
+     *
+     * @param ticks the number of ticks to apply
+     */
+    public void tick(long ticks) {
+        if (ticks <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        try {
+            tickAll(ticks);
+        } finally {
+            GameMetrics.recordSince(GameMetrics.Metric.TICK, start);
+        }
+    }
+
+    /**
+     * Applies every tick that has fallen due on the engine's clock since the last call, in
+     * one batch. Ticks are due every {@link #TICK_MILLIS} from when the engine was created
+     * or last started.
+     *
+     * @return the number of ticks applied, 0 if the next one is not due yet
+     */
+    public long advance() {
+        long ticks;
+        synchronized (this) {
+            long behind = clock.nanoTime() - nextTickNanos;
+            if (behind < 0) {
+                return 0;
+            }
+            ticks = behind / tickNanos + 1;
+            nextTickNanos += ticks * tickNanos;
+        }
+        tick(ticks);
+        return ticks;
+    }
+
+    /**
+     * Ticks every registered pet, in partitions if the registry is large enough.
+     */
+    private void tickAll(long ticks) {
+        Registration[] snapshot = pets.values().toArray(new Registration[0]);
+        int partitions = Math.min(parallelism, snapshot.length / MIN_PETS_PER_PARTITION);
+        if (partitions <= 1) {
+            tickRange(snapshot, 0, snapshot.length, ticks);
+            return;
+        }
+
+        List<Callable<Void>> tasks = new ArrayList<>(partitions);
+        int chunk = (snapshot.length + partitions - 1) / partitions;
+        for (int start = 0; start < snapshot.length; start += chunk) {
+            int from = start;
+            int to = Math.min(snapshot.length, start + chunk);
+            tasks.add(() -> {
+                tickRange(snapshot, from, to, ticks);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> result : workers().invokeAll(tasks)) {
+                result.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            e.getCause().printStackTrace();
+        }
+    }
+
+    /**
+     * Starts ticking every {@link #TICK_MILLIS} on a single background thread, beginning
+     * with a tick at once. Time that passed while the engine was stopped is not caught up.
+     * Calling start on a running engine has no effect.
+     */
+    public synchronized void start() {
+        if (tickTask != null) {
+            return;
+        }
+        if (scheduler == null) {
+            scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("simulation-tick"));
+        }
+        nextTickNanos = clock.nanoTime();
+        int current = ++loop;
+        tickTask = scheduler.schedule(() -> runLoop(current), 0, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Runs one turn of the tick loop and schedules the next at the following deadline.
+     */
+    private void runLoop(int current) {
+        try {
+            advance();
+        } catch (RuntimeException e) {
+            e.printStackTrace(); // Never let one bad pet cancel the shared loop
+        }
+        synchronized (this) {
+            if (loop != current || scheduler == null) {
+                return;
+            }
+            long delay = Math.max(0, nextTickNanos - clock.nanoTime());
+            tickTask = scheduler.schedule(() -> runLoop(current), delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stops the tick loop and releases the engine's threads. Registered pets are kept.
+     */
+    public synchronized void stop() {
+        loop++;
+        if (tickTask != null) {
+            tickTask.cancel(false);
+            tickTask = null;
+        }
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+        if (workers != null) {
+            workers.shutdownNow();
+            workers = null;
+        }
+    }
+
+    /**
+     * Used to check whether the tick loop is running
+     *
+     * @return true if {@link #start()} has been called without a matching {@link #stop()}
+     */
+    public synchronized boolean isRunning() {
+        return tickTask != null;
+    }
+
+    /**
+     * Ticks a contiguous slice of the registry snapshot.
+     */
+    private static void tickRange(Registration[] snapshot, int from, int to, long ticks) {
+        for (int i = from; i < to; i++) {
+            Registration registration = snapshot[i];
+            if (ticks == 1) {
+                Command.update(registration.pet);
+            } else {
+                awayCalculator.fastForward(registration.pet, ticks);
+            }
+            for (Runnable observer : registration.observers) {
+                observer.run();
+            }
+        }
+    }
+
+    /**
+     * Lazily creates the partition worker pool.
+     */
+    private synchronized ExecutorService workers() {
+        if (workers == null) {
+            workers = Executors.newFixedThreadPool(parallelism, daemonThreads("simulation-worker"));
+        }
+        return workers;
+    }
+
+    /**
+     * Builds a thread factory for daemon threads so the engine never keeps the JVM alive.
+     */
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A registered pet together with the observers that watch it.
+     */
+    private static class Registration {
+        private final Pet pet;
+        private final List<Runnable> observers = new CopyOnWriteArrayList<>();
+
+        private Registration(Pet pet) {
+            this.pet = pet;
+        }
+    }
+}
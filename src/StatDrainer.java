@@ -1,40 +1,68 @@
 /**
  * This class was generated using ChatGPT
  */
-import java.util.concurrent.Executors; 
-import java.util.concurrent.ScheduledExecutorService; 
-import java.util.concurrent.TimeUnit;
-import javax.swing.SwingUtilities;
+import java.util.concurrent.atomic.AtomicLong;
 
-public class StatDrainer { 
-    private final ScheduledExecutorService scheduler; 
+/**
+ * Drains a single pet's stats for a screen by registering it with the shared
+ * {@link SimulationEngine}. The drainer itself owns no threads; it only observes the
+ * engine's tick and forwards it to the Swing callbacks, recording how long they wait
+ * for the Event Dispatch Thread in {@link GameMetrics}. Screens that listen for
+ * {@link PetChangeEvent}s pass no status callback; the drainer then only checks for
+ * auto sleep on the tick thread and does not queue anything on the Event Dispatch Thread.
+ */
+public class StatDrainer {
+    private static final AtomicLong NEXT_ID = new AtomicLong();
+
+    private final SimulationEngine engine;
+    private final String id;
     private final Pet pet;
     private final Runnable updateStatusCallback;
     private final Runnable autoSleepCallback;
+    private volatile boolean running;
 
     public StatDrainer(Pet pet, Runnable updateStatusCallback, Runnable autoSleepCallback) {
+        this(SimulationEngine.getShared(), pet, updateStatusCallback, autoSleepCallback);
+    }
+
+    public StatDrainer(SimulationEngine engine, Pet pet, Runnable updateStatusCallback, Runnable autoSleepCallback) {
+        this.engine = engine;
+        this.id = "drainer-" + NEXT_ID.incrementAndGet();
         this.pet = pet;
-        scheduler = Executors.newSingleThreadScheduledExecutor();
         this.updateStatusCallback = updateStatusCallback;
         this.autoSleepCallback = autoSleepCallback;
     }
 
     public void start() {
-        scheduler.scheduleAtFixedRate(() -> {
-            Command.update(pet);
+        running = true;
+        engine.register(id, pet);
+        engine.addObserver(id, () -> {
+            if (!running)
+                return;
+
+            if (updateStatusCallback == null) {
+                if (pet.getSleep() <= 0 && !pet.isSleeping() && !pet.isDead()) {
+                    autoSleepCallback.run();
+                }
+                return;
+            }
+
+            GameMetrics.invokeLater(() -> {
+                if (!running)
+                    return;
 
-            SwingUtilities.invokeLater(() -> {
                 updateStatusCallback.run();
 
                 if (pet.getSleep() <= 0 && !pet.isSleeping() && !pet.isDead()) {
                     autoSleepCallback.run();
                 }
             });
-
-        }, 0, 2, TimeUnit.SECONDS);
+        });
+        engine.start();
     }
 
     public void stop() {
-        scheduler.shutdownNow();
+        running = false;
+        engine.unregister(id);
     }
 }
@@ -1,11 +1,8 @@
 import javax.swing.*;
 import java.awt.*;
 import java.awt.event.*;
-import java.io.File;
-import java.io.IOException;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import javax.imageio.ImageIO;
 
 /**
  * TutorialGUI represents the tutorial screen for the "Duck Duck Goose" application.
@@ -30,15 +27,7 @@ public class TutorialGUI extends JFrame {
         setDefaultCloseOperation(EXIT_ON_CLOSE);
 
         // Load custom font or fallback to default font
-        try {
-            this.customFont = Font.createFont(Font.TRUETYPE_FONT, new File("src/fonts/IrishGrover-Regular.ttf"))
-                    .deriveFont(16f);
-            GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
-            ge.registerFont(customFont);
-        } catch (IOException | FontFormatException e) {
-            e.printStackTrace();
-            customFont = new Font("Serif", Font.BOLD, 36);
-        }
+        this.customFont = FontRegistry.getFont(16f, new Font("Serif", Font.BOLD, 36));
 
         JPanel mainPanel = new JPanel(new BorderLayout());
         setContentPane(mainPanel);
@@ -49,7 +38,7 @@ public class TutorialGUI extends JFrame {
         topBar.setBorder(BorderFactory.createEmptyBorder(10, 10, 10, 10));
 
         // Home button to navigate back to the main menu
-        ImageIcon rawIcon = new ImageIcon("assets/home.png");
+        ImageIcon rawIcon = AssetCache.getIcon("assets/home.png");
         Image scaled = rawIcon.getImage().getScaledInstance(40, 40, Image.SCALE_SMOOTH);
         JButton homeButton = new JButton(new ImageIcon(scaled));
         homeButton.setContentAreaFilled(false);
@@ -67,7 +56,7 @@ public class TutorialGUI extends JFrame {
         mainPanel.add(topBar, BorderLayout.NORTH);
 
         // === Tutorial Scrollable Image ===
-        ImageIcon tutorialImage = new ImageIcon("assets/tutorials.png");
+        ImageIcon tutorialImage = AssetCache.getIcon("assets/tutorials.png");
         JLabel imageLabel = new JLabel(tutorialImage);
         JScrollPane scrollPane = new JScrollPane(imageLabel);
         scrollPane.setBorder(null);
@@ -144,11 +133,7 @@ public class TutorialGUI extends JFrame {
          * @param imagePath Path to the background image file.
          */
         public ImagePanel(String imagePath) {
-            try {
-                backgroundImage = ImageIO.read(new File(imagePath));
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            backgroundImage = AssetCache.getImage(imagePath); // Shared with every screen using the same background
             setOpaque(false);
         }
 
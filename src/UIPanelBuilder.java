@@ -1,10 +1,8 @@
 import javax.swing.*;
 import java.awt.*;
-import java.io.File;
-import java.io.IOException;
+import java.awt.event.HierarchyEvent;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
-import javax.imageio.ImageIO;
 
 /**
  * A utility class that builds and returns styled UI components for consistent layout across game screens.
@@ -22,7 +20,8 @@ public class UIPanelBuilder extends JFrame {
 
     /**
      * Creates a JLabel that displays the current system time in HH:mm format.
-     * The label updates every second using a Swing Timer.
+     * The label updates every second using a Swing Timer, which is stopped when the label's
+     * window is disposed.
      *
      * @param font the font to use for displaying the time
      * @return a JLabel that shows the current time
@@ -37,6 +36,16 @@ public class UIPanelBuilder extends JFrame {
             clockLabel.setText("Time: " + currentTime);
         });
         timer.start();
+        clockLabel.addHierarchyListener(e -> {
+            // Stop ticking while the screen is disposed so the timer does not keep it alive
+            if ((e.getChangeFlags() & HierarchyEvent.DISPLAYABILITY_CHANGED) != 0) {
+                if (clockLabel.isDisplayable()) {
+                    timer.start();
+                } else {
+                    timer.stop();
+                }
+            }
+        });
     
         // Initial update
         String currentTime = LocalTime.now().format(DateTimeFormatter.ofPattern("HH:mm"));
@@ -84,7 +93,7 @@ public class UIPanelBuilder extends JFrame {
         topBar.add(timeLabel, BorderLayout.EAST);
 
         // Home/back button
-        ImageIcon rawIcon = new ImageIcon(iconPath);
+        ImageIcon rawIcon = AssetCache.getIcon(iconPath);
         Image scaled = rawIcon.getImage().getScaledInstance(32, 32, Image.SCALE_SMOOTH);
         JButton homeButton = new JButton(new ImageIcon(scaled));
         homeButton.setContentAreaFilled(false);
@@ -134,11 +143,7 @@ public class UIPanelBuilder extends JFrame {
          * @param imagePath the path to the background image file
          */
         public ImagePanel(String imagePath) {
-            try {
-                backgroundImage = ImageIO.read(new File(imagePath));
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
+            backgroundImage = AssetCache.getImage(imagePath); // Shared with every screen using the same background
             setOpaque(false);
         }
     
@@ -0,0 +1,63 @@
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link GameClock} that only moves when it is told to, so a day of gameplay can be
+ * simulated in milliseconds and replayed exactly.
+ */
+public final class VirtualClock extends GameClock {
+    private static final long NANOS_PER_DAY = TimeUnit.DAYS.toNanos(1);
+
+    private final LocalTime start;
+    private final AtomicLong elapsed = new AtomicLong();
+
+    /**
+     * Constructs a clock at midnight.
+     */
+    public VirtualClock() {
+        this(LocalTime.MIDNIGHT);
+    }
+
+    /**
+     * Constructs a clock at a time of day.
+     *
+     * @param start the time of day when no time has elapsed
+     */
+    public VirtualClock(LocalTime start) {
+        this.start = start;
+    }
+
+    /**
+     * Moves the clock forward.
+     *
+     * @param amount the amount of time, not negative
+     * @param unit   the unit of the amount
+     */
+    public void advance(long amount, TimeUnit unit) {
+        if (amount < 0) {
+            throw new IllegalArgumentException("A clock cannot go back: " + amount);
+        }
+        elapsed.addAndGet(unit.toNanos(amount));
+    }
+
+    /**
+     * Returns the time elapsed since the clock was created.
+     *
+     * @return the elapsed nanoseconds
+     */
+    @Override
+    public long nanoTime() {
+        return elapsed.get();
+    }
+
+    /**
+     * Returns the start time plus the elapsed time, wrapping at midnight.
+     *
+     * @return the local time
+     */
+    @Override
+    public LocalTime localTime() {
+        return start.plusNanos(elapsed.get() % NANOS_PER_DAY);
+    }
+}
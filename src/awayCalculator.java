@@ -43,7 +43,7 @@ public class awayCalculator {
   public static int calculateAwayTime(Player player) {
     // Parse the player's last recorded time.
     LocalTime lastTime = LocalTime.parse(player.getCurrentTime(), DateTimeFormatter.ofPattern("HH:mm"));
-    LocalTime currentTime = LocalTime.now();
+    LocalTime currentTime = GameClock.current().localTime();
 
     // Convert times to minutes since midnight.
     int lastMinutes = lastTime.getHour() * 60 + lastTime.getMinute();
@@ -57,6 +57,128 @@ public class awayCalculator {
     return elapsedTime;
   }
 
+  /**
+   * Used to decay the player's pet for the time spent away since the last save.
+   * Each elapsed drain tick ({@link SimulationEngine#TICK_MILLIS}) counts as one call to
+   * {@link Command#update(Pet)}.
+   *
+   * @param player The player whose pet should be decayed.
+   * @return The decayed pet.
+   */
+  public static Pet applyAwayDecay(Player player) {
+    long elapsedMillis = calculateAwayTime(player) * 60_000L;
+    return fastForward(player.getPet(), elapsedMillis / SimulationEngine.TICK_MILLIS);
+  }
+
+  /**
+   * Used to advance a pet by any number of drain ticks without replaying them one by one.
+   * <p>
+   * The result is identical to calling {@link Command#update(Pet)} {@code ticks} times.
+   * Between two threshold crossings (a stat reaching a clamp, hunger, anger or death
+   * boundary) every tick changes the stats by the same amount and leaves the state alone,
+   * so whole runs of ticks are applied at once. Only the ticks around each crossing are
+   * replayed, and there are a fixed number of thresholds per stat, so the cost does not
+   * depend on how long the pet was left alone.
+   * </p>
+   *
+   * @param pet   The pet to advance.
+   * @param ticks The number of drain ticks that elapsed.
+   * @return The advanced pet.
+   */
+  public static Pet fastForward(Pet pet, long ticks) {
+    long remaining = ticks;
+    while (remaining > 0 && !pet.isDead()) {
+      int[] before = statsOf(pet);
+      PetState stateBefore = pet.getPetState();
+
+      Command.update(pet);
+      remaining--;
+
+      // Only a tick that kept the state is representative of the ticks that follow
+      if (remaining == 0 || stateBefore != pet.getPetState())
+        continue;
+
+      int[] after = statsOf(pet);
+      long jump = Math.min(remaining, linearTicks(pet.getType(), before, after));
+      if (jump > 0) {
+        long skipped = jump;
+        pet.updateStats(stats -> {
+          Pet.Stat[] order = {Pet.Stat.HEALTH, Pet.Stat.FULLNESS, Pet.Stat.SLEEP, Pet.Stat.HAPPINESS, Pet.Stat.LOVE};
+          for (int s = 0; s < order.length; s++) {
+            stats = Pet.withStat(stats, order[s], Pet.stat(stats, order[s]) - skipped * (before[s] - after[s]));
+          }
+          return stats;
+        });
+        remaining -= jump;
+      }
+    }
+    return pet;
+  }
+
+  /**
+   * Used to find how many more ticks will repeat the change from {@code before} to
+   * {@code after} exactly, i.e. how long every stat stays between the same thresholds.
+   *
+   * @return The number of ticks that can be applied linearly (0 if none).
+   */
+  private static long linearTicks(petType type, int[] before, int[] after) {
+    int[][] rates = {
+        {0, type.getHungerHealthPenalty()},
+        {type.getFullnessRate(), 0},
+        {type.getSleepRate(), 0},
+        {type.getHappinessRate(), type.getHungerHappinessDrain()},
+        {type.getLoveRate(), 0}
+    };
+    int[] max = {type.getMaxHealth(), type.getMaxFullness(), type.getMaxSleep(),
+        type.getMaxHappiness(), type.getMaxLove()};
+
+    long safe = Long.MAX_VALUE;
+    for (int s = 0; s < before.length; s++) {
+      long delta = (long) before[s] - after[s];
+      if (delta == 0)
+        continue; // Pinned stats stay where they are
+      if (delta < 0)
+        return 0; // Stats never rise on their own, so something else is going on
+
+      long floor = thresholdBelow(after[s], max[s], rates[s]);
+      if (floor == Long.MIN_VALUE || floor != thresholdBelow(before[s], max[s], rates[s]))
+        return 0;
+      // Keep one tick of margin so the next replayed tick still starts inside the band
+      safe = Math.min(safe, Math.max(0, (after[s] - floor - 1 - delta) / delta));
+    }
+    return safe;
+  }
+
+  /**
+   * Used to find the highest threshold strictly below a stat value. Thresholds are the
+   * 0/25%/50% marks, shifted by the stat's drain and penalty (and one below each) so
+   * that both sides of every comparison in {@link Command#update(Pet)} fall in
+   * different bands.
+   *
+   * @return The threshold, or Long.MIN_VALUE if the value is below all of them.
+   */
+  private static long thresholdBelow(int value, int max, int[] rate) {
+    long best = Long.MIN_VALUE;
+    int[] bases = {0, max / 4, max / 2};
+    int[] offsets = {0, rate[0], rate[0] + rate[1]};
+    for (int base : bases) {
+      for (int offset : offsets) {
+        for (int level = base + offset - 1; level <= base + offset; level++) {
+          if (level < value && level > best)
+            best = level;
+        }
+      }
+    }
+    return best;
+  }
+
+  /**
+   * Used to read the pet's stats in a fixed order (health, fullness, sleep, happiness, love).
+   */
+  private static int[] statsOf(Pet pet) {
+    return new int[] {pet.getHealth(), pet.getFullness(), pet.getSleep(), pet.getHappiness(), pet.getLove()};
+  }
+
   /**
    * Used to create a list of stories based on how long the player has been absent,
    * each story has a corresponding inventory item that is added to the players inventory.
@@ -85,13 +207,7 @@ public class awayCalculator {
       String foundItemName = ITEM_NAMES[randIndex];
 
       // Check if the item already exists in the inventory.
-      InventoryObject foundItem = null;
-      for (InventoryObject item : inventory.getItems()) {
-        if (item.getName().equals(foundItemName)) {
-          foundItem = item;
-          break;
-        }
-      }
+      InventoryObject foundItem = inventory.getItem(foundItemName);
 
       // Add the item to the inventory, creating it if necessary.
       if (foundItem != null) {
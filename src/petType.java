@@ -1,77 +1,147 @@
 /**
  * petType stores a set of default characteristics for each pet type
- * allowing these attributes to be easily accessed
+ * allowing these attributes to be easily accessed. The characteristics are
+ * read from a data file by {@link PetTypeRegistry}, which shares one
+ * immutable instance per type between all pets
  *
  * @author Samuel Joseph Humphrey (shumph3)
  */
 public class petType {
   // Our instance variable
-  private String type;
-  private int maxHealth;
-  private int maxFullness;
-  private int maxSleep;
-  private int maxHappiness;
-  private int maxLove;
-  private int fullnessRate;
-  private int sleepRate;
-  private int happinessRate;
-  private int loveRate;
+  private final String type;
+  private final int maxHealth;
+  private final int maxFullness;
+  private final int maxSleep;
+  private final int maxHappiness;
+  private final int maxLove;
+  private final int fullnessRate;
+  private final int sleepRate;
+  private final int happinessRate;
+  private final int loveRate;
 
   // Allow for easy tuning of sleep and hunger variables
-  private int sleepPenalty = 10;
-  private int sleepRecovery = 5;
-  private int hungerHealthPenalty = 2;
-  private int hungerHappinessDrain = 2;
+  private final int sleepPenalty;
+  private final int sleepRecovery;
+  private final int hungerHealthPenalty;
+  private final int hungerHappinessDrain;
+
+  // Rules derived from the values above once, so ticks only look them up
+  private int hungryThreshold;
+  private int angryThreshold;
+  private int calmThreshold;
+  private int sickThreshold;
+  private long[] tickDrain;
 
   /**
-   * Constructs the pet type with the correct default values depending on
-   * the string passed ("baby duck", "duck", or "goose")
+   * Constructs the pet type with the default values of the species named by the
+   * string passed ("baby duck", "duck", "goose", or any species in the
+   * {@link PetTypeRegistry} file). Pets share the registry's instance instead;
+   * this copy is for callers that want one of their own
    *
    * @param type the string storing the name of the petType
    */
   public petType(String type) {
-    if (type.equals("goose")) {
-      this.type = "goose";
-      this.maxHealth = 100;
-      this.maxFullness = 200;
-      this.maxSleep = 200;
-      this.maxHappiness = 50;
-      this.maxLove = 200;
-      this.fullnessRate = 1;
-      this.sleepRate = 1;
-      this.happinessRate = 3;
-      this.loveRate = 3;
+    this(type, PetTypeRegistry.getShared().get(type).values());
+  }
 
-    }
+  /**
+   * Constructs the pet type from the values of a row of the species file
+   *
+   * @param type   the string storing the name of the petType
+   * @param values the values in the order of {@link PetTypeRegistry#COLUMNS}
+   */
+  petType(String type, int[] values) {
+    this.type = type;
+    this.maxHealth = values[0];
+    this.maxFullness = values[1];
+    this.maxSleep = values[2];
+    this.maxHappiness = values[3];
+    this.maxLove = values[4];
+    this.fullnessRate = values[5];
+    this.sleepRate = values[6];
+    this.happinessRate = values[7];
+    this.loveRate = values[8];
+    this.sleepPenalty = values[9];
+    this.sleepRecovery = values[10];
+    this.hungerHealthPenalty = values[11];
+    this.hungerHappinessDrain = values[12];
 
-    else if (type.equals("duck")) {
-      this.type = "duck";
-      this.maxHealth = 100;
-      this.maxFullness = 100;
-      this.maxSleep = 100;
-      this.maxHappiness = 100;
-      this.maxLove = 100;
-      this.fullnessRate = 2;
-      this.sleepRate = 2;
-      this.happinessRate = 2;
-      this.loveRate = 2;
+    precomputeRules();
+  }
 
-    }
+  /**
+   * Used to get this petType's values in the order of {@link PetTypeRegistry#COLUMNS}
+   *
+   * @return a new array storing the values
+   */
+  private int[] values() {
+    return new int[] { maxHealth, maxFullness, maxSleep, maxHappiness, maxLove, fullnessRate, sleepRate,
+        happinessRate, loveRate, sleepPenalty, sleepRecovery, hungerHealthPenalty, hungerHappinessDrain };
+  }
 
-    else if (type.equals("baby duck")) {
-      this.type = "baby duck";
-      this.maxHealth = 100;
-      this.maxFullness = 100;
-      this.maxSleep = 200;
-      this.maxHappiness = 100;
-      this.maxLove = 200;
-      this.fullnessRate = 4;
-      this.sleepRate = 4;
-      this.happinessRate = 1;
-      this.loveRate = 1;
+  /**
+   * Used to derive the thresholds and the per-state drain table from this petType's
+   * maximums and rates
+   */
+  private void precomputeRules() {
+    hungryThreshold = maxFullness / 4;
+    angryThreshold = maxHappiness / 4;
+    calmThreshold = maxHappiness / 2;
+    sickThreshold = maxHealth / 4;
 
+    long drain = Pet.pack(0, fullnessRate, sleepRate, happinessRate, loveRate);
+    PetState[] states = PetState.values();
+    tickDrain = new long[states.length];
+    for (PetState state : states) {
+      tickDrain[state.ordinal()] = state.isResting() ? 0L : drain;
     }
+  }
+
+  /**
+   * Used to get how much each statistic drops in one tick of {@link Command#update(Pet)}
+   * for a pet in the given state
+   *
+   * @param state the state of the pet
+   * @return the drain, packed as by {@link Pet#pack(int, int, int, int, int)}
+   */
+  public long getTickDrain(PetState state) {
+    return tickDrain[state.ordinal()];
+  }
+
+  /**
+   * Used to get the fullness at or below which this petType is hungry
+   *
+   * @return an integer storing the threshold
+   */
+  public int getHungryThreshold() {
+    return hungryThreshold;
+  }
 
+  /**
+   * Used to get the happiness at or below which this petType is angry
+   *
+   * @return an integer storing the threshold
+   */
+  public int getAngryThreshold() {
+    return angryThreshold;
+  }
+
+  /**
+   * Used to get the happiness at or above which an angry pet of this petType calms down
+   *
+   * @return an integer storing the threshold
+   */
+  public int getCalmThreshold() {
+    return calmThreshold;
+  }
+
+  /**
+   * Used to get the health at or below which this petType is sick
+   *
+   * @return an integer storing the threshold
+   */
+  public int getSickThreshold() {
+    return sickThreshold;
   }
 
   /**
@@ -0,0 +1,45 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import javax.swing.ImageIcon;
+
+/**
+ * Unit tests for the AssetCache class.
+ */
+public class AssetCacheTest {
+
+    /**
+     * Repeated lookups return the same decoded sprite without loading it again.
+     */
+    @Test
+    public void testPetSpriteIsLoadedOnce() {
+        ImageIcon first = AssetCache.getPetIcon("duck", "hungry");
+        long loads = AssetCache.getLoadCount();
+
+        for (int i = 0; i < 100; i++) {
+            assertSame(first, AssetCache.getPetIcon("duck", "hungry"));
+        }
+        assertEquals(loads, AssetCache.getLoadCount());
+        assertTrue(first.getIconWidth() > 0, "The GIF sprite should be decoded.");
+    }
+
+    /**
+     * Sprite paths follow the pet type and state, and unknown states have no sprite.
+     */
+    @Test
+    public void testSpritePaths() {
+        assertEquals("src/view/Pets/pet3/pet3_sleep.png", AssetCache.petSpritePath("goose", "sleep"));
+        assertEquals("src/view/Pets/pet1/pet1_angry.GIF", AssetCache.petSpritePath("baby duck", "angry"));
+        assertNull(AssetCache.petSpritePath("duck", "normal"));
+        assertNull(AssetCache.getPetIcon("duck", "normal"));
+    }
+
+    /**
+     * Missing files give an empty icon or no image instead of failing.
+     */
+    @Test
+    public void testMissingFiles() {
+        assertEquals(-1, AssetCache.getIcon("assets/does_not_exist.png").getIconWidth());
+        assertNull(AssetCache.getImage("assets/does_not_exist.png"));
+        assertNotNull(AssetCache.getImage("assets/back.png"));
+    }
+}
@@ -0,0 +1,47 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the AssetPreloader class.
+ */
+public class AssetPreloaderTest {
+
+    /**
+     * Every image is decoded once, progress is reported for each, and screens then find
+     * the images in the cache.
+     */
+    @Test
+    public void testPreloadFillsCache() throws Exception {
+        Set<String> reported = ConcurrentHashMap.newKeySet();
+        AtomicInteger lastTotal = new AtomicInteger();
+        int count = AssetPreloader.start((loaded, total, path) -> {
+            reported.add(path);
+            lastTotal.set(total);
+            assertTrue(loaded >= 1 && loaded <= total);
+        }, "assets", "src/view/Pets").get(60, TimeUnit.SECONDS);
+
+        assertTrue(count > 0, "The asset directories should contain images.");
+        assertEquals(count, reported.size());
+        assertEquals(count, lastTotal.get());
+        assertTrue(reported.contains("assets/back.png"));
+        assertTrue(reported.contains("src/view/Pets/pet2/pet2_hungry.GIF"));
+
+        long loads = AssetCache.getLoadCount();
+        AssetCache.getIcon("assets/back.png");
+        AssetCache.getImage("assets/back.png");
+        AssetCache.getPetIcon("duck", "hungry");
+        assertEquals(loads, AssetCache.getLoadCount(), "Preloaded images should not be decoded again.");
+    }
+
+    /**
+     * Missing directories are skipped.
+     */
+    @Test
+    public void testMissingDirectory() throws Exception {
+        assertEquals(0, (int) AssetPreloader.start(null, "does_not_exist").get(10, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,117 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Unit tests for the AtomicSaveFile class.
+ */
+public class AtomicSaveFileTest {
+
+    private static final String TEST_SAVE = "testAtomicSave";
+    private static final String SAVE_DIR = "src/model/saveFiles/" + TEST_SAVE;
+    private static final String PET_FILE = SAVE_DIR + "/" + TEST_SAVE + "_pet.csv";
+    private static final String HEADER = "name,type,state,fullness,energy,health,love,happiness,score,time played\n";
+
+    @BeforeEach
+    public void setUp() {
+        new File(SAVE_DIR).mkdirs();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        File dir = new File(SAVE_DIR);
+        for (File f : Objects.requireNonNull(dir.listFiles())) {
+            f.delete();
+        }
+        dir.delete();
+    }
+
+    /**
+     * Written files end with a checksum trailer that is stripped again on read.
+     */
+    @Test
+    public void testRoundTripStripsTrailer() throws IOException {
+        AtomicSaveFile.write(PET_FILE, HEADER + "Quackers,duck,normal,50,50,50,50,50,3,12:00");
+
+        List<String> raw = Files.readAllLines(Paths.get(PET_FILE));
+        assertEquals(AtomicSaveFile.FORMAT_MARKER, raw.get(0));
+        assertTrue(raw.get(raw.size() - 1).startsWith(AtomicSaveFile.TRAILER_PREFIX));
+        assertEquals(List.of(HEADER.trim(), "Quackers,duck,normal,50,50,50,50,50,3,12:00"),
+            AtomicSaveFile.readLines(PET_FILE));
+        assertFalse(new File(PET_FILE + ".tmp").exists(), "The temp file should have been renamed into place.");
+    }
+
+    /**
+     * Files written before checksums existed are still readable.
+     */
+    @Test
+    public void testLegacyFileWithoutTrailer() throws IOException {
+        Files.writeString(Paths.get(PET_FILE), HEADER + "Quackers,duck,normal,50,50,50,50,50,3,12:00");
+        assertEquals(2, AtomicSaveFile.readLines(PET_FILE).size());
+    }
+
+    /**
+     * A file whose checksum does not match is replaced by the previous generation.
+     */
+    @Test
+    public void testCorruptedFileFallsBackToBackup() throws IOException {
+        AtomicSaveFile.write(PET_FILE, HEADER + "Quackers,duck,normal,50,50,50,50,50,3,12:00");
+        AtomicSaveFile.write(PET_FILE, HEADER + "Quackers,duck,normal,40,40,40,40,40,9,12:30");
+        String contents = Files.readString(Paths.get(PET_FILE));
+        Files.writeString(Paths.get(PET_FILE), contents.replace(",9,", ",99,")); // Damage the newest generation
+
+        assertEquals("Quackers,duck,normal,50,50,50,50,50,3,12:00", AtomicSaveFile.readLines(PET_FILE).get(1));
+    }
+
+    /**
+     * A written file cut just before its trailer is not mistaken for a legacy file; the
+     * previous generation is read instead.
+     */
+    @Test
+    public void testFileCutBeforeTrailerFallsBackToBackup() throws IOException {
+        AtomicSaveFile.write(PET_FILE, HEADER + "Quackers,duck,normal,50,50,50,50,50,3,12:00");
+        AtomicSaveFile.write(PET_FILE, HEADER + "Quackers,duck,normal,40,40,40,40,40,9,12:30");
+        String contents = Files.readString(Paths.get(PET_FILE));
+        Files.writeString(Paths.get(PET_FILE), contents.substring(0, contents.indexOf(AtomicSaveFile.TRAILER_PREFIX)));
+
+        assertEquals("Quackers,duck,normal,50,50,50,50,50,3,12:00", AtomicSaveFile.readLines(PET_FILE).get(1));
+    }
+
+    /**
+     * A Player loads the last good generation instead of resetting a corrupted save to defaults.
+     */
+    @Test
+    public void testPlayerLoadsLastGoodGeneration() throws IOException {
+        AtomicSaveFile.write(SAVE_DIR + "/" + TEST_SAVE + "_inventory.csv", "Bread,Food,2,4,35\n");
+        AtomicSaveFile.write(PET_FILE, HEADER + "Quackers,duck,normal,50,50,50,50,50,42,12:00");
+        AtomicSaveFile.write(PET_FILE, HEADER + "Quackers,duck,normal,50,50,50,50,50,43,12:05");
+        byte[] bytes = Files.readAllBytes(Paths.get(PET_FILE));
+        Files.write(Paths.get(PET_FILE), Arrays.copyOf(bytes, bytes.length - 3)); // Torn trailer
+
+        Player player = new Player(TEST_SAVE);
+        assertEquals(42, player.getScore());
+        assertEquals("Quackers", player.getPet().getName());
+        assertEquals(2, player.getInventory().getItems().get(0).getAmount());
+    }
+
+    /**
+     * Deleting a save also removes its backup so it cannot come back.
+     */
+    @Test
+    public void testDeleteRemovesBackup() throws IOException {
+        AtomicSaveFile.write(PET_FILE, HEADER);
+        AtomicSaveFile.write(PET_FILE, HEADER);
+        assertTrue(new File(PET_FILE + ".bak").exists());
+
+        AtomicSaveFile.delete(PET_FILE);
+        assertFalse(new File(PET_FILE).exists());
+        assertFalse(new File(PET_FILE + ".bak").exists());
+    }
+}
@@ -0,0 +1,99 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Unit tests for the BalanceReplay class.
+ */
+public class BalanceReplayTest {
+
+    private static final List<String> DUCKS = List.of("duck");
+
+    /**
+     * Script rows with an unknown command or item are skipped, and items are looked up in
+     * the catalog.
+     */
+    @Test
+    public void testParseScript() {
+        List<BalanceReplay.Action> actions = BalanceReplay.parseScript(List.of("second,command,item",
+            "0,feed,Bread", "10,play,", "x,vet,", "20,dance,", "30,gift,Nothing", "", "600,repeat,"),
+            CatalogRepository.getShared());
+
+        assertEquals(3, actions.size());
+        assertEquals("feed", actions.get(0).command());
+        assertEquals("Bread", actions.get(0).item().getName());
+        assertEquals(10, actions.get(1).second());
+        assertNull(actions.get(1).item());
+        assertEquals("repeat", actions.get(2).command());
+    }
+
+    /**
+     * A pet that is never cared for ends up like one drained tick by tick, and the replay
+     * restores the clock it replaced.
+     */
+    @Test
+    public void testNeglectedPetsMatchTicks() {
+        GameClock before = GameClock.current();
+        BalanceReplay replay = new BalanceReplay(PetTypeRegistry.getShared(), List.of(), 0, 1L, new ForkJoinPool(2));
+        BalanceReplay.Report report = replay.run(DUCKS, 600, 600, 60);
+        assertSame(before, GameClock.current());
+
+        // Drain a pet tick by tick, putting it to sleep as the drainer does
+        Pet pet = new Pet("duck", "expected");
+        long tickSeconds = SimulationEngine.TICK_MILLIS / 1000;
+        boolean sleeping = false;
+        for (long second = 0; second < 600 && !pet.isDead(); second++) {
+            if (sleeping) {
+                if (pet.getSleep() < pet.getType().getMaxSleep()) {
+                    Command.sleep(pet);
+                } else {
+                    pet.setState(PetState.DEFAULT);
+                    sleeping = false;
+                }
+            }
+            if ((second + 1) % tickSeconds == 0) {
+                Command.update(pet);
+                if (pet.getSleep() <= 0 && !pet.isSleeping() && !pet.isDead()) {
+                    pet.setState(PetState.SLEEP);
+                    sleeping = true;
+                }
+            }
+        }
+
+        List<BalanceReplay.Sample> samples = report.getSamples();
+        BalanceReplay.Sample last = samples.get(samples.size() - 1);
+        assertEquals(pet.isDead() ? 0 : 600, last.alive());
+        assertEquals(pet.isDead() ? 600 : 0, report.getDeathSeconds("duck").length);
+        if (!pet.isDead()) {
+            assertEquals(600, last.second());
+            int[] expected = { pet.getHealth(), pet.getFullness(), pet.getSleep(), pet.getHappiness(), pet.getLove() };
+            for (int k = 0; k < expected.length; k++) {
+                assertEquals(expected[k], last.means()[k], 1e-9);
+            }
+        }
+    }
+
+    /**
+     * The same seed gives the same trajectories and deaths, however many threads step the
+     * pets.
+     */
+    @Test
+    public void testReplayIsDeterministic() {
+        List<BalanceReplay.Action> script = BalanceReplay.parseScript(List.of("second,command,item",
+            "0,feed,Pancakes", "30,play,", "60,gift,Hat", "90,repeat,"), CatalogRepository.getShared());
+
+        BalanceReplay.Report first = new BalanceReplay(PetTypeRegistry.getShared(), script, 0.3, 7L,
+            new ForkJoinPool(3)).run(DUCKS, 700, 3600, 60);
+        BalanceReplay.Report second = new BalanceReplay(PetTypeRegistry.getShared(), script, 0.3, 7L,
+            new ForkJoinPool(1)).run(DUCKS, 700, 3600, 60);
+        assertEquals(first.trajectoryLines(), second.trajectoryLines());
+        assertEquals(first.deathLines(), second.deathLines());
+
+        List<String> lines = first.deathLines();
+        assertEquals("species,pets,died,mean,min,p10,p50,p90,max", lines.get(0));
+        assertTrue(lines.get(1).startsWith("duck,700,"));
+        assertEquals("species,second,alive,health,fullness,sleep,happiness,love", first.trajectoryLines().get(0));
+    }
+}
@@ -0,0 +1,91 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Unit tests for the BinarySaveCodec class.
+ */
+public class BinarySaveCodecTest {
+
+    private static final String TEST_SAVE = "testBinarySave";
+    private static final String SAVE_DIR = "src/model/saveFiles/" + TEST_SAVE;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        new File(SAVE_DIR).mkdirs();
+        AtomicSaveFile.write(SAVE_DIR + "/" + TEST_SAVE + "_pet.csv",
+            "name,type,state,fullness,energy,health,love,happiness,score,time played\n"
+            + "Honk,goose,hungry,10,20,30,40,50,77,09:45");
+        AtomicSaveFile.write(SAVE_DIR + "/" + TEST_SAVE + "_inventory.csv",
+            "Bread,Food,2,4,35\nBall,Gift,1,10,20\n");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        File dir = new File(SAVE_DIR);
+        for (File f : Objects.requireNonNull(dir.listFiles())) {
+            f.delete();
+        }
+        dir.delete();
+    }
+
+    /**
+     * Converting a CSV slot and reading it back gives the same game state.
+     */
+    @Test
+    public void testConvertedSlotMatchesCsv() throws IOException {
+        Path path = BinarySaveCodec.convertSlot(TEST_SAVE);
+        assertTrue(path.toFile().exists());
+
+        Player csv = new Player(TEST_SAVE);
+        Player binary = BinarySaveCodec.readSlot(TEST_SAVE);
+        assertEquals(csv.getScore(), binary.getScore());
+        assertEquals(csv.getCurrentTime(), binary.getCurrentTime());
+
+        Pet expected = csv.getPet();
+        Pet actual = binary.getPet();
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getTypeString(), actual.getTypeString());
+        assertEquals(expected.getState(), actual.getState());
+        assertEquals(expected.getFullness(), actual.getFullness());
+        assertEquals(expected.getSleep(), actual.getSleep());
+        assertEquals(expected.getHealth(), actual.getHealth());
+        assertEquals(expected.getLove(), actual.getLove());
+        assertEquals(expected.getHappiness(), actual.getHappiness());
+
+        assertEquals(2, binary.getInventory().getItems().size());
+        InventoryObject ball = binary.getInventory().getItems().get(1);
+        assertEquals("Ball", ball.getName());
+        assertEquals("Gift", ball.getType());
+        assertEquals(1, ball.getAmount());
+        assertEquals(10, ball.getPrice());
+        assertEquals(20, ball.getStats());
+    }
+
+    /**
+     * Damaged or foreign data is rejected instead of being half-decoded.
+     */
+    @Test
+    public void testCorruptedDataIsRejected() {
+        ByteBuffer encoded = BinarySaveCodec.encode(new Player(TEST_SAVE));
+        encoded.put(12, (byte) (encoded.get(12) ^ 0x40));
+        assertThrows(IOException.class, () -> BinarySaveCodec.decode(TEST_SAVE, encoded));
+
+        ByteBuffer foreign = ByteBuffer.wrap("name,type,state\n".getBytes());
+        assertThrows(IOException.class, () -> BinarySaveCodec.decode(TEST_SAVE, foreign));
+    }
+
+    /**
+     * Slots without a CSV save are not converted.
+     */
+    @Test
+    public void testMissingSlotIsNotConverted() {
+        assertThrows(IOException.class, () -> BinarySaveCodec.convertSlot("testBinaryMissing"));
+        assertFalse(new File("src/model/saveFiles/testBinaryMissing").exists());
+    }
+}
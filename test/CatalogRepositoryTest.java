@@ -0,0 +1,75 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * Unit tests for the CatalogRepository class.
+ */
+public class CatalogRepositoryTest {
+
+    private File catalogFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        catalogFile = File.createTempFile("catalog", ".csv");
+        Files.writeString(catalogFile.toPath(), "Bread,Food,999,4,35\nHat,Gift,999,4,35\n");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        catalogFile.delete();
+    }
+
+    /**
+     * An unchanged file is parsed once and its items are shared and read-only.
+     */
+    @Test
+    public void testCatalogIsCachedAndReadOnly() {
+        CatalogRepository repository = new CatalogRepository(catalogFile.getPath());
+        List<InventoryObject> items = repository.getItems();
+        assertEquals(2, items.size());
+        assertSame(items, repository.getItems());
+        assertSame(items.get(1), repository.getItem("Hat"));
+        assertNull(repository.getItem("Anvil"));
+
+        assertThrows(UnsupportedOperationException.class, () -> items.clear());
+        assertThrows(UnsupportedOperationException.class, () -> items.get(0).setQty(1));
+    }
+
+    /**
+     * A changed file is not checked again within the check interval, and a refresh reloads
+     * it.
+     */
+    @Test
+    public void testReloadsWhenFileChanges() throws IOException {
+        CatalogRepository repository = new CatalogRepository(catalogFile.getPath());
+        assertEquals(2, repository.getItems().size());
+
+        Files.writeString(catalogFile.toPath(), "Bread,Food,999,4,35\n");
+        assertTrue(catalogFile.setLastModified(catalogFile.lastModified() + 5_000));
+        assertEquals(2, repository.getItems().size(), "Checked again only after the interval.");
+        repository.refresh();
+        assertEquals(1, repository.getItems().size());
+    }
+
+    /**
+     * Buying an item copies it, so the shared catalog entry never changes.
+     */
+    @Test
+    public void testPurchaseDoesNotChangeCatalog() {
+        Player player = new Player("testCatalogShop", new Pet("duck", "ducky"), new Inventory(), 100, "12:00");
+        Shop shop = new Shop(player);
+        InventoryObject bread = CatalogRepository.getShared().getItem("Bread");
+
+        assertTrue(shop.purchaseItem("Bread", 2));
+        assertEquals(999, bread.getAmount());
+        assertSame(bread, CatalogRepository.getShared().getItem("Bread"));
+        for (InventoryObject item : player.getInventory().getItems()) {
+            assertNotSame(bread, item);
+        }
+    }
+}
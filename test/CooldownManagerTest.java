@@ -0,0 +1,135 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the CooldownManager class.
+ */
+public class CooldownManagerTest {
+
+    private static final long TICK = TimeUnit.MILLISECONDS.toNanos(50);
+
+    /**
+     * Cooldowns are kept per pet and command and end at their deadline, even before the
+     * wheel has been advanced.
+     */
+    @Test
+    public void testSetCheckAndRemaining() {
+        VirtualClock now = new VirtualClock();
+        CooldownManager manager = new CooldownManager(now, TICK, 8, null);
+        int play = CooldownManager.commandOrdinal("play");
+        int vet = CooldownManager.commandOrdinal("vet");
+        assertNotEquals(play, vet);
+        assertEquals(play, CooldownManager.commandOrdinal("play"));
+
+        assertFalse(manager.isActive(1, play));
+        manager.set(1, play, 10, TimeUnit.SECONDS);
+        assertTrue(manager.isActive(1, play));
+        assertFalse(manager.isActive(1, vet));
+        assertFalse(manager.isActive(2, play));
+        assertEquals(TimeUnit.SECONDS.toNanos(10), manager.remainingNanos(1, play));
+
+        now.advance(4, TimeUnit.SECONDS);
+        assertEquals(TimeUnit.SECONDS.toNanos(6), manager.remainingNanos(1, play));
+        now.advance(6, TimeUnit.SECONDS);
+        assertFalse(manager.isActive(1, play));
+        assertEquals(0, manager.remainingNanos(1, play));
+
+        manager.advance();
+        assertEquals(0, manager.size());
+    }
+
+    /**
+     * Advancing the wheel removes ended cooldowns and runs their callbacks once, including
+     * cooldowns longer than a turn of the wheel and after a long pause.
+     */
+    @Test
+    public void testExpiryCallbacks() {
+        VirtualClock now = new VirtualClock();
+        CooldownManager manager = new CooldownManager(now, TICK, 8, null);
+        List<String> fired = new ArrayList<>();
+        for (int pet = 0; pet < 100; pet++) {
+            manager.set(pet, 0, 100 + pet * 10, TimeUnit.MILLISECONDS);
+        }
+        manager.set(500, 0, 2, TimeUnit.SECONDS); // Five turns of an 8-slot wheel
+        manager.onExpiry(3, 0, () -> fired.add("short"));
+        manager.onExpiry(500, 0, () -> fired.add("long"));
+        manager.onExpiry(7, 1, () -> fired.add("idle")); // Not on cooldown: runs at once
+        assertEquals(List.of("idle"), fired);
+
+        now.advance(130, TimeUnit.MILLISECONDS); // Ended, but its tick is not over yet
+        manager.advance();
+        assertEquals(List.of("idle"), fired);
+        assertFalse(manager.isActive(3, 0));
+
+        now.advance(20, TimeUnit.MILLISECONDS); // 150 ms
+        manager.advance();
+        assertEquals(List.of("idle", "short"), fired);
+        assertEquals(95, manager.size());
+
+        now.advance(1350, TimeUnit.MILLISECONDS); // 1.5 s
+        manager.advance();
+        assertEquals(1, manager.size());
+        assertTrue(manager.isActive(500, 0));
+
+        now.advance(58_500, TimeUnit.MILLISECONDS); // 60 s
+        manager.advance();
+        assertEquals(List.of("idle", "short", "long"), fired);
+        assertEquals(0, manager.size());
+    }
+
+    /**
+     * Restarting a cooldown moves its deadline and keeps its callbacks.
+     */
+    @Test
+    public void testRestartKeepsCallbacks() {
+        VirtualClock now = new VirtualClock();
+        CooldownManager manager = new CooldownManager(now, TICK, 8, null);
+        AtomicInteger fired = new AtomicInteger();
+        manager.set(1, 0, 100, TimeUnit.MILLISECONDS);
+        manager.onExpiry(1, 0, fired::incrementAndGet);
+        manager.set(1, 0, 1, TimeUnit.SECONDS);
+
+        now.advance(500, TimeUnit.MILLISECONDS);
+        manager.advance();
+        assertEquals(0, fired.get());
+        now.advance(500, TimeUnit.MILLISECONDS); // 1 s
+        manager.advance();
+        assertEquals(1, fired.get());
+    }
+
+    /**
+     * With a scheduler, the wheel advances on its own and stops once it is empty.
+     */
+    @Test
+    public void testSchedulerDrivesExpiry() throws InterruptedException {
+        GameScheduler scheduler = new GameScheduler(1);
+        CooldownManager manager = new CooldownManager(GameClock.SYSTEM, TimeUnit.MILLISECONDS.toNanos(5), 64,
+            scheduler);
+        CountDownLatch ended = new CountDownLatch(1);
+        manager.set(1, 0, 30, TimeUnit.MILLISECONDS);
+        manager.onExpiry(1, 0, ended::countDown);
+        assertTrue(ended.await(2, TimeUnit.SECONDS));
+        assertFalse(manager.isActive(1, 0));
+        Thread.sleep(50);
+        assertEquals(0, scheduler.getQueuedTaskCount());
+    }
+
+    /**
+     * Pets keep their cooldowns apart through their ids.
+     */
+    @Test
+    public void testPetsHaveSeparateCooldowns() {
+        Pet first = new Pet("duck", "One");
+        Pet second = new Pet("duck", "Two");
+        assertNotEquals(first.getId(), second.getId());
+        first.setCooldown("play", 10);
+        assertTrue(first.isCommandOnCooldown("play"));
+        assertFalse(second.isCommandOnCooldown("play"));
+        assertEquals(10, first.getRemainingCooldown("play"));
+    }
+}
@@ -0,0 +1,38 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.Font;
+
+/**
+ * Unit tests for the FontRegistry class.
+ */
+public class FontRegistryTest {
+
+    /**
+     * The custom font is loaded and each size and style is derived only once.
+     */
+    @Test
+    public void testFontsAreShared() {
+        Font font = FontRegistry.getFont(16f);
+        assertNotNull(font, "The custom font should load.");
+        assertEquals("Irish Grover", font.getFamily());
+        assertEquals(16f, font.getSize2D());
+
+        assertSame(font, FontRegistry.getFont(16f));
+        assertSame(font, FontRegistry.derive(FontRegistry.getFont(24f), 16f));
+        assertSame(FontRegistry.getFont(Font.BOLD, 22f), FontRegistry.derive(font, Font.BOLD, 22f));
+        assertNotSame(font, FontRegistry.getFont(Font.BOLD, 16f));
+    }
+
+    /**
+     * Fonts derived from a fallback keep its style and are shared too.
+     */
+    @Test
+    public void testDeriveFromFallback() {
+        Font fallback = new Font("Serif", Font.BOLD, 36);
+        Font derived = FontRegistry.derive(fallback, 14f);
+        assertEquals(Font.BOLD, derived.getStyle());
+        assertEquals(14f, derived.getSize2D());
+        assertSame(derived, FontRegistry.derive(new Font("Serif", Font.BOLD, 12), 14f));
+        assertSame(FontRegistry.getFont(20f), FontRegistry.getFont(20f, fallback));
+    }
+}
@@ -0,0 +1,59 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the GameContext class. Screens cannot be created in a headless test run,
+ * so these cover the session bookkeeping.
+ */
+public class GameContextTest {
+
+    /**
+     * Creates an in-memory player that is not backed by a save slot.
+     */
+    private static Player newPlayer() {
+        Pet pet = new Pet("Quackers", "duck", "normal", 50, 50, 50, 50, 50);
+        return new Player("gameContextTest", pet, new Inventory(), 10, "12:00");
+    }
+
+    /**
+     * Ends any session a test started.
+     */
+    @AfterEach
+    public void tearDown() {
+        GameContext.end();
+    }
+
+    /**
+     * A started session is current until it is ended.
+     */
+    @Test
+    public void testStartAndEnd() {
+        assertNull(GameContext.current());
+        Player player = newPlayer();
+        GameContext context = GameContext.start(player, "gameContextTest");
+        assertSame(context, GameContext.current());
+        assertSame(player, context.getPlayer());
+        assertEquals("gameContextTest", context.getSaveFile());
+
+        GameContext.end();
+        assertNull(GameContext.current());
+    }
+
+    /**
+     * Screens working on the session's player share the session; another player starts a
+     * new one.
+     */
+    @Test
+    public void testForPlayer() {
+        Player player = newPlayer();
+        GameContext context = GameContext.start(player, "gameContextTest");
+        assertSame(context, GameContext.forPlayer(player, "gameContextTest"));
+
+        Player other = newPlayer();
+        GameContext otherContext = GameContext.forPlayer(other, "gameContextTest");
+        assertNotSame(context, otherContext);
+        assertSame(otherContext, GameContext.current());
+        assertSame(other, otherContext.getPlayer());
+    }
+}
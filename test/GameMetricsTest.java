@@ -0,0 +1,103 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Unit tests for the GameMetrics class.
+ */
+public class GameMetricsTest {
+
+    /**
+     * The histogram keeps the count, mean and maximum exactly and percentiles to within
+     * their power-of-two bucket.
+     */
+    @Test
+    public void testHistogramStatistics() {
+        GameMetrics.Histogram histogram = new GameMetrics.Histogram();
+        assertEquals(0, histogram.percentileNanos(0.5));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i), i % 10 == 0);
+        }
+        assertEquals(100, histogram.getCount());
+        assertEquals(10, histogram.getEdtCount());
+        assertEquals(50.5, histogram.getMeanMillis(), 1e-9);
+        assertEquals(100.0, histogram.getMaxMillis(), 1e-9);
+
+        long median = histogram.percentileNanos(0.5);
+        assertTrue(median >= TimeUnit.MILLISECONDS.toNanos(50) && median < TimeUnit.MILLISECONDS.toNanos(100));
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(100), histogram.percentileNanos(0.99));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0.0, histogram.getMaxMillis());
+    }
+
+    /**
+     * Recording from many threads at once loses nothing.
+     */
+    @Test
+    public void testConcurrentRecording() throws InterruptedException {
+        GameMetrics metrics = new GameMetrics(false);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    metrics.record(GameMetrics.Metric.TICK, i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertEquals(40_000, metrics.get(GameMetrics.Metric.TICK).getCount());
+        assertEquals(0, metrics.get(GameMetrics.Metric.SAVE).getCount());
+    }
+
+    /**
+     * The shared histograms are readable over JMX, and ticks of the engine are recorded.
+     */
+    @Test
+    public void testPublishedOverJmx() throws Exception {
+        long before = GameMetrics.getShared().get(GameMetrics.Metric.TICK).getCount();
+        new SimulationEngine().tick();
+        Object count = ManagementFactory.getPlatformMBeanServer()
+            .getAttribute(GameMetrics.objectName(GameMetrics.Metric.TICK), "Count");
+        assertEquals(before + 1, ((Long) count).longValue());
+    }
+
+    /**
+     * Timings are emitted as Flight Recorder events while a recording enables them.
+     */
+    @Test
+    public void testFlightRecorderEvents() throws Exception {
+        Path file = Files.createTempFile("metrics", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("duckduckgoose.Timing");
+            recording.start();
+            GameMetrics.getShared().record(GameMetrics.Metric.SAVE, 1234);
+            recording.stop();
+            recording.dump(file);
+        }
+        boolean found = false;
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            if (event.getEventType().getName().equals("duckduckgoose.Timing")
+                && "save".equals(event.getString("metric"))) {
+                assertEquals(1234, event.getLong("elapsed"));
+                assertFalse(event.getBoolean("eventDispatchThread"));
+                found = true;
+            }
+        }
+        Files.deleteIfExists(file);
+        assertTrue(found);
+    }
+}
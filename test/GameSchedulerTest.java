@@ -0,0 +1,63 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the GameScheduler class.
+ */
+public class GameSchedulerTest {
+
+    /**
+     * A repeating task can stop itself through its own handle.
+     */
+    @Test
+    public void testRepeatingTaskCancelsItself() throws InterruptedException {
+        GameScheduler scheduler = new GameScheduler(1);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch stopped = new CountDownLatch(1);
+
+        GameScheduler.Handle handle = scheduler.scheduleAtFixedRate(self -> {
+            if (runs.incrementAndGet() == 3) {
+                self.cancel();
+                stopped.countDown();
+            }
+        }, 0, 5, TimeUnit.MILLISECONDS);
+
+        assertTrue(stopped.await(2, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(3, runs.get());
+        assertTrue(handle.isDone());
+        assertEquals(0, scheduler.getQueuedTaskCount());
+    }
+
+    /**
+     * Closing a scope cancels its tasks, runs its cleanup and cancels later tasks at once.
+     */
+    @Test
+    public void testClosingScopeCancelsTasksAndRunsCleanup() throws InterruptedException {
+        GameScheduler scheduler = new GameScheduler(1);
+        GameScheduler.Scope scope = scheduler.newScope();
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger cleanups = new AtomicInteger();
+
+        GameScheduler.Handle repeating = scope.scheduleAtFixedRate(() -> runs.incrementAndGet(), 0, 5, TimeUnit.MILLISECONDS);
+        GameScheduler.Handle delayed = scope.schedule(() -> runs.addAndGet(1000), 1, TimeUnit.HOURS);
+        scope.onClose(() -> cleanups.incrementAndGet());
+
+        scope.close();
+        int runsAtClose = runs.get();
+        Thread.sleep(50);
+
+        assertTrue(repeating.isCancelled());
+        assertTrue(delayed.isCancelled());
+        assertTrue(runs.get() <= runsAtClose + 1, "At most a run already in progress may finish.");
+        assertEquals(1, cleanups.get());
+        assertEquals(0, scheduler.getQueuedTaskCount());
+
+        assertTrue(scope.schedule(() -> runs.addAndGet(1000), 0, TimeUnit.MILLISECONDS).isCancelled());
+        scope.onClose(() -> cleanups.incrementAndGet());
+        assertEquals(2, cleanups.get(), "Cleanup registered after close runs immediately.");
+    }
+}
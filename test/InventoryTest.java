@@ -59,4 +59,30 @@ public class InventoryTest {
         assertTrue(potion.isPresent());
         assertEquals(4, potion.get().getAmount());
     }
+
+    @Test
+    public void testLookupByName() {
+        Inventory inventory = new Inventory(testFilePath);
+        assertSame(inventory.getItems().get(1), inventory.getItem("Potion"));
+        assertEquals(2, inventory.getQuantity("Sword"));
+        assertNull(inventory.getItem("Shield"));
+        assertEquals(0, inventory.getQuantity("Shield"));
+    }
+
+    @Test
+    public void testManyItemKindsKeepInsertionOrder() {
+        Inventory inventory = new Inventory();
+        for (int i = 0; i < 5000; i++) {
+            inventory.addItem(new InventoryObject("Item" + i, "Misc", 0, 1, 1), 1);
+        }
+        inventory.addItem(new InventoryObject("Item42", "Misc", 0, 1, 1), 2);
+        inventory.removeItem("Item4999");
+
+        assertEquals(5000, inventory.getItems().size());
+        assertEquals("Item0", inventory.getItems().get(0).getName());
+        assertEquals(3, inventory.getQuantity("Item42"));
+        assertEquals(0, inventory.getQuantity("Item4999"));
+        assertThrows(UnsupportedOperationException.class,
+            () -> inventory.getItems().add(new InventoryObject("Sneaky", "Misc", 1, 1, 1)));
+    }
 }
@@ -0,0 +1,71 @@
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.awt.image.BufferedImage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import javax.swing.ImageIcon;
+
+/**
+ * Unit tests for the ItemIconAtlas class.
+ */
+public class ItemIconAtlasTest {
+    private final Path cacheFile = Paths.get("src/model/saveFiles/itemAtlasTest/atlas.png");
+
+    /**
+     * Removes the cached sheet written by a test.
+     */
+    @AfterEach
+    public void tearDown() throws Exception {
+        Files.deleteIfExists(cacheFile);
+        Files.deleteIfExists(Paths.get(cacheFile + ".sha256"));
+        Files.deleteIfExists(cacheFile.getParent());
+    }
+
+    /**
+     * Icons are cut from the sheet at the requested size and shared between lookups.
+     */
+    @Test
+    public void testIconsAreSubImages() {
+        ItemIconAtlas atlas = new ItemIconAtlas(List.of("Apple Pie", "Bow"), null, 80, 40);
+        ImageIcon icon = atlas.getIcon("Apple Pie");
+        assertEquals(80, icon.getIconWidth());
+        assertEquals(80, icon.getIconHeight());
+        assertSame(icon, atlas.getIcon("Apple Pie", 80));
+        assertEquals(40, atlas.getIcon("Bow", 40).getIconWidth());
+        assertEquals(32, atlas.getIcon("Bow", 32).getIconWidth(), "Other sizes are scaled on demand.");
+
+        BufferedImage image = (BufferedImage) icon.getImage();
+        assertNotEquals(0, image.getRGB(40, 40) >>> 24, "The item should be drawn into its cell.");
+    }
+
+    /**
+     * Item images are found regardless of the file name's case.
+     */
+    @Test
+    public void testImagePathIgnoresCase() {
+        assertEquals("assets/items/Bow.png", ItemIconAtlas.imagePath("Bow"));
+        assertEquals("assets/items/rubber_duck.png", ItemIconAtlas.imagePath("Rubber Duck"));
+    }
+
+    /**
+     * The sheet is read back from disk while its sources are unchanged, and rendered again
+     * when its hash no longer matches.
+     */
+    @Test
+    public void testDiskCache() throws Exception {
+        List<String> items = List.of("Bread", "Jam");
+        assertFalse(new ItemIconAtlas(items, cacheFile, 80).isFromCache());
+        assertTrue(Files.exists(cacheFile));
+
+        ItemIconAtlas cached = new ItemIconAtlas(items, cacheFile, 80);
+        assertTrue(cached.isFromCache());
+        assertEquals(80, cached.getIcon("Jam").getIconWidth());
+
+        assertFalse(new ItemIconAtlas(List.of("Bread", "Jam", "Hat"), cacheFile, 80).isFromCache());
+        Files.writeString(Paths.get(cacheFile + ".sha256"), "stale");
+        assertFalse(new ItemIconAtlas(List.of("Bread", "Jam", "Hat"), cacheFile, 80).isFromCache());
+    }
+}
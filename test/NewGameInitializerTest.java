@@ -5,8 +5,6 @@ import org.junit.jupiter.api.AfterEach;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.List;
 
 /**
@@ -47,7 +45,7 @@ public class NewGameInitializerTest {
             assertTrue(tempInventoryFile.exists(), "Temp inventory file should exist at " + tempInventoryPath);
     
             // Read the pet data from the copied temp pet file.
-            List<String> lines = Files.readAllLines(Paths.get(tempPetPath));
+            List<String> lines = AtomicSaveFile.readLines(tempPetPath);
             // Expect at least two lines: a header and a data line.
             assertTrue(lines.size() >= 2, "Temp pet file should contain a header and at least one data line.");
     
@@ -0,0 +1,108 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.swing.SwingUtilities;
+
+/**
+ * Unit tests for the PetChangeDispatcher class and the change listeners of Pet.
+ */
+public class PetChangeDispatcherTest {
+
+    /**
+     * A burst of changes reaches the listener as one event on the Event Dispatch Thread that
+     * names everything that changed.
+     */
+    @Test
+    public void testBurstIsCoalesced() throws Exception {
+        Pet pet = new Pet("duck", "TestDuck");
+        pet.takeChanges();
+        List<PetChangeEvent> events = new CopyOnWriteArrayList<>();
+        CountDownLatch delivered = new CountDownLatch(1);
+        pet.addChangeListener(event -> {
+            assertTrue(SwingUtilities.isEventDispatchThread());
+            events.add(event);
+            delivered.countDown();
+        });
+
+        SwingUtilities.invokeAndWait(() -> { // Nothing is delivered until the burst is over
+            for (int i = 0; i < 1_000; i++) {
+                pet.setHappiness(i % 50);
+            }
+            pet.setState(PetState.ANGRY);
+        });
+        assertTrue(delivered.await(2, TimeUnit.SECONDS));
+        Thread.sleep(100);
+        assertEquals(1, events.size());
+        assertSame(pet, events.get(0).getPet());
+        assertTrue(events.get(0).hasChanged(Pet.Stat.HAPPINESS));
+        assertFalse(events.get(0).hasChanged(Pet.Stat.HEALTH));
+        assertTrue(events.get(0).isStateChanged());
+    }
+
+    /**
+     * Continuous changes are delivered at most once per frame. The dispatcher runs its
+     * deliveries inline and records when each one starts, so neither the Event Dispatch
+     * Thread nor the time it takes to start up affect the gaps.
+     */
+    @Test
+    public void testAtMostOneDeliveryPerFrame() throws Exception {
+        List<Long> deliveries = new CopyOnWriteArrayList<>();
+        CountDownLatch warm = new CountDownLatch(2);
+        PetChangeDispatcher dispatcher = new PetChangeDispatcher(new GameScheduler(1), task -> {
+            deliveries.add(System.nanoTime());
+            task.run();
+            warm.countDown();
+        });
+        Pet pet = new Pet("duck", "TestDuck");
+
+        // The first delivery runs at once and the second waits on the scheduler
+        dispatcher.changed(pet);
+        dispatcher.changed(pet);
+        assertTrue(warm.await(5, TimeUnit.SECONDS));
+        deliveries.clear();
+
+        long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+        int value = 0;
+        while (System.nanoTime() < end) {
+            pet.setLove(value++ % 100);
+            dispatcher.changed(pet);
+        }
+        List<Long> measured = List.copyOf(deliveries);
+
+        assertTrue(measured.size() >= 2);
+        assertTrue(measured.size() <= 300 / PetChangeDispatcher.FRAME_MILLIS + 2);
+        for (int i = 1; i < measured.size(); i++) {
+            long gap = measured.get(i) - measured.get(i - 1);
+            assertTrue(gap >= TimeUnit.MILLISECONDS.toNanos(PetChangeDispatcher.FRAME_MILLIS - 1));
+        }
+    }
+
+    /**
+     * A pet whose listeners have all been removed is no longer delivered.
+     */
+    @Test
+    public void testNoDeliveryWithoutListeners() throws Exception {
+        Pet pet = new Pet("duck", "TestDuck");
+        AtomicInteger deliveries = new AtomicInteger();
+        CountDownLatch delivered = new CountDownLatch(1);
+        PetChangeEvent.Listener listener = event -> {
+            deliveries.incrementAndGet();
+            delivered.countDown();
+        };
+        pet.addChangeListener(listener);
+        pet.setLove(10);
+        assertTrue(delivered.await(5, TimeUnit.SECONDS)); // Also waits out the Event Dispatch Thread's start
+        pet.removeChangeListener(listener);
+        SwingUtilities.invokeAndWait(() -> { }); // Let a delivery already queued finish
+
+        int before = deliveries.get();
+        pet.setLove(-1);
+        Thread.sleep(100);
+        SwingUtilities.invokeAndWait(() -> { });
+        assertEquals(before, deliveries.get());
+    }
+}
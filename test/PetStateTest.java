@@ -0,0 +1,58 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the PetState enum and the rules derived from it.
+ */
+public class PetStateTest {
+
+    /**
+     * Every known label maps to its state and back; unknown labels are kept as OTHER.
+     */
+    @Test
+    public void testLabels() {
+        for (PetState state : PetState.values()) {
+            if (state != PetState.OTHER) {
+                assertSame(state, PetState.fromLabel(state.getLabel()));
+            }
+        }
+        assertSame(PetState.OTHER, PetState.fromLabel("tempState"));
+        assertSame(PetState.OTHER, PetState.fromLabel(null));
+
+        Pet pet = new Pet("duck", "TestDuck");
+        pet.setState("tempState");
+        assertEquals("tempState", pet.getState());
+        assertSame(PetState.OTHER, pet.getPetState());
+        pet.setState(PetState.HUNGRY);
+        assertEquals("hungry", pet.getState());
+        assertThrows(IllegalArgumentException.class, () -> pet.setState(PetState.OTHER));
+    }
+
+    /**
+     * Labels that drifted apart share a sprite.
+     */
+    @Test
+    public void testSprites() {
+        assertSame(PetState.Sprite.DEFAULT, PetState.NORMAL.getSprite());
+        assertSame(PetState.Sprite.DEFAULT, PetState.ALIVE.getSprite());
+        assertSame(PetState.Sprite.SLEEP, PetState.SLEEPING.getSprite());
+        assertSame(PetState.Sprite.EXERCISE, PetState.EXERCISING.getSprite());
+        assertNull(PetState.OTHER.getSprite());
+        assertEquals("src/view/Pets/pet2/pet2_exercise.GIF",
+            AssetCache.petSpritePath("duck", PetState.EXERCISING.getSprite().getName()));
+    }
+
+    /**
+     * The per-type drain table pauses the drain only while resting.
+     */
+    @Test
+    public void testDrainTable() {
+        petType goose = new petType("goose");
+        assertEquals(0L, goose.getTickDrain(PetState.SLEEP));
+        long drain = goose.getTickDrain(PetState.SLEEPING);
+        assertEquals(goose.getFullnessRate(), Pet.stat(drain, Pet.Stat.FULLNESS));
+        assertEquals(goose.getHappinessRate(), Pet.stat(drain, Pet.Stat.HAPPINESS));
+        assertEquals(0, Pet.stat(drain, Pet.Stat.HEALTH));
+        assertEquals(goose.getMaxHappiness() / 2, goose.getCalmThreshold());
+    }
+}
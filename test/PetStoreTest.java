@@ -0,0 +1,100 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Unit tests for the PetStore class.
+ */
+public class PetStoreTest {
+
+    /**
+     * Builds a pet of the given type with random statistics and state.
+     */
+    private Pet randomPet(Random rand, String type) {
+        Pet pet = new Pet(type, "pet");
+        String[] states = {"normal", "default", "angry", "hungry", "sleep", "sleeping", "exercising"};
+        pet.setHealth(rand.nextInt(101));
+        pet.setFullness(rand.nextInt(pet.getType().getMaxFullness() + 1));
+        pet.setSleep(rand.nextInt(pet.getType().getMaxSleep() + 1));
+        pet.setHappiness(rand.nextInt(pet.getType().getMaxHappiness() + 1));
+        pet.setLove(rand.nextInt(pet.getType().getMaxLove() + 1));
+        pet.setState(states[rand.nextInt(states.length)]);
+        return pet;
+    }
+
+    /**
+     * updateAll must produce exactly the same trajectory as calling Command.update on
+     * each pet individually.
+     */
+    @Test
+    public void testUpdateAllMatchesCommandUpdate() {
+        Random rand = new Random(42);
+        String[] types = {"baby duck", "duck", "goose"};
+        PetStore store = new PetStore(4); // small capacity so the columns have to grow
+        List<Pet> expected = new ArrayList<>();
+
+        for (int i = 0; i < 300; i++) {
+            Pet pet = randomPet(rand, types[i % types.length]);
+            store.add(pet);
+            expected.add(pet);
+        }
+
+        for (int tick = 0; tick < 200; tick++) {
+            store.updateAll();
+            for (int i = 0; i < expected.size(); i++) {
+                Pet pet = Command.update(expected.get(i));
+                Pet view = store.view(i);
+                assertEquals(pet.getHealth(), view.getHealth(), "health of pet " + i + " at tick " + tick);
+                assertEquals(pet.getFullness(), view.getFullness(), "fullness of pet " + i + " at tick " + tick);
+                assertEquals(pet.getSleep(), view.getSleep(), "sleep of pet " + i + " at tick " + tick);
+                assertEquals(pet.getHappiness(), view.getHappiness(), "happiness of pet " + i + " at tick " + tick);
+                assertEquals(pet.getLove(), view.getLove(), "love of pet " + i + " at tick " + tick);
+                assertEquals(pet.getState(), view.getState(), "state of pet " + i + " at tick " + tick);
+            }
+        }
+    }
+
+    /**
+     * Writes through a view are visible in the store and commands work on views.
+     */
+    @Test
+    public void testViewWritesThrough() {
+        PetStore store = new PetStore();
+        int index = store.add("duck", "ducky");
+        Pet view = store.view(index);
+        assertSame(view, store.view(index));
+        assertEquals("ducky", view.getName());
+        assertEquals("duck", view.getTypeString());
+
+        view.setHappiness(50);
+        view.setLove(50);
+        Command.play(view);
+        assertEquals(75, store.view(index).getHappiness());
+        assertEquals(75, store.view(index).getLove());
+
+        view.setState("tempState");
+        assertEquals("tempState", store.view(index).getState());
+    }
+
+    /**
+     * Views report the changes made by updateAll as well as through the view.
+     */
+    @Test
+    public void testViewChangeMask() {
+        PetStore store = new PetStore();
+        store.add("duck", "pet");
+        Pet view = store.view(0);
+        assertEquals(Pet.ALL_CHANGED, view.takeChanges());
+        assertEquals(0, view.takeChanges());
+
+        store.updateAll();
+        int changes = view.takeChanges();
+        assertEquals(Pet.Stat.FULLNESS.mask(), changes & Pet.Stat.FULLNESS.mask());
+        assertEquals(0, changes & Pet.Stat.HEALTH.mask());
+
+        view.setState(PetState.ANGRY);
+        assertEquals(Pet.STATE_CHANGED, view.takeChanges());
+    }
+}
@@ -7,7 +7,11 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Unit tests for the Pet class.
@@ -239,6 +243,31 @@ public class PetTest {
         assertFalse(pet.isTemporaryStateActive());
     }
 
+    /**
+     * A temporary state ends when its deadline passes on the installed GameClock, and the
+     * pet keeps the state it was given.
+     */
+    @Test
+    public void testTemporaryStateFollowsClock() {
+        VirtualClock clock = new VirtualClock();
+        GameClock previous = GameClock.use(clock);
+        try {
+            Pet pet = new Pet("duck", "TestDuck");
+            pet.setTemporaryState("exercising", 0);
+            assertFalse(pet.isTemporaryStateActive());
+            assertEquals("exercising", pet.getState());
+
+            pet.setTemporaryState("tempState", 5);
+            assertTrue(pet.isTemporaryStateActive());
+            clock.advance(4_999, TimeUnit.MILLISECONDS);
+            assertTrue(pet.isTemporaryStateActive());
+            clock.advance(1, TimeUnit.MILLISECONDS);
+            assertFalse(pet.isTemporaryStateActive());
+        } finally {
+            GameClock.use(previous);
+        }
+    }
+
     /**
      * Test setting and getting the recentCommand flag.
      */
@@ -293,4 +322,138 @@ public class PetTest {
         assertEquals(60, pet.getLove());
         assertEquals(50, pet.getHappiness());
     }
-}
\ No newline at end of file
+
+    /**
+     * Packed statistics keep their signs and saturate instead of overflowing into each other.
+     */
+    @Test
+    public void testPackedStatistics() {
+        long packed = Pet.pack(-5, 100, 0, Pet.STAT_MAX, Pet.STAT_MIN);
+        assertEquals(-5, Pet.stat(packed, Pet.Stat.HEALTH));
+        assertEquals(100, Pet.stat(packed, Pet.Stat.FULLNESS));
+        assertEquals(0, Pet.stat(packed, Pet.Stat.SLEEP));
+        assertEquals(Pet.STAT_MAX, Pet.stat(packed, Pet.Stat.HAPPINESS));
+        assertEquals(Pet.STAT_MIN, Pet.stat(packed, Pet.Stat.LOVE));
+
+        Pet pet = new Pet("duck", "TestDuck");
+        pet.changeLove(100_000);
+        pet.changeHealth(-100_000);
+        assertEquals(Pet.STAT_MAX, pet.getLove());
+        assertEquals(Pet.STAT_MIN, pet.getHealth());
+        assertEquals(100, pet.getFullness(), "Saturation should not disturb the other statistics.");
+        assertEquals(100, pet.addStat(Pet.Stat.SLEEP, 30, 0, 100));
+        assertEquals(0, pet.addStat(Pet.Stat.SLEEP, -300, 0, 100));
+    }
+
+    /**
+     * Concurrent drains and commands on one pet lose no updates.
+     */
+    @Test
+    public void testConcurrentChangesAreNotLost() throws Exception {
+        Pet pet = new Pet("duck", "TestDuck");
+        pet.updateStats(stats -> Pet.pack(1000, 1000, 1000, 1000, 1000));
+        int threads = 8;
+        int rounds = 20_000;
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < rounds; i++) {
+                    // Like the stat drain: every statistic at once
+                    pet.updateStats(stats -> {
+                        for (Pet.Stat stat : Pet.Stat.values()) {
+                            stats = Pet.withStat(stats, stat, Pet.stat(stats, stat) - 1);
+                        }
+                        return stats;
+                    });
+                    // Like commands and items from the GUI: one statistic at a time
+                    pet.changeFullness(1);
+                    pet.changeHappiness(1);
+                    pet.addStat(Pet.Stat.LOVE, 1, Pet.STAT_MIN, Pet.STAT_MAX);
+                    pet.changeSleep(1);
+                    pet.changeHealth(1);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        assertEquals(1000, pet.getHealth());
+        assertEquals(1000, pet.getFullness());
+        assertEquals(1000, pet.getSleep());
+        assertEquals(1000, pet.getHappiness());
+        assertEquals(1000, pet.getLove());
+    }
+
+    /**
+     * Drain ticks racing with feeding never push a statistic past its cap or below 0.
+     */
+    @Test
+    public void testConcurrentCommandsStayInBounds() throws Exception {
+        Pet pet = new Pet("duck", "TestDuck");
+        InventoryObject food = new InventoryObject("Bread", "Food", 1, 4, 35);
+        Thread drainer = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                Command.update(pet);
+                pet.setState("default");
+            }
+        });
+        AtomicInteger outOfBounds = new AtomicInteger();
+        Thread feeder = new Thread(() -> {
+            for (int i = 0; i < 20_000; i++) {
+                pet.addStat(Pet.Stat.FULLNESS, 0, 30, Pet.STAT_MAX); // Stay fed enough to accept food
+                Command.feed(pet, food);
+                int fullness = pet.getFullness();
+                if (fullness < 0 || fullness > pet.getType().getMaxFullness()) {
+                    outOfBounds.incrementAndGet();
+                }
+            }
+        });
+        drainer.start();
+        feeder.start();
+        drainer.join(30_000);
+        feeder.join(30_000);
+        assertEquals(0, outOfBounds.get());
+        assertTrue(pet.getFullness() >= 0 && pet.getFullness() <= pet.getType().getMaxFullness());
+        assertTrue(pet.getSleep() >= 0);
+    }
+
+    /**
+     * Pets report which statistics and whether the state changed since the last time the
+     * changes were taken, and nothing once a dead pet stops changing.
+     */
+    @Test
+    public void testChangeMask() {
+        Pet pet = new Pet("duck", "TestDuck");
+        assertEquals(Pet.ALL_CHANGED, pet.takeChanges());
+        assertEquals(0, pet.takeChanges());
+
+        pet.setHealth(50);
+        pet.setLove(20);
+        assertEquals(Pet.Stat.HEALTH.mask() | Pet.Stat.LOVE.mask(), pet.takeChanges());
+        pet.setHealth(50); // Same value
+        pet.setState("normal"); // Same state
+        assertEquals(0, pet.takeChanges());
+
+        pet.setState(PetState.HUNGRY);
+        assertEquals(Pet.STATE_CHANGED, pet.takeChanges());
+
+        pet.setHealth(0);
+        pet.setState(PetState.DEAD);
+        pet.takeChanges();
+        Command.update(pet);
+        assertEquals(0, pet.takeChanges());
+
+        assertEquals(Pet.Stat.SLEEP.mask(), Pet.changedStats(Pet.pack(1, 2, 3, 4, 5), Pet.pack(1, 2, -3, 4, 5)));
+        assertEquals(0, Pet.changedStats(42L, 42L));
+    }
+}
@@ -0,0 +1,83 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+/**
+ * Unit tests for the PetTypeRegistry class.
+ */
+public class PetTypeRegistryTest {
+
+    private File speciesFile;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        speciesFile = File.createTempFile("species", ".csv");
+        Files.writeString(speciesFile.toPath(),
+            "type,maxLove,maxHealth,maxFullness,maxSleep,maxHappiness,fullnessRate,sleepRate,happinessRate,loveRate\n"
+                + "swan,150,120,80,90,60,3,2,1,5\n");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        speciesFile.delete();
+    }
+
+    /**
+     * Pets of the same species share one petType, which matches the original values.
+     */
+    @Test
+    public void testPetsShareInternedTypes() {
+        Pet first = new Pet("goose", "Honk");
+        Pet second = new Pet("Gus", "goose", "normal", 10, 10, 10, 10, 10);
+        assertSame(first.getType(), second.getType());
+        assertSame(PetTypeRegistry.getShared().get("goose"), first.getType());
+        assertNotSame(first.getType(), new Pet("duck", "Quack").getType());
+
+        petType goose = first.getType();
+        assertEquals(200, goose.getMaxFullness());
+        assertEquals(50, goose.getMaxHappiness());
+        assertEquals(3, goose.getLoveRate());
+        assertEquals(10, goose.getSleepPenalty());
+        assertEquals(2, goose.getHungerHappinessDrain());
+        assertTrue(PetTypeRegistry.getShared().getTypes().containsAll(java.util.List.of("goose", "duck", "baby duck")));
+    }
+
+    /**
+     * A species added to the data file is available without code changes, columns may come
+     * in any order and missing penalty columns use the usual values.
+     */
+    @Test
+    public void testSpeciesFromFile() {
+        PetTypeRegistry registry = new PetTypeRegistry(speciesFile.getPath());
+        assertTrue(registry.contains("swan"));
+        petType swan = registry.get("swan");
+        assertEquals("swan", swan.getType());
+        assertEquals(120, swan.getMaxHealth());
+        assertEquals(80, swan.getMaxFullness());
+        assertEquals(90, swan.getMaxSleep());
+        assertEquals(60, swan.getMaxHappiness());
+        assertEquals(150, swan.getMaxLove());
+        assertEquals(3, swan.getFullnessRate());
+        assertEquals(5, swan.getLoveRate());
+        assertEquals(10, swan.getSleepPenalty());
+        assertEquals(5, swan.getSleepRecovery());
+        assertEquals(20, swan.getHungryThreshold());
+        assertSame(swan, registry.get("swan"));
+    }
+
+    /**
+     * Unknown species get a shared type with zero statistics, as before.
+     */
+    @Test
+    public void testUnknownSpecies() {
+        PetTypeRegistry registry = new PetTypeRegistry(speciesFile.getPath());
+        assertFalse(registry.contains("goose"));
+        petType unknown = registry.get("goose");
+        assertEquals(0, unknown.getMaxHealth());
+        assertEquals(0, unknown.getFullnessRate());
+        assertSame(unknown, registry.get("goose"));
+    }
+}
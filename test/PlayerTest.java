@@ -25,7 +25,7 @@ public class PlayerTest {
 
     @Test
     void testSaveGame() {
-        player.saveGame("testSave");
+        player.saveGame("testSave").join();
         File petFile = new File("src/model/saveFiles/testSave/testSave_pet.csv");
         File inventoryFile = new File("src/model/saveFiles/testSave/testSave_inventory.csv");
         assertTrue(petFile.exists());
@@ -34,7 +34,7 @@ public class PlayerTest {
 
     @Test
     void testLoadGame() {
-        player.saveGame("testSave");
+        player.saveGame("testSave").join();
         Player loadedPlayer = new Player("testSave");
         assertEquals(player.getScore(), loadedPlayer.getScore());
         assertEquals(player.getCurrentTime(), loadedPlayer.getCurrentTime());
@@ -49,7 +49,7 @@ public class PlayerTest {
 
     @Test
     void testSaveToFile() {
-        player.saveToFile("testSave");
+        player.saveToFile("testSave").join();
         File petFile = new File("src/model/saveFiles/testSave/testSave_pet.csv");
         assertTrue(petFile.exists());
     }
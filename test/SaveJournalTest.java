@@ -0,0 +1,179 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import javax.swing.SwingUtilities;
+
+/**
+ * Unit tests for the SaveJournal class.
+ */
+public class SaveJournalTest {
+
+    private static final String TEST_SAVE = "testJournalSave";
+    private static final String SAVE_DIR = "src/model/saveFiles/" + TEST_SAVE;
+    private static final String PET_FILE = SAVE_DIR + "/" + TEST_SAVE + "_pet.csv";
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        new File(SAVE_DIR).mkdirs();
+        writePetFile(7);
+        try (FileWriter fw = new FileWriter(SAVE_DIR + "/" + TEST_SAVE + "_inventory.csv")) {
+            fw.write("Bread,Food,1,4,35\n");
+        }
+    }
+
+    @AfterEach
+    public void tearDown() {
+        File dir = new File(SAVE_DIR);
+        for (File f : Objects.requireNonNull(dir.listFiles())) {
+            f.delete();
+        }
+        dir.delete();
+    }
+
+    private void writePetFile(int score) throws IOException {
+        try (FileWriter fw = new FileWriter(PET_FILE)) {
+            fw.write("name,type,state,fullness,energy,health,love,happiness,score,time played\n");
+            fw.write("Quackers,duck,normal,50,50,50,50,50," + score + ",12:00");
+        }
+    }
+
+    /**
+     * Score and inventory changes reach a newly loaded Player without rewriting the CSV snapshot.
+     */
+    @Test
+    public void testChangesAreJournaledNotSnapshotted() throws IOException {
+        String snapshotBefore = Files.readString(Paths.get(PET_FILE));
+        Player player = new Player(TEST_SAVE);
+        player.adjustScore(5);
+        player.getInventory().addItem(new InventoryObject("Bread", "Food", 0, 4, 35), 2);
+        player.adjustInventory(player.getInventory());
+
+        assertEquals(snapshotBefore, Files.readString(Paths.get(PET_FILE)), "The snapshot should not be rewritten.");
+        assertTrue(SaveJournal.forSlot(TEST_SAVE).isDirty());
+
+        Player reloaded = new Player(TEST_SAVE);
+        assertEquals(12, reloaded.getScore());
+        assertEquals(3, reloaded.getInventory().getItems().get(0).getAmount());
+    }
+
+    /**
+     * Compaction writes the journaled changes of the session's player into the CSV snapshot.
+     */
+    @Test
+    public void testCompactWritesSnapshot() throws IOException {
+        Player player = new Player(TEST_SAVE);
+        GameContext.start(player, TEST_SAVE);
+        try {
+            player.adjustScore(5);
+            SaveJournal.forSlot(TEST_SAVE).compact().join();
+
+            assertFalse(SaveJournal.forSlot(TEST_SAVE).isDirty());
+            assertTrue(Files.readString(Paths.get(PET_FILE)).contains(",12,"), "Compacted snapshot should hold the new score.");
+            assertEquals(12, new Player(TEST_SAVE).getScore());
+        } finally {
+            GameContext.end();
+        }
+    }
+
+    /**
+     * Only the session's player is compacted: loading the slot again elsewhere does not make
+     * that copy overwrite the snapshot.
+     */
+    @Test
+    public void testCompactIgnoresOtherPlayers() throws IOException {
+        String snapshotBefore = Files.readString(Paths.get(PET_FILE));
+        Player other = new Player(TEST_SAVE);
+        other.adjustScore(5);
+        SaveJournal.forSlot(TEST_SAVE).compact().join();
+
+        assertEquals(snapshotBefore, Files.readString(Paths.get(PET_FILE)), "No session plays the slot.");
+        assertTrue(SaveJournal.forSlot(TEST_SAVE).isDirty());
+
+        Player session = new Player(TEST_SAVE); // Replays the journaled score
+        GameContext.start(session, TEST_SAVE);
+        try {
+            new Player(TEST_SAVE).adjustScore(100); // A later copy must not take over compaction
+            session.adjustScore(1);
+            SaveJournal.forSlot(TEST_SAVE).compact().join();
+            assertTrue(Files.readString(Paths.get(PET_FILE)).contains(",13,"), "The session's score should be written.");
+        } finally {
+            GameContext.end();
+        }
+    }
+
+    /**
+     * Changes recorded while a compaction is being written stay in the journal.
+     */
+    @Test
+    public void testChangesDuringCompactionAreKept() throws Exception {
+        Player player = new Player(TEST_SAVE);
+        GameContext.start(player, TEST_SAVE);
+        try {
+            player.adjustScore(5);
+            CompletableFuture<Void> compaction = new CompletableFuture<>();
+            SwingUtilities.invokeAndWait(() -> {
+                // The copy is taken on this thread before the next change
+                SaveJournal.forSlot(TEST_SAVE).compact().whenComplete((v, e) -> compaction.complete(null));
+                player.adjustScore(3);
+            });
+            compaction.get(5, TimeUnit.SECONDS);
+
+            assertTrue(Files.readString(Paths.get(PET_FILE)).contains(",12,"), "The copy holds the first change.");
+            assertTrue(SaveJournal.forSlot(TEST_SAVE).isDirty());
+            assertEquals(15, new Player(TEST_SAVE).getScore());
+        } finally {
+            GameContext.end();
+        }
+    }
+
+    /**
+     * Changes of a player that was not loaded through the journal (here one created from a
+     * snapshot) are journaled against the snapshot on disk and reach the next load.
+     */
+    @Test
+    public void testChangesOfUnloadedPlayerSurviveReload() throws IOException {
+        String slot = "testJournalUnloaded"; // A slot no journal has replayed yet
+        String dir = "src/model/saveFiles/" + slot;
+        new File(dir).mkdirs();
+        try {
+            AtomicSaveFile.write(dir + "/" + slot + "_pet.csv",
+                "name,type,state,fullness,energy,health,love,happiness,score,time played\n"
+                + "Quackers,duck,normal,50,50,50,50,50,7,12:00");
+            AtomicSaveFile.write(dir + "/" + slot + "_inventory.csv", "Bread,Food,1,4,35\n");
+
+            Player player = SaveSnapshot.load(slot).toPlayer();
+            player.adjustScore(5);
+            SaveJournal.forSlot(slot).flush();
+
+            String base = Files.readAllLines(Paths.get(dir, slot + "_journal.log")).get(0);
+            assertTrue(base.startsWith("base,") && !base.equals("base,null"), "The journal names the snapshot on disk.");
+            assertEquals(12, new Player(slot).getScore());
+        } finally {
+            for (File f : Objects.requireNonNull(new File(dir).listFiles())) {
+                f.delete();
+            }
+            new File(dir).delete();
+        }
+    }
+
+    /**
+     * A journal written against an older snapshot is discarded.
+     */
+    @Test
+    public void testStaleJournalIsDiscarded() throws IOException {
+        Player player = new Player(TEST_SAVE);
+        player.adjustScore(100);
+        SaveJournal.forSlot(TEST_SAVE).flush();
+
+        writePetFile(1); // Rewritten behind the journal's back
+        assertEquals(1, new Player(TEST_SAVE).getScore());
+    }
+}
@@ -0,0 +1,66 @@
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * Unit tests for the SaveSnapshot class.
+ */
+public class SaveSnapshotTest {
+
+    private static final String TEST_SAVE = "testSnapshotSave";
+    private static final String SAVE_DIR = "src/model/saveFiles/" + TEST_SAVE;
+    private static final String PET_FILE = SAVE_DIR + "/" + TEST_SAVE + "_pet.csv";
+    private static final String HEADER = "name,type,state,fullness,energy,health,love,happiness,score,time played\n";
+
+    @BeforeEach
+    public void setUp() {
+        new File(SAVE_DIR).mkdirs();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        File dir = new File(SAVE_DIR);
+        for (File f : Objects.requireNonNull(dir.listFiles())) {
+            f.delete();
+        }
+        dir.delete();
+    }
+
+    /**
+     * A snapshot holds both files and builds the same objects the old loader did.
+     */
+    @Test
+    public void testLoadBuildsPetInventoryAndPlayer() throws IOException {
+        AtomicSaveFile.write(PET_FILE, HEADER + "Honk,goose,angry,10,20,30,40,50,77,09:45");
+        AtomicSaveFile.write(SAVE_DIR + "/" + TEST_SAVE + "_inventory.csv", "Bread,Food,2,4,35\nbroken line\n");
+
+        SaveSnapshot snapshot = SaveSnapshot.load(TEST_SAVE);
+        assertEquals(77, snapshot.score());
+        assertEquals("09:45", snapshot.currentTime());
+        assertEquals(1, snapshot.items().size(), "Malformed inventory lines are skipped.");
+        assertThrows(UnsupportedOperationException.class, () -> snapshot.items().clear());
+
+        Pet pet = snapshot.toPet();
+        assertEquals("Honk", pet.getName());
+        assertEquals("goose", pet.getTypeString());
+        assertEquals("angry", pet.getState());
+        assertEquals(30, pet.getHealth());
+
+        Player player = new Player(TEST_SAVE);
+        assertEquals(77, player.getScore());
+        assertEquals(10, player.getPet().getFullness());
+        assertEquals(2, player.getInventory().getItems().get(0).getAmount());
+    }
+
+    /**
+     * A pet file without a pet line is reported instead of half-parsed.
+     */
+    @Test
+    public void testHeaderOnlyPetFileIsRejected() throws IOException {
+        AtomicSaveFile.write(PET_FILE, HEADER);
+        assertThrows(IOException.class, () -> SaveSnapshot.load(TEST_SAVE));
+    }
+}
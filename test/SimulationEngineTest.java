@@ -0,0 +1,149 @@
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for the SimulationEngine class.
+ */
+public class SimulationEngineTest {
+
+    /**
+     * A single tick should drain a registered pet exactly like Command.update.
+     */
+    @Test
+    public void testTickMatchesCommandUpdate() {
+        SimulationEngine engine = new SimulationEngine();
+        Pet simulated = new Pet("duck", "ducky");
+        Pet expected = new Pet("duck", "ducky");
+        engine.register("a", simulated);
+
+        engine.tick();
+        Command.update(expected);
+
+        assertEquals(expected.getFullness(), simulated.getFullness());
+        assertEquals(expected.getHappiness(), simulated.getHappiness());
+        assertEquals(expected.getSleep(), simulated.getSleep());
+        assertEquals(expected.getLove(), simulated.getLove());
+        assertEquals(expected.getState(), simulated.getState());
+    }
+
+    /**
+     * Observers are notified once per tick and stop once the pet is unregistered.
+     */
+    @Test
+    public void testObserversAndUnregister() {
+        SimulationEngine engine = new SimulationEngine();
+        AtomicInteger calls = new AtomicInteger();
+        engine.register("a", new Pet("goose", "honk"));
+        engine.addObserver("a", calls::incrementAndGet);
+
+        engine.tick();
+        engine.tick();
+        assertEquals(2, calls.get());
+
+        engine.unregister("a");
+        engine.tick();
+        assertEquals(2, calls.get());
+        assertEquals(0, engine.size());
+        assertNull(engine.getPet("a"));
+    }
+
+    /**
+     * A partitioned tick must advance every pet exactly once.
+     */
+    @Test
+    public void testParallelTickAdvancesEveryPetOnce() {
+        SimulationEngine engine = new SimulationEngine(4);
+        int count = 5000;
+        for (int i = 0; i < count; i++) {
+            engine.register("pet" + i, new Pet("duck", "ducky" + i));
+        }
+
+        engine.tick();
+
+        int expectedFullness = 100 - new petType("duck").getFullnessRate();
+        for (int i = 0; i < count; i++) {
+            assertEquals(expectedFullness, engine.getPet("pet" + i).getFullness());
+        }
+        engine.stop();
+    }
+
+    /**
+     * On a virtual clock, advance applies every tick that fell due in one batch, with the
+     * same result as ticking one at a time, and notifies observers once per batch.
+     */
+    @Test
+    public void testAdvanceCatchesUpMissedTicks() {
+        VirtualClock clock = new VirtualClock();
+        SimulationEngine engine = new SimulationEngine(1, clock);
+        Pet simulated = new Pet("goose", "honk");
+        Pet expected = new Pet("goose", "honk");
+        AtomicInteger calls = new AtomicInteger();
+        engine.register("a", simulated);
+        engine.addObserver("a", calls::incrementAndGet);
+
+        assertEquals(1, engine.advance()); // The first tick is due at once
+        assertEquals(0, engine.advance());
+        clock.advance(SimulationEngine.TICK_MILLIS - 1, TimeUnit.MILLISECONDS);
+        assertEquals(0, engine.advance());
+
+        clock.advance(10 * SimulationEngine.TICK_MILLIS + 1, TimeUnit.MILLISECONDS); // A long pause
+        assertEquals(11, engine.advance()); // Ticks due at 1 through 11 tick lengths
+        assertEquals(2, calls.get());
+
+        for (int i = 0; i < 12; i++) {
+            Command.update(expected);
+        }
+        assertEquals(expected.getStats(), simulated.getStats());
+        assertEquals(expected.getState(), simulated.getState());
+    }
+
+    /**
+     * A day of gameplay on a virtual clock runs at once and ends the same way every time.
+     */
+    @Test
+    public void testVirtualDayIsDeterministic() {
+        long[] results = new long[2];
+        for (int run = 0; run < results.length; run++) {
+            VirtualClock clock = new VirtualClock();
+            SimulationEngine engine = new SimulationEngine(1, clock);
+            Pet pet = new Pet("duck", "ducky");
+            engine.register("a", pet);
+            for (int minute = 0; minute < 24 * 60; minute++) {
+                clock.advance(1, TimeUnit.MINUTES);
+                engine.advance();
+                if (minute % 90 == 0) {
+                    pet.setFullness(pet.getFullness() + 40);
+                }
+            }
+            results[run] = pet.getStats();
+        }
+        assertEquals(results[0], results[1]);
+    }
+
+    /**
+     * Cooldowns, temporary states and the time of day follow the installed clock.
+     */
+    @Test
+    public void testInstalledClockDrivesCooldownsAndStates() {
+        VirtualClock clock = new VirtualClock(java.time.LocalTime.of(9, 30));
+        GameClock previous = GameClock.use(clock);
+        try {
+            Pet pet = new Pet("duck", "ducky");
+            pet.setCooldown("play", 60);
+            pet.setTemporaryState("exercising", 5);
+            assertTrue(pet.isCommandOnCooldown("play"));
+            assertTrue(pet.isTemporaryStateActive());
+
+            clock.advance(5, TimeUnit.SECONDS);
+            assertFalse(pet.isTemporaryStateActive());
+            assertTrue(pet.isCommandOnCooldown("play"));
+            clock.advance(1, TimeUnit.MINUTES);
+            assertFalse(pet.isCommandOnCooldown("play"));
+            assertEquals(java.time.LocalTime.of(9, 31, 5), GameClock.current().localTime());
+        } finally {
+            GameClock.use(previous);
+        }
+    }
+}
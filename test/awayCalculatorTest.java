@@ -95,4 +95,44 @@ public class awayCalculatorTest {
 
         assertTrue(after >= before, "Pinecone quantity should not decrease.");
     }
+
+    @Test
+    public void testFastForwardMatchesReplay() {
+        String[] types = {"baby duck", "duck", "goose"};
+        int[] tickCounts = {0, 1, 7, 50, 400, 5000};
+        for (String type : types) {
+            for (int ticks : tickCounts) {
+                Pet replayed = new Pet(type, "replayed");
+                Pet forwarded = new Pet(type, "forwarded");
+                for (int i = 0; i < ticks; i++) {
+                    Command.update(replayed);
+                }
+                awayCalculator.fastForward(forwarded, ticks);
+
+                String message = type + " after " + ticks + " ticks";
+                assertEquals(replayed.getHealth(), forwarded.getHealth(), message);
+                assertEquals(replayed.getFullness(), forwarded.getFullness(), message);
+                assertEquals(replayed.getSleep(), forwarded.getSleep(), message);
+                assertEquals(replayed.getHappiness(), forwarded.getHappiness(), message);
+                assertEquals(replayed.getLove(), forwarded.getLove(), message);
+                assertEquals(replayed.getState(), forwarded.getState(), message);
+            }
+        }
+    }
+
+    @Test
+    public void testFastForwardHandlesVeryLongAbsence() {
+        Pet pet = new Pet("goose", "Honk");
+        awayCalculator.fastForward(pet, 30L * 24 * 60 * 60 * 1000 / SimulationEngine.TICK_MILLIS);
+        // A month without food is fatal
+        assertTrue(pet.isDead());
+        assertEquals("dead", pet.getState());
+    }
+
+    @Test
+    public void testApplyAwayDecayDrainsPet() {
+        int before = player.getPet().getFullness();
+        awayCalculator.applyAwayDecay(player); // saved 30 minutes ago
+        assertTrue(player.getPet().getFullness() < before, "Fullness should drain while away.");
+    }
 }